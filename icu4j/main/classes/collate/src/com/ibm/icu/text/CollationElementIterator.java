@@ -122,7 +122,7 @@
      */
     private UVector32 offsets_;
 
-    private String string_;  // TODO: needed in Java? if so, then add a UCharacterIterator field too?
+    private CharSequence string_;  // TODO: needed in Java? if so, then add a UCharacterIterator field too?
 
 
     /**
@@ -217,6 +217,19 @@ private CollationElementIterator(RuleBasedCollator collator) {
         this(collator);
         setText(source);
     }
+
+    /**
+     * CollationElementIterator constructor for a source CharSequence,
+     * which is iterated directly without copying it into a String.
+     * The text must not be modified while the iterator is in use.
+     *
+     * @param source the source text.
+     * @param collator the RuleBasedCollator
+     */
+    CollationElementIterator(CharSequence source, RuleBasedCollator collator) {
+        this(collator);
+        setCharSequence(source);
+    }
     // Note: The constructors should take settings & tailoring, not a collator,
     // to avoid circular dependencies.
     // However, for equals() we would need to be able to compare tailoring data for equality
@@ -467,7 +480,7 @@ public void setOffset(int newOffset) {
             do {
                 char c = string_.charAt(offset);
                 if (!rbc_.isUnsafe(c) ||
-                        (Character.isHighSurrogate(c) && !rbc_.isUnsafe(string_.codePointAt(offset)))) {
+                        (Character.isHighSurrogate(c) && !rbc_.isUnsafe(Character.codePointAt(string_, offset)))) {
                     break;
                 }
                 // Back up to before this unsafe character.
@@ -505,6 +518,10 @@ public void setOffset(int newOffset) {
      * @stable ICU 2.8
      */
     public void setText(String source) {
+        setCharSequence(source);
+    }
+
+    private void setCharSequence(CharSequence source) {
         string_ = source; // TODO: do we need to remember the source string in a field?
         CollationIterator newIter;
         boolean numeric = rbc_.settings.readOnly().isNumeric();
@@ -683,7 +700,7 @@ public boolean equals(Object that) {
             return rbc_.equals(thatceiter.rbc_)
                     && otherHalf_ == thatceiter.otherHalf_
                     && normalizeDir() == thatceiter.normalizeDir()
-                    && string_.equals(thatceiter.string_)
+                    && string_.toString().equals(thatceiter.string_.toString())
                     && iter_.equals(thatceiter.iter_);
         }
         return false;
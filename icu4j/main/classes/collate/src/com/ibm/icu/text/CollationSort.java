@@ -0,0 +1,345 @@
+// © 2019 and later: Unicode, Inc. and others.
+// License & terms of use: http://www.unicode.org/copyright.html#License
+package com.ibm.icu.text;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * {@icu} Sorts large arrays of strings according to the language rules of a collator,
+ * optionally using multiple threads.
+ *
+ * <p>Sorting with a collator as the comparator of <code>Arrays.sort()</code> calls
+ * {@link Collator#compare(String, String)} about n*log(n) times, on a single thread,
+ * and each call iterates over the collation elements of both strings again.
+ * CollationSort instead computes a sort key or a sort key prefix once per string,
+ * sorts an array of indexes by these with a merge sort, and then permutes the strings.
+ * If a {@link ForkJoinPool} is set, then both the keys and the sorting are computed in parallel.
+ *
+ * <p>If the estimated size of the full sort keys fits into the memory budget
+ * (see {@link #setMaxMemory(long)}), then the strings are ordered by their sort keys.
+ * Otherwise only the 8-byte sort key prefixes from
+ * {@link RuleBasedCollator#getSortKeyPrefix(CharSequence)} are stored,
+ * and strings with equal prefixes are compared with the collator.
+ *
+ * <p>The sort is stable: Strings which the collator considers equal keep their relative order.
+ *
+ * <p>The sort methods can be called concurrently from multiple threads,
+ * as long as the settings of the CollationSort object are not changed at the same time.
+ *
+ * <p>Example:
+ * <pre>
+ * ForkJoinPool pool = new ForkJoinPool();
+ * CollationSort sorter = new CollationSort(collator).setPool(pool);
+ * sorter.sort(names);
+ * </pre>
+ *
+ * @see RuleBasedCollator#getRawCollationKeys(CharSequence[], RawCollationKey, int[], ForkJoinPool)
+ * @draft ICU 67
+ * @provisional This API might change or be removed in a future release.
+ */
+public final class CollationSort {
+    /** Minimum number of strings per chunk for parallel key computation. */
+    private static final int MIN_KEY_CHUNK_LENGTH = 256;
+    /** Minimum number of indexes per parallel sort task. */
+    private static final int MIN_SORT_CHUNK_LENGTH = 8192;
+    /** Ranges up to this length are sorted with an insertion sort. */
+    private static final int INSERTION_SORT_LENGTH = 16;
+
+    private final RuleBasedCollator collator;  // frozen
+    private ForkJoinPool pool;
+    private long maxMemory = Runtime.getRuntime().maxMemory() / 4;
+
+    /**
+     * Constructs a CollationSort object for the collator.
+     * It sorts on the calling thread until a pool is set.
+     *
+     * @param collator {@link RuleBasedCollator} that defines the order.
+     *                 Later changes to the collator do not affect this object.
+     * @draft ICU 67
+     * @provisional This API might change or be removed in a future release.
+     */
+    public CollationSort(RuleBasedCollator collator) {
+        this.collator = collator.isFrozen() ?
+                collator : (RuleBasedCollator) collator.cloneAsThawed().freeze();
+    }
+
+    /**
+     * Sets the pool on which keys are computed and indexes are sorted in parallel.
+     *
+     * @param pool the pool, or null for sorting on the calling thread
+     * @return this
+     * @draft ICU 67
+     * @provisional This API might change or be removed in a future release.
+     */
+    public CollationSort setPool(ForkJoinPool pool) {
+        this.pool = pool;
+        return this;
+    }
+
+    /**
+     * Sets the memory budget for the sort keys.
+     * Full sort keys are used only if their estimated size, in bytes, is at most this value.
+     * Otherwise the sort uses 8-byte sort key prefixes and compares strings with
+     * equal prefixes with the collator.
+     * The prefixes, the index arrays and the copy of the strings for the final permutation
+     * are needed in either case and are not counted.
+     * The default is a quarter of the maximum heap size.
+     *
+     * @param maxMemory the maximum number of bytes for sort keys; 0 for always using prefixes
+     * @return this
+     * @throws IllegalArgumentException if maxMemory is negative
+     * @draft ICU 67
+     * @provisional This API might change or be removed in a future release.
+     */
+    public CollationSort setMaxMemory(long maxMemory) {
+        if (maxMemory < 0) {
+            throw new IllegalArgumentException("maxMemory must not be negative: " + maxMemory);
+        }
+        this.maxMemory = maxMemory;
+        return this;
+    }
+
+    /**
+     * Returns the collator which defines the order.
+     *
+     * @return the frozen collator
+     * @draft ICU 67
+     * @provisional This API might change or be removed in a future release.
+     */
+    public RuleBasedCollator getCollator() {
+        return collator;
+    }
+
+    /**
+     * Sorts the array in place.
+     *
+     * @param array the strings; none of them may be null
+     * @draft ICU 67
+     * @provisional This API might change or be removed in a future release.
+     */
+    public <T extends CharSequence> void sort(T[] array) {
+        int[] indexes = sortIndexes(array);
+        T[] copy = array.clone();
+        for (int i = 0; i < indexes.length; ++i) {
+            array[i] = copy[indexes[i]];
+        }
+    }
+
+    /**
+     * Returns the sorted order of the strings without modifying them:
+     * sources[result[0]] is the first string in sorted order, sources[result[1]] the second, etc.
+     * This is useful for sorting records or parallel arrays by a string field.
+     *
+     * @param sources the strings; none of them may be null
+     * @return the indexes of the strings in sorted order
+     * @draft ICU 67
+     * @provisional This API might change or be removed in a future release.
+     */
+    public int[] sortIndexes(CharSequence[] sources) {
+        int length = sources.length;
+        int[] indexes = new int[length];
+        for (int i = 0; i < length; ++i) {
+            indexes[i] = i;
+        }
+        if (length < 2) {
+            return indexes;
+        }
+        Sorter sorter = new Sorter(sources);
+        if (estimateKeyMemory(sources) <= maxMemory) {
+            sorter.computeKeys();
+        } else {
+            sorter.computePrefixes();
+        }
+        int[] temp = new int[length];
+        if (pool == null || length <= MIN_SORT_CHUNK_LENGTH) {
+            sorter.mergeSort(indexes, temp, 0, length);
+        } else {
+            int chunkLength = Math.max(MIN_SORT_CHUNK_LENGTH, length / (4 * pool.getParallelism()));
+            pool.invoke(new SortTask(sorter, indexes, temp, 0, length, chunkLength));
+        }
+        return indexes;
+    }
+
+    /**
+     * Estimates the size of the full sort keys and their offsets,
+     * like RuleBasedCollator does for allocating the key buffer.
+     */
+    private static long estimateKeyMemory(CharSequence[] sources) {
+        long size = 4L * (sources.length + 1);
+        for (CharSequence s : sources) {
+            size += 2L * s.length() + 10;
+        }
+        return size;
+    }
+
+    /**
+     * Holds the keys for one sort operation and compares strings by index.
+     */
+    private final class Sorter {
+        private final CharSequence[] sources;
+        private final long[] prefixes;
+        /** Full sort keys if they fit into the memory budget, otherwise null. */
+        private byte[] keys;
+        private int[] offsets;
+
+        Sorter(CharSequence[] sources) {
+            this.sources = sources;
+            prefixes = new long[sources.length];
+        }
+
+        void computeKeys() {
+            int length = sources.length;
+            offsets = new int[length + 1];
+            RawCollationKey rawKeys = pool == null ?
+                    collator.getRawCollationKeys(sources, null, offsets) :
+                    collator.getRawCollationKeys(sources, null, offsets, pool);
+            keys = rawKeys.bytes;
+            // Same as RuleBasedCollator.getSortKeyPrefix().
+            for (int i = 0; i < length; ++i) {
+                int start = offsets[i];
+                int keyLength = offsets[i + 1] - start;
+                long prefix = 0;
+                for (int j = 0; j < 8; ++j) {
+                    prefix <<= 8;
+                    if (j < keyLength) {
+                        prefix |= keys[start + j] & 0xff;
+                    }
+                }
+                prefixes[i] = prefix ^ Long.MIN_VALUE;
+            }
+        }
+
+        void computePrefixes() {
+            int length = sources.length;
+            if (pool == null || length <= MIN_KEY_CHUNK_LENGTH) {
+                collator.getSortKeyPrefixes(sources, 0, length, prefixes);
+                return;
+            }
+            int chunkLength = Math.max(MIN_KEY_CHUNK_LENGTH, length / (4 * pool.getParallelism()));
+            List<ForkJoinTask<?>> tasks = new ArrayList<ForkJoinTask<?>>();
+            for (int chunkStart = 0; chunkStart < length; chunkStart += chunkLength) {
+                final int start = chunkStart;
+                final int limit = Math.min(chunkStart + chunkLength, length);
+                tasks.add(pool.submit(new Runnable() {
+                    @Override
+                    public void run() {
+                        collator.getSortKeyPrefixes(sources, start, limit, prefixes);
+                    }
+                }));
+            }
+            for (ForkJoinTask<?> task : tasks) {
+                task.join();
+            }
+        }
+
+        int compare(int a, int b) {
+            long pa = prefixes[a];
+            long pb = prefixes[b];
+            if (pa != pb) {
+                return pa < pb ? -1 : 1;
+            }
+            if ((pa & 0xff) == 0) {
+                // The prefixes contain the complete, equal sort keys.
+                return 0;
+            }
+            if (keys == null) {
+                return collator.compare(sources[a], sources[b]);
+            }
+            // The first 8 bytes are equal and contain no terminator.
+            for (int i = offsets[a] + 8, j = offsets[b] + 8;; ++i, ++j) {
+                int ka = keys[i] & 0xff;
+                int kb = keys[j] & 0xff;
+                if (ka != kb) {
+                    return ka - kb;
+                }
+                if (ka == 0) {
+                    return 0;
+                }
+            }
+        }
+
+        /**
+         * Stable merge sort of indexes[start..limit[, using temp[start..limit[ as scratch space.
+         */
+        void mergeSort(int[] indexes, int[] temp, int start, int limit) {
+            if (limit - start <= INSERTION_SORT_LENGTH) {
+                insertionSort(indexes, start, limit);
+                return;
+            }
+            int middle = (start + limit) >>> 1;
+            mergeSort(indexes, temp, start, middle);
+            mergeSort(indexes, temp, middle, limit);
+            merge(indexes, temp, start, middle, limit);
+        }
+
+        private void insertionSort(int[] indexes, int start, int limit) {
+            for (int i = start + 1; i < limit; ++i) {
+                int index = indexes[i];
+                int j = i;
+                while (j > start && compare(indexes[j - 1], index) > 0) {
+                    indexes[j] = indexes[j - 1];
+                    --j;
+                }
+                indexes[j] = index;
+            }
+        }
+
+        /**
+         * Merges the sorted ranges [start..middle[ and [middle..limit[.
+         * Copies only the first range to temp; the merged output never overtakes the second range.
+         */
+        void merge(int[] indexes, int[] temp, int start, int middle, int limit) {
+            if (compare(indexes[middle - 1], indexes[middle]) <= 0) {
+                return;  // already in order
+            }
+            System.arraycopy(indexes, start, temp, start, middle - start);
+            int i = start, j = middle, k = start;
+            while (i < middle && j < limit) {
+                // Take from the second range only if strictly less, for stability.
+                indexes[k++] = compare(indexes[j], temp[i]) < 0 ? indexes[j++] : temp[i++];
+            }
+            while (i < middle) {
+                indexes[k++] = temp[i++];
+            }
+        }
+    }
+
+    /**
+     * Sorts the two halves of a range in parallel, then merges them.
+     */
+    private static final class SortTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final Sorter sorter;
+        private final int[] indexes;
+        private final int[] temp;
+        private final int start;
+        private final int limit;
+        private final int chunkLength;
+
+        SortTask(Sorter sorter, int[] indexes, int[] temp, int start, int limit, int chunkLength) {
+            this.sorter = sorter;
+            this.indexes = indexes;
+            this.temp = temp;
+            this.start = start;
+            this.limit = limit;
+            this.chunkLength = chunkLength;
+        }
+
+        @Override
+        protected void compute() {
+            if (limit - start <= chunkLength) {
+                sorter.mergeSort(indexes, temp, start, limit);
+                return;
+            }
+            int middle = (start + limit) >>> 1;
+            invokeAll(new SortTask(sorter, indexes, temp, start, middle, chunkLength),
+                    new SortTask(sorter, indexes, temp, middle, limit, chunkLength));
+            sorter.merge(indexes, temp, start, middle, limit);
+        }
+    }
+}
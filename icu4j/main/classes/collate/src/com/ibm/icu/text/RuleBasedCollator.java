@@ -12,8 +12,13 @@
 import java.lang.reflect.Method;
 import java.text.CharacterIterator;
 import java.text.ParseException;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 
@@ -1152,21 +1157,301 @@ private int simpleKeyLengthEstimate(CharSequence source) {
         return 2 * source.length() + 10;
     }
 
-    private void writeSortKey(CharSequence s, CollationKeyByteSink sink, CollationBuffer buffer) {
+    /**
+     * {@icu} Writes the sort keys for many strings into one byte array.
+     * The keys are stored back to back in keys.bytes, and the key for sources[i]
+     * is the byte range from offsets[i] to offsets[i+1] (exclusive),
+     * including its terminating zero byte. keys.size is set to the total length.
+     *
+     * <p>Each key is identical to the one from {@link #getRawCollationKey(String, RawCollationKey)},
+     * and the keys can be compared with each other as unsigned byte sequences.
+     * This is faster than generating the keys one by one because the iterator state
+     * (and, for a frozen collator, its lock) is set up only once for the whole batch.
+     * If keys.bytes is large enough, no memory is allocated.
+     *
+     * @param sources the strings; none of them may be null
+     * @param keys output byte array wrapper; if null, a new one is created.
+     *        Its byte array is replaced by a larger one if necessary.
+     * @param offsets output array of length at least sources.length+1
+     * @return keys, or the new RawCollationKey if keys was null
+     * @throws IllegalArgumentException if offsets is too short
+     * @draft ICU 67
+     * @provisional This API might change or be removed in a future release.
+     */
+    public RawCollationKey getRawCollationKeys(CharSequence[] sources, RawCollationKey keys, int[] offsets) {
+        checkOffsetsLength(sources, offsets);
+        CollationBuffer buffer = null;
+        try {
+            buffer = getCollationBuffer();
+            keys = writeSortKeys(sources, 0, sources.length, keys, offsets, buffer);
+            offsets[sources.length] = keys.size;
+            return keys;
+        } finally {
+            releaseCollationBuffer(buffer);
+        }
+    }
+
+    /**
+     * {@icu} Writes the sort keys for many strings into one byte array,
+     * like {@link #getRawCollationKeys(CharSequence[], RawCollationKey, int[])},
+     * but splits the work into chunks which run in parallel on the given pool.
+     * The chunks are then copied into keys.bytes.
+     *
+     * <p>This collator must not be modified while this method runs.
+     *
+     * @param sources the strings; none of them may be null
+     * @param keys output byte array wrapper; if null, a new one is created.
+     *        Its byte array is replaced by a larger one if necessary.
+     * @param offsets output array of length at least sources.length+1
+     * @param pool runs the chunks
+     * @return keys, or the new RawCollationKey if keys was null
+     * @throws IllegalArgumentException if offsets is too short
+     * @draft ICU 67
+     * @provisional This API might change or be removed in a future release.
+     */
+    public RawCollationKey getRawCollationKeys(final CharSequence[] sources, RawCollationKey keys,
+            final int[] offsets, ForkJoinPool pool) {
+        checkOffsetsLength(sources, offsets);
+        int length = sources.length;
+        int chunkLength = Math.max(MIN_SORT_KEY_CHUNK_LENGTH, length / (4 * pool.getParallelism()));
+        if (length <= chunkLength) {
+            return getRawCollationKeys(sources, keys, offsets);
+        }
+        // Each chunk writes its keys into its own byte array, with offsets relative to that array.
+        List<ForkJoinTask<RawCollationKey>> tasks = new ArrayList<ForkJoinTask<RawCollationKey>>();
+        for (int chunkStart = 0; chunkStart < length; chunkStart += chunkLength) {
+            final int start = chunkStart;
+            final int limit = Math.min(chunkStart + chunkLength, length);
+            tasks.add(pool.submit(new Callable<RawCollationKey>() {
+                @Override
+                public RawCollationKey call() {
+                    // The shared CollationBuffer is not thread-safe.
+                    return writeSortKeys(sources, start, limit, null, offsets, new CollationBuffer(data));
+                }
+            }));
+        }
+        int totalLength = 0;
+        RawCollationKey[] chunks = new RawCollationKey[tasks.size()];
+        for (int i = 0; i < chunks.length; ++i) {
+            chunks[i] = tasks.get(i).join();
+            totalLength += chunks[i].size;
+        }
+        if (keys == null) {
+            keys = new RawCollationKey(totalLength);
+        } else if (keys.bytes == null || keys.bytes.length < totalLength) {
+            keys.bytes = new byte[totalLength];
+        }
+        int chunkOffset = 0;
+        for (int i = 0; i < chunks.length; ++i) {
+            int start = i * chunkLength;
+            int limit = Math.min(start + chunkLength, length);
+            System.arraycopy(chunks[i].bytes, 0, keys.bytes, chunkOffset, chunks[i].size);
+            for (int j = start; j < limit; ++j) {
+                offsets[j] += chunkOffset;
+            }
+            chunkOffset += chunks[i].size;
+        }
+        offsets[length] = totalLength;
+        keys.size = totalLength;
+        return keys;
+    }
+
+    /** Minimum number of strings per chunk for parallel sort key generation. */
+    private static final int MIN_SORT_KEY_CHUNK_LENGTH = 256;
+
+    private static void checkOffsetsLength(CharSequence[] sources, int[] offsets) {
+        if (offsets.length <= sources.length) {
+            throw new IllegalArgumentException(
+                    "offsets.length must be at least sources.length+1 = " + (sources.length + 1));
+        }
+    }
+
+    /**
+     * Writes the keys for sources[start..limit[ into keys.bytes starting at index 0,
+     * sets offsets[start..limit[ relative to that, and sets keys.size to the total length.
+     * Does not write offsets[limit] which may belong to another chunk.
+     */
+    private RawCollationKey writeSortKeys(CharSequence[] sources, int start, int limit,
+            RawCollationKey keys, int[] offsets, CollationBuffer buffer) {
+        if (keys == null) {
+            keys = new RawCollationKey(batchKeyLengthEstimate(sources, start, limit));
+        } else if (keys.bytes == null) {
+            keys.bytes = new byte[batchKeyLengthEstimate(sources, start, limit)];
+        }
+        CollationKeyByteSink sink = new CollationKeyByteSink(keys);
+        for (int i = start; i < limit; ++i) {
+            offsets[i] = sink.NumberOfBytesAppended();
+            writeSortKey(sources[i], sink, buffer);
+        }
+        keys.size = sink.NumberOfBytesAppended();
+        return keys;
+    }
+
+    private int batchKeyLengthEstimate(CharSequence[] sources, int start, int limit) {
+        int length = 0;
+        for (int i = start; i < limit; ++i) {
+            length += simpleKeyLengthEstimate(sources[i]);
+        }
+        return length;
+    }
+
+    /**
+     * {@icu} Returns the first 8 bytes of the sort key for the source string, as a long value.
+     * Shorter sort keys are padded with zero bytes.
+     *
+     * <p>The prefixes are ordered like the sort keys they come from, using the
+     * normal signed comparison of long values:
+     * If getSortKeyPrefix(a) &lt; getSortKeyPrefix(b), then the sort key for a is less than
+     * the sort key for b. Only if the prefixes are equal does the order of the strings need to be
+     * determined with {@link #compare(String, String)} or with their full sort keys.
+     * This makes the prefixes useful as cheap primary sort criteria for sorting large numbers
+     * of strings.
+     *
+     * <p>If the least significant byte of a prefix is 0, then the prefix contains the whole
+     * sort key, including its terminating zero byte.
+     *
+     * <p>Computing a prefix is usually much faster than computing the whole sort key,
+     * because the collation elements need not be read beyond the first few primary weights
+     * which fill the prefix.
+     *
+     * @param source the string; must not be null
+     * @return the sort key prefix
+     * @see #getRawCollationKey(String, RawCollationKey)
+     * @draft ICU 67
+     * @provisional This API might change or be removed in a future release.
+     */
+    public long getSortKeyPrefix(CharSequence source) {
+        CollationBuffer buffer = null;
+        try {
+            buffer = getCollationBuffer();
+            return getSortKeyPrefix(source, new SortKeyPrefixByteSink(), buffer);
+        } finally {
+            releaseCollationBuffer(buffer);
+        }
+    }
+
+    /**
+     * {@icu} Computes the sort key prefixes for many strings,
+     * like {@link #getSortKeyPrefix(CharSequence)} for each of them.
+     * This is faster than computing the prefixes one by one because the iterator state
+     * (and, for a frozen collator, its lock) is set up only once for the whole batch.
+     *
+     * @param sources the strings; none of them may be null
+     * @param prefixes output array of length at least sources.length;
+     *        prefixes[i] is set to the prefix for sources[i]
+     * @throws IllegalArgumentException if prefixes is too short
+     * @draft ICU 67
+     * @provisional This API might change or be removed in a future release.
+     */
+    public void getSortKeyPrefixes(CharSequence[] sources, long[] prefixes) {
+        if (prefixes.length < sources.length) {
+            throw new IllegalArgumentException(
+                    "prefixes.length must be at least sources.length = " + sources.length);
+        }
+        CollationBuffer buffer = null;
+        try {
+            buffer = getCollationBuffer();
+            getSortKeyPrefixes(sources, 0, sources.length, prefixes, buffer);
+        } finally {
+            releaseCollationBuffer(buffer);
+        }
+    }
+
+    /**
+     * Computes the sort key prefixes for sources[start..limit[ into the same range of prefixes.
+     * Can be called concurrently for different ranges, like the parallel
+     * {@link #getRawCollationKeys(CharSequence[], RawCollationKey, int[], ForkJoinPool)}.
+     */
+    void getSortKeyPrefixes(CharSequence[] sources, int start, int limit, long[] prefixes) {
+        // The shared CollationBuffer is not thread-safe.
+        getSortKeyPrefixes(sources, start, limit, prefixes, new CollationBuffer(data));
+    }
+
+    private void getSortKeyPrefixes(CharSequence[] sources, int start, int limit, long[] prefixes,
+            CollationBuffer buffer) {
+        SortKeyPrefixByteSink sink = new SortKeyPrefixByteSink();
+        for (int i = start; i < limit; ++i) {
+            prefixes[i] = getSortKeyPrefix(sources[i], sink, buffer);
+        }
+    }
+
+    /**
+     * Collects the first 8 bytes of a sort key, and counts the others without storing them.
+     */
+    private static final class SortKeyPrefixByteSink extends SortKeyByteSink {
+        SortKeyPrefixByteSink() {
+            super(new byte[8]);
+        }
+
+        void reset() {
+            setBufferAndAppended(buffer_, 0);
+        }
+
+        @Override
+        protected void AppendBeyondCapacity(byte[] bytes, int start, int n, int length) {
+            if (length < buffer_.length) {
+                System.arraycopy(bytes, start, buffer_, length, buffer_.length - length);
+            }
+        }
+
+        @Override
+        protected boolean Resize(int appendCapacity, int length) {
+            return false;
+        }
+
+        /**
+         * Returns the bytes as a big-endian long, with the sign bit flipped
+         * so that signed comparisons order the prefixes like unsigned byte sequences.
+         */
+        long getPrefix() {
+            int length = Math.min(NumberOfBytesAppended(), 8);
+            long prefix = 0;
+            for (int i = 0; i < 8; ++i) {
+                prefix <<= 8;
+                if (i < length) {
+                    prefix |= buffer_[i] & 0xff;
+                }
+            }
+            return prefix ^ Long.MIN_VALUE;
+        }
+    }
+
+    private long getSortKeyPrefix(CharSequence s, SortKeyPrefixByteSink sink, CollationBuffer buffer) {
+        sink.reset();
+        // Without preflighting, the primary level stops early when the sink overflows.
+        writeSortKeyUpToQuaternary(s, sink, buffer, false);
+        if (sink.NumberOfBytesAppended() < 8) {
+            if (settings.readOnly().getStrength() == IDENTICAL) {
+                // The identical level is written via a RawCollationKey.
+                // This is rare: It only happens for very short sort keys.
+                buffer.rawCollationKey = getRawCollationKey(s, buffer.rawCollationKey, buffer);
+                sink.reset();
+                sink.Append(buffer.rawCollationKey.bytes, buffer.rawCollationKey.size);
+            } else {
+                sink.Append(Collation.TERMINATOR_BYTE);
+            }
+        }
+        return sink.getPrefix();
+    }
+
+    private void writeSortKeyUpToQuaternary(CharSequence s, SortKeyByteSink sink, CollationBuffer buffer,
+            boolean preflight) {
         boolean numeric = settings.readOnly().isNumeric();
+        UTF16CollationIterator iter;
         if(settings.readOnly().dontCheckFCD()) {
-            buffer.leftUTF16CollIter.setText(numeric, s, 0);
-            CollationKeys.writeSortKeyUpToQuaternary(
-                    buffer.leftUTF16CollIter, data.compressibleBytes, settings.readOnly(),
-                    sink, Collation.PRIMARY_LEVEL,
-                    CollationKeys.SIMPLE_LEVEL_FALLBACK, true);
+            iter = buffer.leftUTF16CollIter;
         } else {
-            buffer.leftFCDUTF16Iter.setText(numeric, s, 0);
-            CollationKeys.writeSortKeyUpToQuaternary(
-                    buffer.leftFCDUTF16Iter, data.compressibleBytes, settings.readOnly(),
-                    sink, Collation.PRIMARY_LEVEL,
-                    CollationKeys.SIMPLE_LEVEL_FALLBACK, true);
+            iter = buffer.leftFCDUTF16Iter;
         }
+        iter.setText(numeric, s, 0);
+        CollationKeys.writeSortKeyUpToQuaternary(
+                iter, data.compressibleBytes, settings.readOnly(),
+                sink, Collation.PRIMARY_LEVEL,
+                CollationKeys.SIMPLE_LEVEL_FALLBACK, preflight);
+    }
+
+    private void writeSortKey(CharSequence s, CollationKeyByteSink sink, CollationBuffer buffer) {
+        writeSortKeyUpToQuaternary(s, sink, buffer, true);
         if(settings.readOnly().getStrength() == IDENTICAL) {
             writeIdenticalLevel(s, sink);
         }
@@ -558,8 +558,880 @@ protected int handlePrevious(int position) {
         return search_.matchedIndex_;
     }
 
+    /**
+     * Compiles a pattern for searching with the language rules of a collator.
+     * The compiled pattern finds the same matches as a <tt>StringSearch</tt> with the same
+     * pattern and collator, and without a {@link BreakIterator}.
+     *
+     * @param pattern text to look for.
+     * @param collator {@link RuleBasedCollator} that defines the language rules.
+     *                 Later changes to the collator do not affect the compiled pattern.
+     * @return the compiled pattern
+     * @throws IllegalArgumentException thrown when pattern is null or of length 0
+     * @throws UnsupportedOperationException thrown when the collator uses numeric collation
+     * @see CompiledPattern
+     * @draft ICU 67
+     * @provisional This API might change or be removed in a future release.
+     */
+    public static CompiledPattern compile(String pattern, RuleBasedCollator collator) {
+        return new CompiledPattern(pattern, collator, null,
+                ElementComparisonType.STANDARD_ELEMENT_COMPARISON);
+    }
+
+    /**
+     * Compiles a pattern for searching with the language rules of a collator.
+     * The compiled pattern finds the same matches as a <tt>StringSearch</tt> with the same
+     * pattern, collator and break iterator, and with the same element comparison type.
+     *
+     * @param pattern text to look for.
+     * @param collator {@link RuleBasedCollator} that defines the language rules.
+     *                 Later changes to the collator do not affect the compiled pattern.
+     * @param breakiter A {@link BreakIterator} that is used to determine the
+     *                boundaries of a logical match. This argument can be null.
+     *                The compiled pattern searches with clones of it.
+     * @param type the collation element comparison type.
+     * @return the compiled pattern
+     * @throws IllegalArgumentException thrown when pattern is null or of length 0
+     * @throws UnsupportedOperationException thrown when the collator uses numeric collation
+     * @see CompiledPattern
+     * @draft ICU 67
+     * @provisional This API might change or be removed in a future release.
+     */
+    public static CompiledPattern compile(String pattern, RuleBasedCollator collator,
+            BreakIterator breakiter, ElementComparisonType type) {
+        return new CompiledPattern(pattern, collator, breakiter, type);
+    }
+
+    /**
+     * Compiles a set of patterns for searching with the language rules of a collator,
+     * for finding the matches of all of them in one pass over a text.
+     *
+     * @param patterns texts to look for.
+     * @param collator {@link RuleBasedCollator} that defines the language rules.
+     *                 Later changes to the collator do not affect the compiled patterns.
+     * @return the compiled pattern set
+     * @throws IllegalArgumentException thrown when a pattern is null or of length 0
+     * @throws UnsupportedOperationException thrown when the collator uses numeric collation
+     * @see CompiledPatternSet
+     * @draft ICU 67
+     * @provisional This API might change or be removed in a future release.
+     */
+    public static CompiledPatternSet compile(String[] patterns, RuleBasedCollator collator) {
+        return new CompiledPatternSet(patterns, collator);
+    }
+
+    /**
+     * A search pattern compiled with the language rules of a collator,
+     * for finding all matches in many texts.
+     * <p>
+     * A <tt>StringSearch</tt> holds its target text and a current position, and it computes
+     * the collation elements of the pattern when the pattern or the collator changes.
+     * A compiled pattern computes the collation elements of the pattern and a table
+     * for skipping ahead over the collation elements of the text once,
+     * and searches the text passed into each call.
+     * It reads a {@link CharSequence} directly, without copying it into a String,
+     * and returns all matches from one pass over the text.
+     * <p>
+     * A compiled pattern is immutable and thread-safe.
+     * <p>
+     * Example:
+     * <pre>
+     * RuleBasedCollator collator = (RuleBasedCollator) Collator.getInstance(ULocale.GERMAN);
+     * collator.setStrength(Collator.PRIMARY);
+     * StringSearch.CompiledPattern pattern = StringSearch.compile("strasse", collator);
+     * int[] matches = pattern.findAll("Die Straße, die Strasse");  // {4, 10, 16, 23}
+     * </pre>
+     *
+     * @see StringSearch#compile(String, RuleBasedCollator)
+     * @draft ICU 67
+     * @provisional This API might change or be removed in a future release.
+     */
+    public static final class CompiledPattern {
+        private static final Normalizer2 nfd_ = Normalizer2.getNFDInstance();
+
+        private final String text_;
+        private final RuleBasedCollator collator_;  // frozen
+        private final BreakIterator breakIter_;
+        private final BreakIterator internalBreakIter_;
+        private final ElementComparisonType compareType_;
+        /** Processed collation elements of the pattern. */
+        private final long[] pce_;
+        /**
+         * Horspool skip table for STANDARD_ELEMENT_COMPARISON, as an open-addressing hash table
+         * from each pattern PCE except the last one to the distance from its last occurrence
+         * to the end of the pattern. Processed CEs are never 0, which marks empty slots.
+         * null for other comparison types, which step one CE at a time.
+         */
+        private final long[] skipKeys_;
+        private final int[] skipShifts_;
+        /** NFD form of the pattern if the strength is IDENTICAL, otherwise null. */
+        private final String nfdText_;
+
+        private CompiledPattern(String pattern, RuleBasedCollator collator,
+                BreakIterator breakiter, ElementComparisonType type) {
+            checkPattern(pattern);
+            text_ = pattern;
+            collator_ = getFrozenCollator(collator);
+            breakIter_ = breakiter == null ? null : (BreakIterator) breakiter.clone();
+            internalBreakIter_ = getCharacterInstance(collator);
+            compareType_ = type;
+
+            pce_ = getProcessedCEs(pattern, collator_);
+            int length = pce_.length;
+
+            if (type == ElementComparisonType.STANDARD_ELEMENT_COMPARISON) {
+                int capacity = 4;
+                while (capacity < 2 * length) {
+                    capacity <<= 1;
+                }
+                skipKeys_ = new long[capacity];
+                skipShifts_ = new int[capacity];
+                // Later occurrences overwrite the shifts of earlier ones.
+                for (int i = 0; i < length - 1; ++i) {
+                    int slot = hash(pce_[i]) & (capacity - 1);
+                    while (skipKeys_[slot] != 0 && skipKeys_[slot] != pce_[i]) {
+                        slot = (slot + 1) & (capacity - 1);
+                    }
+                    skipKeys_[slot] = pce_[i];
+                    skipShifts_[slot] = length - 1 - i;
+                }
+            } else {
+                skipKeys_ = null;
+                skipShifts_ = null;
+            }
+
+            nfdText_ = collator_.getStrength() == Collator.IDENTICAL ? nfd_.normalize(pattern) : null;
+        }
+
+        private static int hash(long ce) {
+            int h = (int) (ce ^ (ce >>> 32));
+            return h ^ (h >>> 16);
+        }
+
+        /**
+         * Returns the number of target CEs by which the search can skip ahead
+         * when the last CE of the search window is ce.
+         */
+        private int getShift(long ce) {
+            int mask = skipKeys_.length - 1;
+            for (int slot = hash(ce) & mask;; slot = (slot + 1) & mask) {
+                long key = skipKeys_[slot];
+                if (key == ce) {
+                    return skipShifts_[slot];
+                } else if (key == 0) {
+                    return pce_.length;
+                }
+            }
+        }
+
+        /**
+         * Returns the pattern text.
+         *
+         * @return the pattern
+         * @draft ICU 67
+         * @provisional This API might change or be removed in a future release.
+         */
+        public String getPattern() {
+            return text_;
+        }
+
+        /**
+         * Finds all matches of the pattern in the target text, without overlapping matches.
+         * Same as <code>findAll(target, false)</code>.
+         *
+         * @param target the text to search.
+         * @return the start and limit offsets of the matches in ascending order:
+         *         {start0, limit0, start1, limit1, ...}
+         * @see #findAll(CharSequence, boolean)
+         * @draft ICU 67
+         * @provisional This API might change or be removed in a future release.
+         */
+        public int[] findAll(CharSequence target) {
+            return findAll(target, false);
+        }
+
+        /**
+         * Finds all matches of the pattern in the target text.
+         * The matches are the same that a <tt>StringSearch</tt> on the target text
+         * returns from {@link SearchIterator#first()} and successive calls of
+         * {@link SearchIterator#next()}, with {@link SearchIterator#setOverlapping(boolean)}
+         * set to allowOverlap.
+         * <p>
+         * If the pattern has no collation elements at the collator's strength,
+         * for example if it consists only of ignorable characters, then like with
+         * <tt>StringSearch</tt> there are no matches.
+         * The text must not be modified during the call.
+         *
+         * @param target the text to search.
+         * @param allowOverlap whether a match may overlap the previous match.
+         * @return the start and limit offsets of the matches in ascending order:
+         *         {start0, limit0, start1, limit1, ...}
+         * @draft ICU 67
+         * @provisional This API might change or be removed in a future release.
+         */
+        public int[] findAll(CharSequence target, boolean allowOverlap) {
+            int length = target.length();
+            if (pce_.length == 0 || length == 0) {
+                return new int[0];
+            }
+            Searcher searcher = new Searcher(target);
+            int[] matches = new int[8];
+            int count = 0;
+            int start = 0;
+            while (searcher.search(start)) {
+                if (count == matches.length) {
+                    int[] newMatches = new int[2 * count];
+                    System.arraycopy(matches, 0, newMatches, 0, count);
+                    matches = newMatches;
+                }
+                matches[count++] = searcher.mStart_;
+                matches[count++] = searcher.mLimit_;
+                if (searcher.mLimit_ >= length) {
+                    break;
+                }
+                if (allowOverlap || searcher.mLimit_ == searcher.mStart_) {
+                    start = searcher.mStart_ + 1;
+                } else {
+                    start = searcher.mLimit_;
+                }
+            }
+            int[] result = new int[count];
+            System.arraycopy(matches, 0, result, 0, count);
+            return result;
+        }
+
+        /**
+         * The per-call state of findAll().
+         */
+        private final class Searcher {
+            private final CollationElementIterator textIter_;
+            private final CollationPCE textProcessedIter_;
+            private final CEBuffer ceb_;
+            private final MatchBounds bounds_;
+            int mStart_;
+            int mLimit_;
+
+            Searcher(CharSequence target) {
+                textIter_ = new CollationElementIterator(target, collator_);
+                textProcessedIter_ = new CollationPCE(textIter_);
+                ceb_ = new CEBuffer(pce_.length, text_, compareType_);
+                ceb_.pceIter_ = textProcessedIter_;
+                BreakIterator bi = breakIter_ != null ? breakIter_ : internalBreakIter_;
+                bounds_ = new MatchBounds(target, bi, breakIter_ != null);
+            }
+
+            /**
+             * Same as StringSearch.search(), but skips ahead in the target CE space
+             * with the Horspool shifts for STANDARD_ELEMENT_COMPARISON.
+             * Sets mStart_ and mLimit_ to the bounds of the match, or to -1 if none is found.
+             */
+            boolean search(int startIdx) {
+                textIter_.setOffset(startIdx);
+                textProcessedIter_.init(textIter_);
+                ceb_.reset();
+
+                int patLength = pce_.length;
+                int targetIx;
+                int shift = 1;
+                CEI targetCEI = null;
+                boolean found;
+
+                for (targetIx = 0; ; targetIx += shift) {
+                    found = true;
+                    int targetIxOffset = 0;
+                    long patCE = 0;
+                    CEI firstCEI;
+                    if (skipKeys_ != null) {
+                        // Compare the last CE of the window first; the shift is valid
+                        // whether or not the window matches.
+                        targetCEI = ceb_.getAhead(targetIx + patLength - 1);
+                        if (targetCEI.ce_ == CollationPCE.PROCESSED_NULLORDER) {
+                            // The window extends beyond the end of the target text.
+                            found = false;
+                            break;
+                        }
+                        shift = getShift(targetCEI.ce_);
+                        patCE = pce_[patLength - 1];
+                        if (targetCEI.ce_ != patCE) {
+                            continue;
+                        }
+                        for (int patIx = 0; patIx < patLength - 1; patIx++) {
+                            if (ceb_.get(targetIx + patIx).ce_ != pce_[patIx]) {
+                                found = false;
+                                break;
+                            }
+                        }
+                        if (!found) {
+                            continue;
+                        }
+                        firstCEI = ceb_.get(targetIx);
+                    } else {
+                        firstCEI = ceb_.get(targetIx);
+                        if (firstCEI == null) {
+                            throw new ICUException("CEBuffer.get(" + targetIx + ") returned null.");
+                        }
+
+                        int patIx;
+                        for (patIx = 0; patIx < patLength; patIx++) {
+                            patCE = pce_[patIx];
+                            targetCEI = ceb_.get(targetIx + patIx + targetIxOffset);
+                            int ceMatch = compareCE64s(targetCEI.ce_, patCE, compareType_);
+                            if (ceMatch == CE_NO_MATCH) {
+                                found = false;
+                                break;
+                            } else if (ceMatch > CE_NO_MATCH) {
+                                if (ceMatch == CE_SKIP_TARG) {
+                                    // redo with same patCE, next targCE
+                                    patIx--;
+                                    targetIxOffset++;
+                                } else { // ceMatch == CE_SKIP_PATN
+                                    // redo with same targCE, next patCE
+                                    targetIxOffset--;
+                                }
+                            }
+                        }
+
+                        if (!found && ((targetCEI == null) || (targetCEI.ce_ != CollationPCE.PROCESSED_NULLORDER))) {
+                            // No match at this targetIx.  Try again at the next.
+                            continue;
+                        }
+
+                        if (!found) {
+                            // No match at all, we have run off the end of the target text.
+                            break;
+                        }
+                    }
+                    targetIxOffset += patLength; // this is now the offset in target CE space to end of the match so far
+
+                    // We have found a match in CE space.
+                    // Now determine the bounds in string index space.
+                    CEI lastCEI = ceb_.get(targetIx + targetIxOffset - 1);
+
+                    CEI nextCEI = null;
+                    int maxLimit;
+                    if (compareType_ == ElementComparisonType.STANDARD_ELEMENT_COMPARISON) {
+                        nextCEI = ceb_.get(targetIx + targetIxOffset);
+                        maxLimit = nextCEI.lowIndex_;
+                        if (nextCEI.lowIndex_ == nextCEI.highIndex_ && nextCEI.ce_ != CollationPCE.PROCESSED_NULLORDER) {
+                            found = false;
+                        }
+                    } else {
+                        for (;; ++targetIxOffset) {
+                            nextCEI = ceb_.get(targetIx + targetIxOffset);
+                            maxLimit = nextCEI.lowIndex_;
+                            if (nextCEI.ce_ == CollationPCE.PROCESSED_NULLORDER) {
+                                break;
+                            }
+                            if ((((nextCEI.ce_) >>> 32) & 0xFFFF0000L) == 0) {
+                                int ceMatch = compareCE64s(nextCEI.ce_, patCE, compareType_);
+                                if (ceMatch == CE_NO_MATCH || ceMatch == CE_SKIP_PATN ) {
+                                    found = false;
+                                    break;
+                                }
+                            } else if ( nextCEI.lowIndex_ == nextCEI.highIndex_ ) {
+                                found = false;
+                                break;
+                            } else {
+                                break;
+                            }
+                        }
+                    }
+
+                    // setOffset() may have backed up to before startIdx, over unsafe characters.
+                    // Reject a match there, which StringSearch would return again and again.
+                    if (found && bounds_.check(firstCEI, lastCEI, nextCEI, maxLimit, nfdText_) &&
+                            bounds_.start_ >= startIdx) {
+                        break;
+                    }
+                    found = false;
+                }
+
+                mStart_ = found ? bounds_.start_ : -1;
+                mLimit_ = found ? bounds_.limit_ : -1;
+                return found;
+            }
+        }
+    }
+
+    /**
+     * A set of search patterns compiled with the language rules of a collator,
+     * for finding the matches of all of them in one pass over a text.
+     * <p>
+     * The patterns are compiled into an Aho-Corasick automaton over their collation elements,
+     * which reads the collation elements of the text once, however many patterns there are.
+     * The collator's strength determines which weights are compared:
+     * For example, with strength {@link Collator#PRIMARY} the matching ignores accents and case,
+     * and with strength {@link Collator#SECONDARY} it ignores case.
+     * <p>
+     * Each match is a match that a {@link CompiledPattern} of the same pattern finds with
+     * overlapping matches allowed; like there, a pattern which is completely ignorable
+     * at the collator's strength never matches. Element comparison types other than
+     * {@link ElementComparisonType#STANDARD_ELEMENT_COMPARISON} are not supported.
+     * <p>
+     * A compiled pattern set is immutable and thread-safe.
+     * <p>
+     * Example:
+     * <pre>
+     * RuleBasedCollator collator = (RuleBasedCollator) Collator.getInstance(ULocale.FRENCH);
+     * collator.setStrength(Collator.PRIMARY);
+     * StringSearch.CompiledPatternSet terms =
+     *     StringSearch.compile(new String[] { "cafe", "creme", "creme brulee" }, collator);
+     * int[] matches = terms.findAll("Crème brûlée au café");
+     * // {1, 0, 5, 2, 0, 12, 0, 16, 20}: pattern index, start and limit of each match
+     * </pre>
+     *
+     * @see StringSearch#compile(String[], RuleBasedCollator)
+     * @draft ICU 67
+     * @provisional This API might change or be removed in a future release.
+     */
+    public static final class CompiledPatternSet {
+        private static final Normalizer2 nfd_ = Normalizer2.getNFDInstance();
+
+        private final String[] patterns_;
+        private final RuleBasedCollator collator_;  // frozen
+        private final BreakIterator internalBreakIter_;
+        /** NFD forms of the patterns if the strength is IDENTICAL, otherwise null. */
+        private final String[] nfdPatterns_;
+
+        // The automaton. Node 0 is the root, and its other nodes are the prefixes
+        // of the patterns' processed CE sequences.
+        private final Transitions transitions_ = new Transitions();
+        /** The number of CEs on the path from the root to each node. */
+        private final int[] depth_;
+        /** The node for the longest proper suffix of each node's CE sequence. */
+        private final int[] failure_;
+        /** The first pattern which ends at each node, or -1. */
+        private final int[] output_;
+        /** For each pattern, the next pattern with the same CE sequence, or -1. */
+        private final int[] nextOutput_;
+        /** The nearest node on each node's failure path with an output, or 0. */
+        private final int[] outputLink_;
+        private final int nodeCount_;
+        private final int maxDepth_;
+
+        private CompiledPatternSet(String[] patterns, RuleBasedCollator collator) {
+            for (String pattern : patterns) {
+                checkPattern(pattern);
+            }
+            patterns_ = patterns.clone();
+            collator_ = getFrozenCollator(collator);
+            internalBreakIter_ = getCharacterInstance(collator);
+            int count = patterns_.length;
+            if (collator_.getStrength() == Collator.IDENTICAL) {
+                nfdPatterns_ = new String[count];
+                for (int i = 0; i < count; ++i) {
+                    nfdPatterns_[i] = nfd_.normalize(patterns_[i]);
+                }
+            } else {
+                nfdPatterns_ = null;
+            }
+
+            // Build the trie of the patterns' processed CE sequences.
+            // Patterns without CEs never match.
+            int capacity = 64;
+            int[] depth = new int[capacity];
+            int[] output = new int[capacity];
+            int[] parent = new int[capacity];
+            long[] parentCE = new long[capacity];
+            output[0] = -1;
+            int nodeCount = 1;
+            int maxDepth = 0;
+            nextOutput_ = new int[count];
+            for (int i = count - 1; i >= 0; --i) {
+                long[] pce = getProcessedCEs(patterns_[i], collator_);
+                if (pce.length == 0) {
+                    nextOutput_[i] = -1;
+                    continue;
+                }
+                int node = 0;
+                for (long ce : pce) {
+                    int child = transitions_.get(node, ce);
+                    if (child == 0) {
+                        if (nodeCount == depth.length) {
+                            capacity = 2 * nodeCount;
+                            depth = grow(depth, capacity);
+                            output = grow(output, capacity);
+                            parent = grow(parent, capacity);
+                            long[] newParentCE = new long[capacity];
+                            System.arraycopy(parentCE, 0, newParentCE, 0, nodeCount);
+                            parentCE = newParentCE;
+                        }
+                        child = nodeCount++;
+                        depth[child] = depth[node] + 1;
+                        output[child] = -1;
+                        parent[child] = node;
+                        parentCE[child] = ce;
+                        transitions_.put(node, ce, child);
+                    }
+                    node = child;
+                }
+                // Adding the patterns in reverse order keeps each output list in pattern order.
+                nextOutput_[i] = output[node];
+                output[node] = i;
+                maxDepth = Math.max(maxDepth, pce.length);
+            }
+            depth_ = depth;
+            output_ = output;
+            nodeCount_ = nodeCount;
+            maxDepth_ = maxDepth;
+
+            // Compute the failure and output links in order of depth,
+            // so that each node's parent and failure nodes are done before the node itself.
+            int[] byDepth = new int[nodeCount_];
+            int[] start = new int[maxDepth_ + 2];
+            for (int node = 0; node < nodeCount_; ++node) {
+                ++start[depth_[node] + 1];
+            }
+            for (int d = 1; d < start.length; ++d) {
+                start[d] += start[d - 1];
+            }
+            for (int node = 0; node < nodeCount_; ++node) {
+                byDepth[start[depth_[node]]++] = node;
+            }
+            int[] failure = new int[nodeCount_];
+            int[] outputLink = new int[nodeCount_];
+            for (int i = 1; i < nodeCount_; ++i) {
+                int node = byDepth[i];
+                int p = parent[node];
+                int f = p == 0 ? 0 : next(failure, failure[p], parentCE[node]);
+                failure[node] = f;
+                outputLink[node] = output_[f] >= 0 ? f : outputLink[f];
+            }
+            failure_ = failure;
+            outputLink_ = outputLink;
+        }
+
+        private static int[] grow(int[] array, int capacity) {
+            int[] newArray = new int[capacity];
+            System.arraycopy(array, 0, newArray, 0, array.length);
+            return newArray;
+        }
+
+        /**
+         * Returns the automaton's next node after the given node for the given CE,
+         * following the failure links.
+         */
+        private int next(int[] failure, int node, long ce) {
+            for (;;) {
+                int child = transitions_.get(node, ce);
+                if (child != 0 || node == 0) {
+                    return child;
+                }
+                node = failure[node];
+            }
+        }
+
+        /**
+         * Returns the number of patterns.
+         *
+         * @return the number of patterns
+         * @draft ICU 67
+         * @provisional This API might change or be removed in a future release.
+         */
+        public int size() {
+            return patterns_.length;
+        }
+
+        /**
+         * Returns one of the patterns.
+         *
+         * @param index the index of the pattern in the array passed to
+         *              {@link StringSearch#compile(String[], RuleBasedCollator)}
+         * @return the pattern
+         * @draft ICU 67
+         * @provisional This API might change or be removed in a future release.
+         */
+        public String getPattern(int index) {
+            return patterns_[index];
+        }
+
+        /**
+         * Finds all matches of all of the patterns in the target text, in one pass.
+         * Matches of different patterns, and of the same pattern, may overlap.
+         * <p>
+         * The matches are ordered by the position of their last collation element in the text,
+         * and matches which end with the same collation element by decreasing length
+         * in collation elements, then by pattern index.
+         * The text must not be modified during the call.
+         *
+         * @param target the text to search.
+         * @return the pattern index, start offset and limit offset of each match:
+         *         {pattern0, start0, limit0, pattern1, start1, limit1, ...}
+         * @draft ICU 67
+         * @provisional This API might change or be removed in a future release.
+         */
+        public int[] findAll(CharSequence target) {
+            if (nodeCount_ == 1 || target.length() == 0) {
+                return new int[0];
+            }
+            int[] matches = new int[12];
+            int count = 0;
+            CollationPCE textProcessedIter =
+                    new CollationPCE(new CollationElementIterator(target, collator_));
+            CollationPCE.Range range = new CollationPCE.Range();
+            MatchBounds bounds = new MatchBounds(target, internalBreakIter_, false);
+            // The CEs of the longest possible match and the CE after it.
+            int bufSize = maxDepth_ + 1;
+            CEI[] buf = new CEI[bufSize];
+            for (int i = 0; i < bufSize; ++i) {
+                buf[i] = new CEI();
+            }
+
+            int node = 0;
+            for (int targetIx = 0;; ++targetIx) {
+                CEI nextCEI = buf[targetIx % bufSize];
+                nextCEI.ce_ = textProcessedIter.nextProcessed(range);
+                nextCEI.lowIndex_ = range.ixLow_;
+                nextCEI.highIndex_ = range.ixHigh_;
+
+                // Check the matches which end with the previous CE, now that the CE after them
+                // is known. Reject them if that CE continues the expansion of their last CE.
+                int outputNode = output_[node] >= 0 ? node : outputLink_[node];
+                if (outputNode != 0 &&
+                        (nextCEI.lowIndex_ != nextCEI.highIndex_ ||
+                            nextCEI.ce_ == CollationPCE.PROCESSED_NULLORDER)) {
+                    CEI lastCEI = buf[(targetIx - 1) % bufSize];
+                    for (; outputNode != 0; outputNode = outputLink_[outputNode]) {
+                        CEI firstCEI = buf[(targetIx - depth_[outputNode]) % bufSize];
+                        for (int p = output_[outputNode]; p >= 0; p = nextOutput_[p]) {
+                            if (bounds.check(firstCEI, lastCEI, nextCEI, nextCEI.lowIndex_,
+                                    nfdPatterns_ == null ? null : nfdPatterns_[p])) {
+                                if (count + 3 > matches.length) {
+                                    matches = grow(matches, 2 * matches.length);
+                                }
+                                matches[count++] = p;
+                                matches[count++] = bounds.start_;
+                                matches[count++] = bounds.limit_;
+                            }
+                        }
+                    }
+                }
+
+                if (nextCEI.ce_ == CollationPCE.PROCESSED_NULLORDER) {
+                    break;
+                }
+                node = next(failure_, node, nextCEI.ce_);
+            }
+            int[] result = new int[count];
+            System.arraycopy(matches, 0, result, 0, count);
+            return result;
+        }
+
+        /**
+         * The automaton's transitions, in an open-addressing hash table
+         * from a node and a processed CE to a child node.
+         */
+        private static final class Transitions {
+            private int[] nodes_ = new int[64];
+            private long[] ces_ = new long[64];
+            /** Child nodes; 0 (the root, which is nobody's child) marks empty slots. */
+            private int[] children_ = new int[64];
+            private int size_;
+
+            private static int hash(int node, long ce) {
+                int h = (int) (ce ^ (ce >>> 32)) * 0x9E3779B9 + node;
+                return h ^ (h >>> 16);
+            }
+
+            int get(int node, long ce) {
+                int mask = children_.length - 1;
+                for (int slot = hash(node, ce) & mask;; slot = (slot + 1) & mask) {
+                    int child = children_[slot];
+                    if (child == 0 || (nodes_[slot] == node && ces_[slot] == ce)) {
+                        return child;
+                    }
+                }
+            }
+
+            void put(int node, long ce, int child) {
+                if (2 * (size_ + 1) > children_.length) {
+                    int[] oldNodes = nodes_;
+                    long[] oldCEs = ces_;
+                    int[] oldChildren = children_;
+                    int capacity = 2 * oldChildren.length;
+                    nodes_ = new int[capacity];
+                    ces_ = new long[capacity];
+                    children_ = new int[capacity];
+                    for (int i = 0; i < oldChildren.length; ++i) {
+                        if (oldChildren[i] != 0) {
+                            insert(oldNodes[i], oldCEs[i], oldChildren[i]);
+                        }
+                    }
+                }
+                insert(node, ce, child);
+                ++size_;
+            }
+
+            private void insert(int node, long ce, int child) {
+                int mask = children_.length - 1;
+                int slot = hash(node, ce) & mask;
+                while (children_[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                nodes_[slot] = node;
+                ces_[slot] = ce;
+                children_[slot] = child;
+            }
+        }
+    }
+
     // ------------------ Internal implementation code ---------------------------
 
+    private static void checkPattern(String pattern) {
+        if (pattern == null || pattern.length() <= 0) {
+            throw new IllegalArgumentException(
+                    "Pattern to search for can not be null or of length 0");
+        }
+    }
+
+    /**
+     * Returns a frozen collator with the attributes of the argument collator,
+     * for searching with precomputed collation elements from multiple threads.
+     */
+    private static RuleBasedCollator getFrozenCollator(RuleBasedCollator collator) {
+        // string search does not really work when numeric collation is turned on
+        if (collator.getNumericCollation()) {
+            throw new UnsupportedOperationException("Numeric collation is not supported by StringSearch");
+        }
+        return collator.isFrozen() ?
+                collator : (RuleBasedCollator) collator.cloneAsThawed().freeze();
+    }
+
+    /**
+     * Returns the character break iterator which the constructor uses for the internal break iterator.
+     */
+    private static BreakIterator getCharacterInstance(RuleBasedCollator collator) {
+        ULocale collLocale = collator.getLocale(ULocale.VALID_LOCALE);
+        return BreakIterator.getCharacterInstance(collLocale == null ? ULocale.ROOT : collLocale);
+    }
+
+    /**
+     * Returns the processed collation elements of a pattern, like initializePatternPCETable().
+     * Like StringSearch, which checks its CE table, treats the pattern as empty
+     * and returns an empty array if all of its CEs are ignorable
+     * with the collator's strength and alternate handling.
+     */
+    private static long[] getProcessedCEs(String pattern, RuleBasedCollator collator) {
+        int strength = collator.getStrength();
+        int ceMask = getMask(strength);
+        boolean toShift = collator.isAlternateHandlingShifted();
+        int variableTop = collator.getVariableTop();
+        CollationElementIterator coleiter = new CollationElementIterator(pattern, collator);
+        boolean isIgnorable = true;
+        int ce32;
+        while (isIgnorable && (ce32 = coleiter.next()) != CollationElementIterator.NULLORDER) {
+            isIgnorable = getCE(ce32, ceMask, toShift, variableTop, strength) ==
+                    CollationElementIterator.IGNORABLE;
+        }
+        if (isIgnorable) {
+            return new long[0];
+        }
+
+        long[] pce = new long[INITIAL_ARRAY_SIZE_];
+        int length = 0;
+        coleiter.reset();
+        CollationPCE iter = new CollationPCE(coleiter);
+        long ce;
+        while ((ce = iter.nextProcessed(null)) != CollationPCE.PROCESSED_NULLORDER) {
+            if (length == pce.length) {
+                long[] newPCE = new long[2 * length];
+                System.arraycopy(pce, 0, newPCE, 0, length);
+                pce = newPCE;
+            }
+            pce[length++] = ce;
+        }
+        long[] result = new long[length];
+        System.arraycopy(pce, 0, result, 0, length);
+        return result;
+    }
+
+    /**
+     * Determines the bounds in string index space of a match found in the CE space
+     * of a CharSequence target, with the checks of search().
+     */
+    private static final class MatchBounds {
+        private static final Normalizer2 nfd_ = Normalizer2.getNFDInstance();
+
+        private final CharSequence target_;
+        private final BreakIterator breakIter_;
+        private final boolean isExternalBreakIter_;
+        int start_;
+        int limit_;
+
+        /**
+         * @param target the target text
+         * @param breakiter the external break iterator, or the internal one; is cloned
+         * @param isExternal true if breakiter is the external break iterator
+         */
+        MatchBounds(CharSequence target, BreakIterator breakiter, boolean isExternal) {
+            target_ = target;
+            breakIter_ = (BreakIterator) breakiter.clone();
+            breakIter_.setText(target);
+            isExternalBreakIter_ = isExternal;
+        }
+
+        /**
+         * Checks a match with the given first and last CEs,
+         * and the CE after the match whose lowIndex_ may have been moved to maxLimit.
+         * Sets start_ and limit_ and returns true if the match is acceptable.
+         *
+         * @param nfdPattern the NFD form of the pattern if the strength is IDENTICAL, otherwise null
+         */
+        boolean check(CEI firstCEI, CEI lastCEI, CEI nextCEI, int maxLimit, String nfdPattern) {
+            int mStart = firstCEI.lowIndex_;
+            int minLimit = lastCEI.lowIndex_;
+
+            // Check for the start of the match being within a combining sequence,
+            // or within a Collation Element Expansion.
+            if (!breakIter_.isBoundary(mStart) || mStart == firstCEI.highIndex_) {
+                return false;
+            }
+
+            // Allow matches to end in the middle of a grapheme cluster, see search().
+            boolean allowMidclusterMatch =
+                    !isExternalBreakIter_ &&
+                    (((nextCEI.ce_) >>> 32) & 0xFFFF0000L) != 0 &&
+                    maxLimit >= lastCEI.highIndex_ && nextCEI.highIndex_ > maxLimit &&
+                    (nfd_.hasBoundaryBefore(codePointAt(target_, maxLimit)) ||
+                            nfd_.hasBoundaryAfter(codePointBefore(target_, maxLimit)));
+
+            // Advance the match end position to the first acceptable match boundary.
+            int mLimit = maxLimit;
+            if (minLimit < maxLimit) {
+                if (minLimit == lastCEI.highIndex_ && breakIter_.isBoundary(minLimit)) {
+                    mLimit = minLimit;
+                } else {
+                    int nba = breakIter_.following(minLimit);
+                    if (nba >= lastCEI.highIndex_ && (!allowMidclusterMatch || nba < maxLimit)) {
+                        mLimit = nba;
+                    }
+                }
+            }
+
+            if (!allowMidclusterMatch && (mLimit > maxLimit || !breakIter_.isBoundary(mLimit))) {
+                return false;
+            }
+
+            if (nfdPattern != null &&
+                    !nfdPattern.equals(nfd_.normalize(target_.subSequence(mStart, mLimit)))) {
+                return false;
+            }
+
+            start_ = mStart;
+            limit_ = mLimit;
+            return true;
+        }
+
+        private static int codePointAt(CharSequence s, int index) {
+            return index < s.length() ? Character.codePointAt(s, index) : CharacterIterator.DONE;
+        }
+
+        private static int codePointBefore(CharSequence s, int index) {
+            return index > 0 ? Character.codePointBefore(s, index) : CharacterIterator.DONE;
+        }
+    }
+
+
     private static final int INITIAL_ARRAY_SIZE_ = 256;
 
     // *** Boyer-Moore ***
@@ -620,25 +1492,29 @@ private final char getFCD(int c) {
      * @return the modified collation element
      */
     private int getCE(int sourcece) {
+        return getCE(sourcece, ceMask_, toShift_, variableTop_, strength_);
+    }
+
+    private static int getCE(int sourcece, int ceMask, boolean toShift, int variableTop, int strength) {
         // note for tertiary we can't use the collator->tertiaryMask, that
         // is a preprocessed mask that takes into account case options. since
         // we are only concerned with exact matches, we don't need that.
-        sourcece &= ceMask_;
+        sourcece &= ceMask;
 
-        if (toShift_) {
+        if (toShift) {
             // alternate handling here, since only the 16 most significant digits
             // is only used, we can safely do a compare without masking
             // if the ce is a variable, we mask and get only the primary values
             // no shifting to quartenary is required since all primary values
             // less than variabletop will need to be masked off anyway.
-            if (variableTop_ > sourcece) {
-                if (strength_ >= Collator.QUATERNARY) {
+            if (variableTop > sourcece) {
+                if (strength >= Collator.QUATERNARY) {
                     sourcece &= PRIMARYORDERMASK;
                 } else {
                     sourcece = CollationElementIterator.IGNORABLE;
                 }
             }
-        } else if (strength_ >= Collator.QUATERNARY && sourcece == CollationElementIterator.IGNORABLE) {
+        } else if (strength >= Collator.QUATERNARY && sourcece == CollationElementIterator.IGNORABLE) {
             sourcece = 0xFFFF;
         }
 
@@ -1954,13 +2830,22 @@ private static class CEBuffer {
         // Java porting note: No references in ICU4C implementation
         // CollationElementIterator ceIter_;
 
-        StringSearch strSearch_;
+        CollationPCE pceIter_;
+        CollationPCE.Range range_ = new CollationPCE.Range();
 
         CEBuffer(StringSearch ss) {
-            strSearch_ = ss;
-            bufSize_ = ss.pattern_.PCELength_ + CEBUFFER_EXTRA;
-            if (ss.search_.elementComparisonType_ != ElementComparisonType.STANDARD_ELEMENT_COMPARISON) {
-                String patText = ss.pattern_.text_;
+            this(ss.pattern_.PCELength_, ss.pattern_.text_, ss.search_.elementComparisonType_);
+
+            if (!ss.initTextProcessedIter()) {
+                return;
+            }
+
+            pceIter_ = ss.textProcessedIter_;
+        }
+
+        CEBuffer(int patternPCELength, String patText, ElementComparisonType compareType) {
+            bufSize_ = patternPCELength + CEBUFFER_EXTRA;
+            if (compareType != ElementComparisonType.STANDARD_ELEMENT_COMPARISON) {
                 if (patText != null) {
                     for (int i = 0; i < patText.length(); i++) {
                         char c = patText.charAt(i);
@@ -1980,13 +2865,15 @@ private static class CEBuffer {
             firstIx_ = 0;
             limitIx_ = 0;
 
-            if (!ss.initTextProcessedIter()) {
-                return;
-            }
-
             buf_ = new CEI[bufSize_];
         }
 
+        // Discard all CEs, for restarting with the processed CE iterator at a new text offset.
+        void reset() {
+            firstIx_ = 0;
+            limitIx_ = 0;
+        }
+
         // Get the CE with the specified index.
         //   Index must be in the range
         //             n-history_size < index < n+1
@@ -2018,17 +2905,27 @@ CEI get(int index) {
                 firstIx_++;
             }
 
-            CollationPCE.Range range = new CollationPCE.Range();
             if (buf_[i] == null) {
                 buf_[i] = new CEI();
             }
-            buf_[i].ce_ = strSearch_.textProcessedIter_.nextProcessed(range);
-            buf_[i].lowIndex_ = range.ixLow_;
-            buf_[i].highIndex_ = range.ixHigh_;
+            buf_[i].ce_ = pceIter_.nextProcessed(range_);
+            buf_[i].lowIndex_ = range_.ixLow_;
+            buf_[i].highIndex_ = range_.ixHigh_;
 
             return buf_[i];
         }
 
+        // Get the CE with the specified index, first fetching the CEs before it that
+        // have not been fetched yet. Index must be greater than
+        // n-history_size, where n is the largest index fetched before.
+        //
+        CEI getAhead(int index) {
+            while (limitIx_ < index) {
+                get(limitIx_);
+            }
+            return get(index);
+        }
+
         // Get the CE with the specified index.
         //   Index must be in the range
         //             n-history_size < index < n+1
@@ -2060,13 +2957,12 @@ CEI getPrevious(int index) {
                 firstIx_++;
             }
 
-            CollationPCE.Range range = new CollationPCE.Range();
             if (buf_[i] == null) {
                 buf_[i] = new CEI();
             }
-            buf_[i].ce_ = strSearch_.textProcessedIter_.previousProcessed(range);
-            buf_[i].lowIndex_ = range.ixLow_;
-            buf_[i].highIndex_ = range.ixHigh_;
+            buf_[i].ce_ = pceIter_.previousProcessed(range_);
+            buf_[i].lowIndex_ = range_.ixLow_;
+            buf_[i].highIndex_ = range_.ixHigh_;
 
             return buf_[i];
         }
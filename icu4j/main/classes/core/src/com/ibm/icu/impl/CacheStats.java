@@ -0,0 +1,371 @@
+// © 2019 and later: Unicode, Inc. and others.
+// License & terms of use: http://www.unicode.org/copyright.html#License
+package com.ibm.icu.impl;
+
+import java.lang.management.ManagementFactory;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Hit/miss counters for one of ICU's internal caches.
+ *
+ * <p>Statistics are opt-in: They are collected only if the ICUConfig property
+ * {@code com.ibm.icu.impl.CacheStats.enabled} is true when the caches are created,
+ * otherwise the caches do not have CacheStats objects at all.
+ * Use {@link #getSnapshots()} to read the current values of all caches,
+ * or {@link #registerMBeans()} to publish them via JMX as {@link CacheStatsMXBean}s.
+ *
+ * <p>A cache creates its CacheStats object via {@link #register(CacheStats)},
+ * overriding {@link #getSize()} if it can report its current number of entries.
+ * The registry only holds weak references, so that statistics go away with their caches.
+ * The MBeans hold their statistics weakly as well, and they are unregistered
+ * when the registry finds that their statistics have been garbage-collected.
+ */
+public class CacheStats implements CacheStatsMXBean {
+    /**
+     * True if caches should collect statistics.
+     */
+    public static final boolean ENABLED =
+            Boolean.parseBoolean(ICUConfig.get("com.ibm.icu.impl.CacheStats.enabled", "false").trim());
+
+    /**
+     * Immutable copy of the values of a CacheStats object.
+     */
+    public static final class Snapshot {
+        private final String name;
+        private final long size;
+        private final long hits;
+        private final long misses;
+        private final long evictions;
+        private final long clearedReferences;
+        private final long loadTimeNanos;
+
+        Snapshot(CacheStats stats) {
+            name = stats.getName();
+            size = stats.getSize();
+            hits = stats.getHits();
+            misses = stats.getMisses();
+            evictions = stats.getEvictions();
+            clearedReferences = stats.getClearedReferences();
+            loadTimeNanos = stats.getLoadTimeNanos();
+        }
+
+        public String getName() { return name; }
+        public long getSize() { return size; }
+        public long getHits() { return hits; }
+        public long getMisses() { return misses; }
+        public long getEvictions() { return evictions; }
+        public long getClearedReferences() { return clearedReferences; }
+        public long getLoadTimeNanos() { return loadTimeNanos; }
+
+        @Override
+        public String toString() {
+            return name + " {size=" + size + ", hits=" + hits + ", misses=" + misses +
+                    ", evictions=" + evictions + ", clearedReferences=" + clearedReferences +
+                    ", loadTimeNanos=" + loadTimeNanos + "}";
+        }
+    }
+
+    /**
+     * Registry entry: A weak reference to a CacheStats object,
+     * with the name of its MBean if one was registered.
+     */
+    private static final class Entry extends WeakReference<CacheStats> {
+        /** Guarded by registry. */
+        ObjectName objectName;
+
+        Entry(CacheStats stats) {
+            super(stats, cleared);
+        }
+    }
+
+    private static final ReferenceQueue<CacheStats> cleared = new ReferenceQueue<CacheStats>();
+    private static final List<Entry> registry = new ArrayList<Entry>();
+    /** Set once registerMBeans() has been called; guarded by registry. */
+    private static boolean mbeansRegistered;
+
+    private final String name;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong clearedReferences = new AtomicLong();
+    private final AtomicLong loadTimeNanos = new AtomicLong();
+
+    /**
+     * @param name Name of the cache, for example the name of the class which owns it.
+     *        The registry makes it unique if necessary.
+     */
+    public CacheStats(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Adds the stats object to the registry of all caches,
+     * and registers it with JMX if {@link #registerMBeans()} has been called before.
+     *
+     * @return stats
+     */
+    public static <S extends CacheStats> S register(S stats) {
+        synchronized (registry) {
+            removeCleared();
+            Entry entry = new Entry(stats);
+            registry.add(entry);
+            if (mbeansRegistered) {
+                Jmx.register(entry);
+            }
+        }
+        return stats;
+    }
+
+    /**
+     * Returns the name of the class and the source line from which a cache constructor was called,
+     * for caches which are not subclassed and therefore cannot use their own class name.
+     *
+     * @param cacheClass The cache class; its own frames are skipped.
+     */
+    public static String getCallerName(Class<?> cacheClass) {
+        String cacheClassName = cacheClass.getName();
+        for (StackTraceElement e : new Throwable().getStackTrace()) {
+            String className = e.getClassName();
+            if (!className.equals(cacheClassName) && !className.equals(CacheStats.class.getName())) {
+                return className + ':' + e.getLineNumber();
+            }
+        }
+        return cacheClassName;
+    }
+
+    /**
+     * Returns the current values of all live caches with statistics.
+     * Returns an empty list if statistics are not {@link #ENABLED}.
+     */
+    public static List<Snapshot> getSnapshots() {
+        List<Snapshot> snapshots = new ArrayList<Snapshot>();
+        synchronized (registry) {
+            removeCleared();
+            for (Entry entry : registry) {
+                CacheStats stats = entry.get();
+                if (stats != null) {
+                    snapshots.add(new Snapshot(stats));
+                }
+            }
+        }
+        return snapshots;
+    }
+
+    /**
+     * Registers a {@link CacheStatsMXBean} for each current and future cache with statistics
+     * with the platform MBean server.
+     *
+     * @throws JMException if registration fails
+     */
+    public static void registerMBeans() throws JMException {
+        synchronized (registry) {
+            if (mbeansRegistered) {
+                return;
+            }
+            removeCleared();
+            for (Entry entry : registry) {
+                if (entry.get() != null) {
+                    Jmx.registerOrThrow(entry);
+                }
+            }
+            mbeansRegistered = true;
+        }
+    }
+
+    /**
+     * Removes the entries whose statistics have been garbage-collected,
+     * and unregisters their MBeans. Must be called while holding the registry lock.
+     */
+    private static void removeCleared() {
+        Reference<? extends CacheStats> ref;
+        while ((ref = cleared.poll()) != null) {
+            Entry entry = (Entry) ref;
+            registry.remove(entry);
+            if (entry.objectName != null) {
+                Jmx.unregister(entry.objectName);
+            }
+        }
+    }
+
+    /**
+     * Keeps the JMX classes out of CacheStats itself,
+     * so that they are loaded only when registerMBeans() is called.
+     */
+    private static final class Jmx {
+        private static int nextID;
+
+        static void registerOrThrow(Entry entry) throws JMException {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            String name = entry.get().getName();
+            ObjectName objectName = new ObjectName("com.ibm.icu:type=Cache,name=" +
+                    ObjectName.quote(name));
+            if (server.isRegistered(objectName)) {
+                objectName = new ObjectName("com.ibm.icu:type=Cache,name=" +
+                        ObjectName.quote(name + '#' + (++nextID)));
+            }
+            // Register a proxy rather than the stats themselves:
+            // The MBean server holds its MBeans strongly, and the stats of most caches
+            // reference their caches.
+            server.registerMBean(new WeakMXBean(name, entry), objectName);
+            entry.objectName = objectName;
+        }
+
+        static void register(Entry entry) {
+            try {
+                registerOrThrow(entry);
+            } catch (JMException e) {
+                // Statistics are diagnostic only; do not fail the cache creation.
+            }
+        }
+
+        static void unregister(ObjectName objectName) {
+            try {
+                ManagementFactory.getPlatformMBeanServer().unregisterMBean(objectName);
+            } catch (JMException e) {
+                // Someone else already unregistered it.
+            }
+        }
+    }
+
+    /**
+     * The MBean for a CacheStats object, which it holds only weakly.
+     * After the stats have been garbage-collected, and until the MBean is unregistered,
+     * it reports a size of -1 and 0 for all counters.
+     */
+    private static final class WeakMXBean implements CacheStatsMXBean {
+        private final String name;
+        private final Reference<CacheStats> ref;
+
+        WeakMXBean(String name, Reference<CacheStats> ref) {
+            this.name = name;
+            this.ref = ref;
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public long getSize() {
+            CacheStats stats = ref.get();
+            return stats != null ? stats.getSize() : -1;
+        }
+
+        @Override
+        public long getHits() {
+            CacheStats stats = ref.get();
+            return stats != null ? stats.getHits() : 0;
+        }
+
+        @Override
+        public long getMisses() {
+            CacheStats stats = ref.get();
+            return stats != null ? stats.getMisses() : 0;
+        }
+
+        @Override
+        public long getEvictions() {
+            CacheStats stats = ref.get();
+            return stats != null ? stats.getEvictions() : 0;
+        }
+
+        @Override
+        public long getClearedReferences() {
+            CacheStats stats = ref.get();
+            return stats != null ? stats.getClearedReferences() : 0;
+        }
+
+        @Override
+        public long getLoadTimeNanos() {
+            CacheStats stats = ref.get();
+            return stats != null ? stats.getLoadTimeNanos() : 0;
+        }
+    }
+
+    /**
+     * Records a lookup which found a value in the cache.
+     */
+    public void recordHit() {
+        hits.incrementAndGet();
+    }
+
+    /**
+     * Records a lookup which had to create a value.
+     *
+     * @param nanos Time spent creating the value.
+     */
+    public void recordMiss(long nanos) {
+        misses.incrementAndGet();
+        loadTimeNanos.addAndGet(nanos);
+    }
+
+    /**
+     * Records a value which the cache removed to stay within its size limit.
+     */
+    public void recordEviction() {
+        evictions.incrementAndGet();
+    }
+
+    /**
+     * Records a lookup which found that the garbage collector had cleared the value's
+     * Reference. Such a lookup is also recorded as a miss when the value is re-created.
+     */
+    public void recordClearedReference() {
+        clearedReferences.incrementAndGet();
+    }
+
+    /** Returns the name of the cache. */
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns the number of entries in the cache, or -1 if the cache does not know.
+     * This implementation returns -1.
+     */
+    @Override
+    public long getSize() {
+        return -1;
+    }
+
+    /** Returns the number of lookups which found a value in the cache. */
+    @Override
+    public long getHits() {
+        return hits.get();
+    }
+
+    /** Returns the number of lookups which had to create a value. */
+    @Override
+    public long getMisses() {
+        return misses.get();
+    }
+
+    /** Returns the number of values removed to stay within a size limit. */
+    @Override
+    public long getEvictions() {
+        return evictions.get();
+    }
+
+    /** Returns the number of values found to have been cleared by the garbage collector. */
+    @Override
+    public long getClearedReferences() {
+        return clearedReferences.get();
+    }
+
+    /** Returns the cumulative time spent creating values, in nanoseconds. */
+    @Override
+    public long getLoadTimeNanos() {
+        return loadTimeNanos.get();
+    }
+}
@@ -0,0 +1,24 @@
+// © 2019 and later: Unicode, Inc. and others.
+// License & terms of use: http://www.unicode.org/copyright.html#License
+package com.ibm.icu.impl;
+
+/**
+ * JMX view of a {@link CacheStats} object.
+ * Registered with the ObjectName {@code com.ibm.icu:type=Cache,name=<name>}.
+ */
+public interface CacheStatsMXBean {
+    /** @see CacheStats#getName() */
+    String getName();
+    /** @see CacheStats#getSize() */
+    long getSize();
+    /** @see CacheStats#getHits() */
+    long getHits();
+    /** @see CacheStats#getMisses() */
+    long getMisses();
+    /** @see CacheStats#getEvictions() */
+    long getEvictions();
+    /** @see CacheStats#getClearedReferences() */
+    long getClearedReferences();
+    /** @see CacheStats#getLoadTimeNanos() */
+    long getLoadTimeNanos();
+}
@@ -422,6 +422,55 @@ private static String applyEdits(CharSequence src, StringBuilder replacementChar
 
     private static final Trie2_16 CASE_TRIE = UCaseProps.getTrie();
 
+    private static byte[] getLatinToLower(int caseLocale, int options) {
+        if (caseLocale == UCaseProps.LOC_ROOT ||
+                (caseLocale >= 0 ?
+                    !(caseLocale == UCaseProps.LOC_TURKISH || caseLocale == UCaseProps.LOC_LITHUANIAN) :
+                    (options & UCaseProps.FOLD_CASE_OPTIONS_MASK) == UCharacter.FOLD_CASE_DEFAULT)) {
+            return UCaseProps.LatinCase.TO_LOWER_NORMAL;
+        } else {
+            return UCaseProps.LatinCase.TO_LOWER_TR_LT;
+        }
+    }
+
+    /**
+     * Returns the length of the prefix of src which lowercasing (caseLocale >= 0)
+     * or case folding (caseLocale < 0) does not change, regardless of context.
+     * Stops at the first code point which might change, or which needs the slow path.
+     */
+    private static int spanUnchangedLower(byte[] latinToLower, CharSequence src) {
+        int length = src.length();
+        int i = 0;
+        for (; i < length; ++i) {
+            char c = src.charAt(i);
+            if (c < UCaseProps.LatinCase.LONG_S) {
+                if (latinToLower[c] != 0) { break; }
+            } else if (Character.isSurrogate(c) || !isUnchangedByLower(CASE_TRIE.getFromU16SingleLead(c))) {
+                break;
+            }
+        }
+        return i;
+    }
+
+    /** Same as {@link #spanUnchangedLower(byte[], CharSequence)} but for a char array. */
+    private static int spanUnchangedLower(byte[] latinToLower, char[] src, int start, int limit) {
+        int i = start;
+        for (; i < limit; ++i) {
+            char c = src[i];
+            if (c < UCaseProps.LatinCase.LONG_S) {
+                if (latinToLower[c] != 0) { break; }
+            } else if (Character.isSurrogate(c) || !isUnchangedByLower(CASE_TRIE.getFromU16SingleLead(c))) {
+                break;
+            }
+        }
+        return i;
+    }
+
+    private static boolean isUnchangedByLower(int props) {
+        return !UCaseProps.propsHasException(props) &&
+                (!UCaseProps.isUpperOrTitleFromProps(props) || UCaseProps.getDelta(props) == 0);
+    }
+
     /**
      * caseLocale >= 0: Lowercases [srcStart..srcLimit[ but takes context [0..srcLength[ into account.
      * caseLocale < 0: Case-folds [srcStart..srcLimit[.
@@ -429,15 +478,7 @@ private static String applyEdits(CharSequence src, StringBuilder replacementChar
     private static void internalToLower(int caseLocale, int options,
             CharSequence src, int srcStart, int srcLimit, StringContextIterator iter,
             Appendable dest, Edits edits) throws IOException {
-        byte[] latinToLower;
-        if (caseLocale == UCaseProps.LOC_ROOT ||
-                (caseLocale >= 0 ?
-                    !(caseLocale == UCaseProps.LOC_TURKISH || caseLocale == UCaseProps.LOC_LITHUANIAN) :
-                    (options & UCaseProps.FOLD_CASE_OPTIONS_MASK) == UCharacter.FOLD_CASE_DEFAULT)) {
-            latinToLower = UCaseProps.LatinCase.TO_LOWER_NORMAL;
-        } else {
-            latinToLower = UCaseProps.LatinCase.TO_LOWER_TR_LT;
-        }
+        byte[] latinToLower = getLatinToLower(caseLocale, options);
         int prev = srcStart;
         int srcIndex = srcStart;
         outerLoop:
@@ -587,22 +628,47 @@ private static void internalToUpper(int caseLocale, int options,
     }
 
     public static String toLower(int caseLocale, int options, CharSequence src) {
-        if (src.length() <= 100 && (options & OMIT_UNCHANGED_TEXT) == 0) {
-            if (src.length() == 0) {
-                return src.toString();
-            }
-            // Collect and apply only changes.
-            // Good if no or few changes. Bad (slow) if many changes.
-            Edits edits = new Edits();
-            StringBuilder replacementChars = toLower(
-                    caseLocale, options | OMIT_UNCHANGED_TEXT, src, new StringBuilder(), edits);
-            return applyEdits(src, replacementChars, edits);
+        if ((options & OMIT_UNCHANGED_TEXT) == 0) {
+            return lowerOrFoldUnlessUnchanged(caseLocale, options, src);
         } else {
             return toLower(caseLocale, options, src,
                     new StringBuilder(src.length()), null).toString();
         }
     }
 
+    /**
+     * Returns src.toString() if lowercasing/case folding does not change it.
+     * Text which is unchanged on the fast path is checked without allocating anything.
+     * Otherwise copies the unchanged prefix and maps only the rest.
+     */
+    private static String lowerOrFoldUnlessUnchanged(int caseLocale, int options, CharSequence src) {
+        int length = src.length();
+        int spanLength = spanUnchangedLower(getLatinToLower(caseLocale, options), src);
+        if (spanLength == length) {
+            return src.toString();
+        }
+        StringBuilder result = new StringBuilder(length).append(src, 0, spanLength);
+        try {
+            internalToLower(caseLocale, options, src, spanLength, length, null, result, null);
+        } catch (IOException e) {
+            throw new ICUUncheckedIOException(e);
+        }
+        // Code points which needed the slow path might still have mapped to themselves.
+        if (result.length() == length && regionMatches(result, src, spanLength, length)) {
+            return src.toString();
+        }
+        return result.toString();
+    }
+
+    private static boolean regionMatches(CharSequence s1, CharSequence s2, int start, int limit) {
+        for (int i = start; i < limit; ++i) {
+            if (s1.charAt(i) != s2.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     public static <A extends Appendable> A toLower(int caseLocale, int options,
             CharSequence src, A dest, Edits edits) {
         try {
@@ -780,16 +846,8 @@ public static <A extends Appendable> A toTitle(
     }
 
     public static String fold(int options, CharSequence src) {
-        if (src.length() <= 100 && (options & OMIT_UNCHANGED_TEXT) == 0) {
-            if (src.length() == 0) {
-                return src.toString();
-            }
-            // Collect and apply only changes.
-            // Good if no or few changes. Bad (slow) if many changes.
-            Edits edits = new Edits();
-            StringBuilder replacementChars = fold(
-                    options | OMIT_UNCHANGED_TEXT, src, new StringBuilder(), edits);
-            return applyEdits(src, replacementChars, edits);
+        if ((options & OMIT_UNCHANGED_TEXT) == 0) {
+            return lowerOrFoldUnlessUnchanged(-1, options, src);
         } else {
             return fold(options, src, new StringBuilder(src.length()), null).toString();
         }
@@ -808,6 +866,245 @@ public static <A extends Appendable> A fold(int options,
         }
     }
 
+    /**
+     * Case-folds src[srcStart..srcLimit[ into dest starting at destStart.
+     * Writes only as much as fits, and returns the full length of the result.
+     * Runs of unchanged text are copied with System.arraycopy(),
+     * and no objects are allocated unless a code point maps to a string.
+     */
+    public static int fold(int options, char[] src, int srcStart, int srcLimit,
+            char[] dest, int destStart) {
+        if (src == dest) {
+            throw new IllegalArgumentException();
+        }
+        if (srcStart < 0 || srcStart > srcLimit || srcLimit > src.length ||
+                destStart < 0 || destStart > dest.length) {
+            throw new IndexOutOfBoundsException();
+        }
+        byte[] latinToLower = getLatinToLower(-1, options);
+        StringBuilder mapping = null;
+        int destIndex = destStart;
+        int srcIndex = srcStart;
+        for (;;) {
+            int runStart = srcIndex;
+            srcIndex = spanUnchangedLower(latinToLower, src, srcIndex, srcLimit);
+            destIndex = copyChars(src, runStart, srcIndex, dest, destIndex);
+            if (srcIndex == srcLimit) {
+                break;
+            }
+            char c = src[srcIndex];
+            if (c < UCaseProps.LatinCase.LONG_S) {
+                byte d = latinToLower[c];
+                if (d != UCaseProps.LatinCase.EXC) {
+                    ++srcIndex;
+                    destIndex = appendChar((char)(c + d), dest, destIndex);
+                    continue;
+                }
+            } else if (c < 0xd800) {
+                int props = CASE_TRIE.getFromU16SingleLead(c);
+                if (!UCaseProps.propsHasException(props)) {
+                    ++srcIndex;
+                    destIndex = appendChar((char)(c + UCaseProps.getDelta(props)), dest, destIndex);
+                    continue;
+                }
+            }
+            // slow path
+            int cpStart = srcIndex++;
+            int cp = c;
+            if (Character.isHighSurrogate(c) && srcIndex < srcLimit &&
+                    Character.isLowSurrogate(src[srcIndex])) {
+                cp = Character.toCodePoint(c, src[srcIndex++]);
+            }
+            if (mapping == null) {
+                mapping = new StringBuilder();
+            } else {
+                mapping.setLength(0);
+            }
+            int result = UCaseProps.INSTANCE.toFullFolding(cp, mapping, options);
+            if (result < 0) {
+                destIndex = copyChars(src, cpStart, srcIndex, dest, destIndex);
+            } else if (result <= UCaseProps.MAX_STRING_LENGTH) {
+                for (int i = 0; i < result; ++i) {
+                    destIndex = appendChar(mapping.charAt(i), dest, destIndex);
+                }
+            } else if (result <= Character.MAX_VALUE) {
+                destIndex = appendChar((char)result, dest, destIndex);
+            } else {
+                destIndex = appendChar(Character.highSurrogate(result), dest, destIndex);
+                destIndex = appendChar(Character.lowSurrogate(result), dest, destIndex);
+            }
+        }
+        return destIndex - destStart;
+    }
+
+    private static int copyChars(char[] src, int start, int limit, char[] dest, int destIndex) {
+        int length = limit - start;
+        int available = dest.length - destIndex;
+        if (available > 0) {
+            System.arraycopy(src, start, dest, destIndex, Math.min(length, available));
+        }
+        return destIndex + length;
+    }
+
+    private static int appendChar(char c, char[] dest, int destIndex) {
+        if (destIndex < dest.length) {
+            dest[destIndex] = c;
+        }
+        return destIndex + 1;
+    }
+
+    /**
+     * Case-folds one code unit if that does not need the slow path.
+     * @return the folded code unit, or -1 if c needs the slow path
+     */
+    private static int foldFast(byte[] latinToLower, char c) {
+        if (c < UCaseProps.LatinCase.LONG_S) {
+            byte d = latinToLower[c];
+            return d == UCaseProps.LatinCase.EXC ? -1 : c + d;
+        } else if (c < 0xd800) {
+            int props = CASE_TRIE.getFromU16SingleLead(c);
+            if (!UCaseProps.propsHasException(props)) {
+                return UCaseProps.isUpperOrTitleFromProps(props) ? c + UCaseProps.getDelta(props) : c;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the same value as fold(options, s).hashCode() without creating the folded string.
+     */
+    public static int foldHashCode(int options, CharSequence s) {
+        byte[] latinToLower = getLatinToLower(-1, options);
+        int length = s.length();
+        int h = 0;
+        for (int i = 0; i < length; ++i) {
+            int f = foldFast(latinToLower, s.charAt(i));
+            if (f < 0) {
+                FoldIterator iter = new FoldIterator(options, latinToLower, s, i);
+                while ((f = iter.next()) >= 0) {
+                    h = 31 * h + f;
+                }
+                break;
+            }
+            h = 31 * h + f;
+        }
+        return h;
+    }
+
+    /**
+     * Returns the same value as fold(options, s1).contentEquals(fold(options, s2))
+     * without creating the folded strings.
+     */
+    public static boolean foldEquals(int options, CharSequence s1, CharSequence s2) {
+        byte[] latinToLower = getLatinToLower(-1, options);
+        int length1 = s1.length();
+        int length2 = s2.length();
+        int minLength = Math.min(length1, length2);
+        int i = 0;
+        // Each code unit on the fast path folds to exactly one code unit.
+        for (; i < minLength; ++i) {
+            int f1 = foldFast(latinToLower, s1.charAt(i));
+            int f2 = foldFast(latinToLower, s2.charAt(i));
+            if (f1 < 0 || f2 < 0) {
+                break;
+            }
+            if (f1 != f2) {
+                return false;
+            }
+        }
+        if (i == length1 && i == length2) {
+            return true;
+        }
+        FoldIterator iter1 = new FoldIterator(options, latinToLower, s1, i);
+        FoldIterator iter2 = new FoldIterator(options, latinToLower, s2, i);
+        int f;
+        do {
+            f = iter1.next();
+            if (f != iter2.next()) {
+                return false;
+            }
+        } while (f >= 0);
+        return true;
+    }
+
+    /**
+     * Returns the case folding of a string one code unit at a time.
+     * Collects string mappings from UCaseProps.toFullFolding() in a fixed-size buffer.
+     */
+    private static final class FoldIterator implements Appendable {
+        private final int options;
+        private final byte[] latinToLower;
+        private final CharSequence s;
+        private int index;
+        private final char[] mapping = new char[UCaseProps.MAX_STRING_LENGTH];
+        private int mappingIndex, mappingLength;
+
+        FoldIterator(int options, byte[] latinToLower, CharSequence s, int start) {
+            this.options = options;
+            this.latinToLower = latinToLower;
+            this.s = s;
+            index = start;
+        }
+
+        /** @return the next code unit of the folded string, or -1 at the end */
+        int next() {
+            while (mappingIndex == mappingLength) {
+                if (index >= s.length()) {
+                    return -1;
+                }
+                char c = s.charAt(index++);
+                int f = foldFast(latinToLower, c);
+                if (f >= 0) {
+                    return f;
+                }
+                int cp = c;
+                char trail;
+                if (Character.isHighSurrogate(c) && index < s.length() &&
+                        Character.isLowSurrogate(trail = s.charAt(index))) {
+                    cp = Character.toCodePoint(c, trail);
+                    ++index;
+                }
+                mappingIndex = mappingLength = 0;
+                int result = UCaseProps.INSTANCE.toFullFolding(cp, this, options);
+                if (result < 0) {
+                    appendCodePoint(~result);
+                } else if (result > UCaseProps.MAX_STRING_LENGTH) {
+                    appendCodePoint(result);
+                }
+                // else the string mapping has been appended
+            }
+            return mapping[mappingIndex++];
+        }
+
+        private void appendCodePoint(int c) {
+            if (c <= Character.MAX_VALUE) {
+                mapping[mappingLength++] = (char)c;
+            } else {
+                mapping[mappingLength++] = Character.highSurrogate(c);
+                mapping[mappingLength++] = Character.lowSurrogate(c);
+            }
+        }
+
+        @Override
+        public Appendable append(CharSequence csq) {
+            return append(csq, 0, csq.length());
+        }
+
+        @Override
+        public Appendable append(CharSequence csq, int start, int end) {
+            for (int i = start; i < end; ++i) {
+                mapping[mappingLength++] = csq.charAt(i);
+            }
+            return this;
+        }
+
+        @Override
+        public Appendable append(char c) {
+            mapping[mappingLength++] = c;
+            return this;
+        }
+    }
+
     private static final class GreekUpper {
         // Data bits.
         private static final int UPPER_MASK = 0x3ff;
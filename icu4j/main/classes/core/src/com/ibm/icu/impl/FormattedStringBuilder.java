@@ -19,6 +19,11 @@
  * <li>String operations are fast-pathed to code point operations when possible.
  * </ol>
  *
+ * <p>
+ * A builder created without fields (see {@link #FormattedStringBuilder(int, boolean)}) ignores all
+ * field arguments and does not allocate, copy or shift a fields array. Use it when the result is only
+ * needed as a string; {@link #fieldAt} always returns null for such a builder.
+ *
  * See also FormattedValueStringBuilderImpl.
  *
  * @author sffc (Shane Carr)
@@ -29,6 +34,7 @@ public class FormattedStringBuilder implements CharSequence, Appendable {
     public static final FormattedStringBuilder EMPTY = new FormattedStringBuilder();
 
     char[] chars;
+    /** The field for each char, or null if this builder does not keep track of fields. */
     Object[] fields;
     int zero;
     int length;
@@ -44,8 +50,16 @@ public FormattedStringBuilder() {
     }
 
     public FormattedStringBuilder(int capacity) {
+        this(capacity, true);
+    }
+
+    /**
+     * @param capacity The initial capacity.
+     * @param withFields Whether to keep track of fields. If false, field arguments are ignored.
+     */
+    public FormattedStringBuilder(int capacity, boolean withFields) {
         chars = new char[capacity];
-        fields = new Object[capacity];
+        fields = withFields ? new Object[capacity] : null;
         zero = capacity / 2;
         length = 0;
     }
@@ -56,7 +70,7 @@ public FormattedStringBuilder(FormattedStringBuilder source) {
 
     public void copyFrom(FormattedStringBuilder source) {
         chars = Arrays.copyOf(source.chars, source.chars.length);
-        fields = Arrays.copyOf(source.fields, source.fields.length);
+        fields = source.fields == null ? null : Arrays.copyOf(source.fields, source.fields.length);
         zero = source.zero;
         length = source.length;
     }
@@ -66,6 +80,11 @@ public int length() {
         return length;
     }
 
+    /** @return Whether this builder keeps track of fields. */
+    public boolean hasFields() {
+        return fields != null;
+    }
+
     public int codePointCount() {
         return Character.codePointCount(this, 0, length());
     }
@@ -80,7 +99,7 @@ public char charAt(int index) {
     public Object fieldAt(int index) {
         assert index >= 0;
         assert index < length;
-        return fields[zero + index];
+        return fields == null ? null : fields[zero + index];
     }
 
     public int getFirstCodePoint() {
@@ -128,7 +147,9 @@ public int insertChar16(int index, char codeUnit, Object field) {
         int count = 1;
         int position = prepareForInsert(index, count);
         chars[position] = codeUnit;
-        fields[position] = field;
+        if (fields != null) {
+            fields[position] = field;
+        }
         return count;
     }
 
@@ -150,9 +171,11 @@ public int insertCodePoint(int index, int codePoint, Object field) {
         int count = Character.charCount(codePoint);
         int position = prepareForInsert(index, count);
         Character.toChars(codePoint, chars, position);
-        fields[position] = field;
-        if (count == 2)
-            fields[position + 1] = field;
+        if (fields != null) {
+            fields[position] = field;
+            if (count == 2)
+                fields[position + 1] = field;
+        }
         return count;
     }
 
@@ -192,6 +215,16 @@ public int insert(int index, CharSequence sequence, Object field) {
     public int insert(int index, CharSequence sequence, int start, int end, Object field) {
         int count = end - start;
         int position = prepareForInsert(index, count);
+        if (fields == null) {
+            if (sequence instanceof String) {
+                ((String) sequence).getChars(start, end, chars, position);
+            } else {
+                for (int i = 0; i < count; i++) {
+                    chars[position + i] = sequence.charAt(start + i);
+                }
+            }
+            return count;
+        }
         for (int i = 0; i < count; i++) {
             chars[position + i] = sequence.charAt(start + i);
             fields[position + i] = field;
@@ -227,7 +260,9 @@ public int splice(
         }
         for (int i = 0; i < otherLength; i++) {
             chars[position + i] = sequence.charAt(startOther + i);
-            fields[position + i] = field;
+            if (this.fields != null) {
+                this.fields[position + i] = field;
+            }
         }
         return count;
     }
@@ -254,9 +289,11 @@ public int insert(int index, char[] chars, Object[] fields) {
         if (count == 0)
             return 0; // nothing to insert
         int position = prepareForInsert(index, count);
-        for (int i = 0; i < count; i++) {
-            this.chars[position + i] = chars[i];
-            this.fields[position + i] = fields == null ? null : fields[i];
+        System.arraycopy(chars, 0, this.chars, position, count);
+        if (this.fields != null) {
+            for (int i = 0; i < count; i++) {
+                this.fields[position + i] = fields == null ? null : fields[i];
+            }
         }
         return count;
     }
@@ -285,9 +322,11 @@ public int insert(int index, FormattedStringBuilder other) {
             return 0;
         }
         int position = prepareForInsert(index, count);
-        for (int i = 0; i < count; i++) {
-            this.chars[position + i] = other.charAt(i);
-            this.fields[position + i] = other.fieldAt(i);
+        System.arraycopy(other.chars, other.zero, this.chars, position, count);
+        if (this.fields != null) {
+            for (int i = 0; i < count; i++) {
+                this.fields[position + i] = other.fieldAt(i);
+            }
         }
         return count;
     }
@@ -332,7 +371,6 @@ private int prepareForInsertHelper(int index, int count) {
             int newZero = newCapacity / 2 - (length + count) / 2;
 
             char[] newChars = new char[newCapacity];
-            Object[] newFields = new Object[newCapacity];
 
             // First copy the prefix and then the suffix, leaving room for the new chars that the
             // caller wants to insert.
@@ -342,15 +380,18 @@ private int prepareForInsertHelper(int index, int count) {
                     newChars,
                     newZero + index + count,
                     length - index);
-            System.arraycopy(oldFields, oldZero, newFields, newZero, index);
-            System.arraycopy(oldFields,
-                    oldZero + index,
-                    newFields,
-                    newZero + index + count,
-                    length - index);
+            if (oldFields != null) {
+                Object[] newFields = new Object[newCapacity];
+                System.arraycopy(oldFields, oldZero, newFields, newZero, index);
+                System.arraycopy(oldFields,
+                        oldZero + index,
+                        newFields,
+                        newZero + index + count,
+                        length - index);
+                fields = newFields;
+            }
 
             chars = newChars;
-            fields = newFields;
             zero = newZero;
             length += count;
         } else {
@@ -364,12 +405,14 @@ private int prepareForInsertHelper(int index, int count) {
                     oldChars,
                     newZero + index + count,
                     length - index);
-            System.arraycopy(oldFields, oldZero, oldFields, newZero, length);
-            System.arraycopy(oldFields,
-                    newZero + index,
-                    oldFields,
-                    newZero + index + count,
-                    length - index);
+            if (oldFields != null) {
+                System.arraycopy(oldFields, oldZero, oldFields, newZero, length);
+                System.arraycopy(oldFields,
+                        newZero + index,
+                        oldFields,
+                        newZero + index + count,
+                        length - index);
+            }
 
             zero = newZero;
             length += count;
@@ -384,7 +427,9 @@ private int prepareForInsertHelper(int index, int count) {
     private int remove(int index, int count) {
         int position = index + zero;
         System.arraycopy(chars, position + count, chars, position, length - index - count);
-        System.arraycopy(fields, position + count, fields, position, length - index - count);
+        if (fields != null) {
+            System.arraycopy(fields, position + count, fields, position, length - index - count);
+        }
         length -= count;
         return position;
     }
@@ -458,7 +503,7 @@ public String toDebugString() {
         sb.append(this.toString());
         sb.append("] [");
         for (int i = zero; i < zero + length; i++) {
-            if (fields[i] == null) {
+            if (fields == null || fields[i] == null) {
                 sb.append('n');
             } else if (fieldToDebugChar.containsKey(fields[i])) {
                 sb.append(fieldToDebugChar.get(fields[i]));
@@ -475,8 +520,21 @@ public char[] toCharArray() {
         return Arrays.copyOfRange(chars, zero, zero + length);
     }
 
+    /**
+     * Copies the chars of this string builder into the given array without allocating.
+     *
+     * @param dest The destination array.
+     * @param destStart The index in dest at which to start writing.
+     */
+    public void getChars(char[] dest, int destStart) {
+        System.arraycopy(chars, zero, dest, destStart, length);
+    }
+
     /** @return A new array containing the field values of this string builder. */
     public Object[] toFieldArray() {
+        if (fields == null) {
+            return new Object[length];
+        }
         return Arrays.copyOfRange(fields, zero, zero + length);
     }
 
@@ -536,7 +594,7 @@ public boolean contentEquals(char[] chars, Object[] fields) {
         for (int i = 0; i < length; i++) {
             if (this.chars[zero + i] != chars[i])
                 return false;
-            if (this.fields[zero + i] != fields[i])
+            if (fieldAt(i) != fields[i])
                 return false;
         }
         return true;
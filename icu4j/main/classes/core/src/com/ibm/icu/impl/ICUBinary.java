@@ -9,20 +9,34 @@
 
 package com.ibm.icu.impl;
 
+import java.io.ByteArrayOutputStream;
 import java.io.DataOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.net.JarURLConnection;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLConnection;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
 import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Enumeration;
 import java.util.List;
+import java.util.Map;
 import java.util.MissingResourceException;
 import java.util.Set;
+import java.util.TreeMap;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
 
 import com.ibm.icu.util.ICUUncheckedIOException;
 import com.ibm.icu.util.VersionInfo;
@@ -286,6 +300,277 @@ void addBaseNamesInFolder(String folder, String suffix, Set<String> names) {
         if (dataPath != null) {
             addDataFilesFromPath(dataPath, icuDataFiles);
         }
+        // Normally com.ibm.icu.impl.ICUBinary.packageCachePath.
+        String packageCachePath = ICUConfig.get(ICUBinary.class.getName() + ".packageCachePath");
+        if (packageCachePath != null && (packageCachePath = packageCachePath.trim()).length() != 0) {
+            addClasspathDataPackage(new File(packageCachePath), icuDataFiles);
+        }
+    }
+
+    /**
+     * Maps the .dat package with the classpath data items from the cache folder,
+     * creating the package first if necessary.
+     * Items in dataPath files were added before and take precedence.
+     */
+    private static void addClasspathDataPackage(File folder, List<DataFile> files) {
+        try {
+            File pkgFile = writeClasspathDataPackage(folder);
+            if (pkgFile == null) {
+                return;
+            }
+            ByteBuffer pkgBytes = mapDataPackage(pkgFile);
+            if (pkgBytes != null) {
+                files.add(new PackageDataFile(pkgFile.getName(), pkgBytes));
+            }
+        } catch (IOException e) {
+            // Fall back to reading items from the classpath one at a time.
+            System.err.println(e);
+        }
+    }
+
+    /**
+     * Memory-maps the .dat package file.
+     *
+     * @return The package bytes with the position after the header,
+     *         or null if the file could not be mapped or is not a valid ICU data package.
+     */
+    private static ByteBuffer mapDataPackage(File pkgFile) {
+        ByteBuffer pkgBytes = mapFile(pkgFile);
+        if (pkgBytes != null && DatPackageReader.validate(pkgBytes)) {
+            return pkgBytes;
+        }
+        return null;
+    }
+
+    /**
+     * Loads an ICU binary data item from a .dat package file,
+     * such as one written by {@link #writeClasspathDataPackage(File)},
+     * the same way as items are loaded from the package in the packageCachePath folder:
+     * The package is memory-mapped, and the item is a read-only slice of it.
+     *
+     * @param pkgFile The .dat package file.
+     * @param itemPath Relative ICU data item path, for example "root.res" or "coll/ucadata.icu".
+     * @return The data as a read-only ByteBuffer,
+     *         or null if the file is not a valid ICU data package or does not contain the item.
+     */
+    public static ByteBuffer getData(File pkgFile, String itemPath) {
+        ByteBuffer pkgBytes = mapDataPackage(pkgFile);
+        return pkgBytes != null ? DatPackageReader.getData(pkgBytes, itemPath) : null;
+    }
+
+    /**
+     * Writes all of the ICU data items found on the classpath into one ICU .dat package file
+     * in the given folder, unless a package with the same items already exists there.
+     * The package file can then be memory-mapped (see the
+     * com.ibm.icu.impl.ICUBinary.packageCachePath configuration property)
+     * so that the data is shared via the page cache rather than copied into the heap.
+     *
+     * <p>The file name contains a hash of the item names and of their sizes and
+     * checksums (for items in jar files) or modification times (for items in folders),
+     * so that different or changed data gets its own package.
+     * The file is written to a temporary file and then renamed,
+     * so that concurrent processes never see a partial package.
+     *
+     * @param folder The folder for the package file. It is created if it does not exist.
+     * @return The package file, or null if no ICU data was found on the classpath,
+     *         or if some of it is neither in a jar file nor in a folder.
+     * @throws IOException if the package could not be written
+     */
+    public static File writeClasspathDataPackage(File folder) throws IOException {
+        return writeClasspathDataPackage(ClassLoaderUtil.getClassLoader(ICUData.class), folder);
+    }
+
+    /**
+     * Same as {@link #writeClasspathDataPackage(File)} but with the data items
+     * from the given class loader.
+     */
+    public static File writeClasspathDataPackage(ClassLoader loader, File folder) throws IOException {
+        // Maps each item name to its size and checksum or modification time.
+        // The first URL with an item is the one that the loader reads it from.
+        TreeMap<String, String> items = new TreeMap<>();
+        Enumeration<URL> urls = loader.getResources(ICUData.ICU_BASE_NAME);
+        while (urls.hasMoreElements()) {
+            if (!addClasspathItems(urls.nextElement(), items)) {
+                return null;
+            }
+        }
+        if (items.isEmpty()) {
+            return null;
+        }
+        long hash = VersionInfo.ICU_VERSION.toString().hashCode();
+        for (Map.Entry<String, String> item : items.entrySet()) {
+            hash = hash * 37 + item.getKey().hashCode();
+            hash = hash * 37 + item.getValue().hashCode();
+        }
+        File pkgFile = new File(folder,
+                ICUData.PACKAGE_NAME + '-' + Long.toHexString(hash) + ".dat");
+        if (pkgFile.isFile()) {
+            return pkgFile;
+        }
+        if (!folder.isDirectory() && !folder.mkdirs() && !folder.isDirectory()) {
+            throw new IOException("unable to create the ICU data package folder " + folder);
+        }
+        File tempFile = File.createTempFile(ICUData.PACKAGE_NAME, ".tmp", folder);
+        try {
+            writeDataPackage(loader, items.keySet(), tempFile);
+            try {
+                Files.move(tempFile.toPath(), pkgFile.toPath(), StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException e) {
+                // Another process may have created the package concurrently.
+                if (!pkgFile.isFile()) {
+                    throw e;
+                }
+            }
+        } finally {
+            tempFile.delete();
+        }
+        return pkgFile;
+    }
+
+    /**
+     * Adds the names of the data items in the classpath jar file or folder at the given URL,
+     * each with a string that changes when the item's contents change.
+     * Skips text files and locale list files, same as when adding dataPath files.
+     *
+     * @return false if the URL is neither in a jar file nor in a folder
+     */
+    private static boolean addClasspathItems(URL url, Map<String, String> items) throws IOException {
+        if (url.getProtocol().equals("file")) {
+            File dir;
+            try {
+                dir = new File(url.toURI());
+            } catch (URISyntaxException e) {
+                return false;
+            }
+            if (!dir.isDirectory()) {
+                return false;
+            }
+            addFolderItems(dir, "", items);
+            return true;
+        }
+        URLConnection urlConn = url.openConnection();
+        if (urlConn instanceof JarURLConnection) {
+            JarURLConnection conn = (JarURLConnection) urlConn;
+            String prefix = conn.getEntryName();
+            prefix = prefix == null ? "" : prefix.endsWith("/") ? prefix : prefix + '/';
+            // Do not close a cached jar file which the class loader may be using.
+            JarFile jarFile = conn.getJarFile();
+            Enumeration<JarEntry> entries = jarFile.entries();
+            while (entries.hasMoreElements()) {
+                JarEntry entry = entries.nextElement();
+                String name = entry.getName();
+                if (!entry.isDirectory() && name.startsWith(prefix)) {
+                    name = name.substring(prefix.length());
+                    if (isClasspathDataItem(name) && !items.containsKey(name)) {
+                        long crc = entry.getCrc();
+                        items.put(name, entry.getSize() + ":" +
+                                (crc != -1 ? Long.toHexString(crc) : Long.toString(entry.getTime())));
+                    }
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+
+    private static void addFolderItems(File dir, String path, Map<String, String> items) {
+        File[] files = dir.listFiles();
+        if (files == null) {
+            return;
+        }
+        for (File f : files) {
+            String name = path + f.getName();
+            if (f.isDirectory()) {
+                addFolderItems(f, name + '/', items);
+            } else if (isClasspathDataItem(name) && !items.containsKey(name)) {
+                items.put(name, f.length() + ":" + f.lastModified());
+            }
+        }
+    }
+
+    private static boolean isClasspathDataItem(String name) {
+        return name.length() != 0 && !name.endsWith(".txt") && !name.endsWith(".lst");
+    }
+
+    /**
+     * Writes a big-endian .dat package with the given classpath data items,
+     * in the layout that DatPackageReader expects:
+     * Header, item count, table of contents with (nameOffset, dataOffset) pairs
+     * relative to the end of the header, NUL-terminated "icudt66b/item" names,
+     * and the data items, each starting at a 16-aligned offset.
+     */
+    private static void writeDataPackage(ClassLoader loader, Collection<String> items, File file)
+            throws IOException {
+        int count = items.size();
+        ByteArrayOutputStream headerBytes = new ByteArrayOutputStream();
+        DataOutputStream dos = new DataOutputStream(headerBytes);
+        int headerSize = writeHeader(DatPackageReader.DATA_FORMAT, 0x01000000, 0, dos);
+        dos.writeInt(count);
+        int tocOffset = headerSize + 4;
+        int offset = 4 + count * 8;  // relative to the end of the header
+        int[] nameOffsets = new int[count];
+        int i = 0;
+        for (String item : items) {
+            nameOffsets[i++] = offset;
+            offset += ICUData.PACKAGE_NAME.length() + 1 + item.length() + 1;
+        }
+        for (i = 0; i < count * 8; ++i) {
+            dos.writeByte(0);  // table of contents placeholder
+        }
+        for (String item : items) {
+            dos.writeBytes(ICUData.PACKAGE_NAME);
+            dos.writeByte('/');
+            dos.writeBytes(item);
+            dos.writeByte(0);
+        }
+        dos.flush();
+
+        int[] dataOffsets = new int[count];
+        RandomAccessFile raf = new RandomAccessFile(file, "rw");
+        try {
+            FileChannel channel = raf.getChannel();
+            channel.truncate(0);
+            ByteBuffer buffer = ByteBuffer.wrap(headerBytes.toByteArray());
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            byte[] copyBytes = new byte[0x10000];
+            long position = channel.position();
+            i = 0;
+            for (String item : items) {
+                position = (position + 15) & ~15L;  // Align each item to 16 bytes.
+                if ((position - headerSize) > Integer.MAX_VALUE) {
+                    throw new IOException("ICU data package too large");
+                }
+                dataOffsets[i++] = (int) (position - headerSize);
+                channel.position(position);
+                InputStream is = ICUData.getStream(loader, ICUData.ICU_BASE_NAME + '/' + item, true);
+                try {
+                    int length;
+                    while ((length = is.read(copyBytes)) >= 0) {
+                        buffer = ByteBuffer.wrap(copyBytes, 0, length);
+                        while (buffer.hasRemaining()) {
+                            channel.write(buffer);
+                        }
+                    }
+                } finally {
+                    is.close();
+                }
+                position = channel.position();
+            }
+            buffer = ByteBuffer.allocate(count * 8);
+            for (i = 0; i < count; ++i) {
+                buffer.putInt(nameOffsets[i]).putInt(dataOffsets[i]);
+            }
+            buffer.flip();
+            channel.position(tocOffset);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(false);
+        } finally {
+            raf.close();
+        }
     }
 
     private static void addDataFilesFromPath(String dataPath, List<DataFile> files) {
@@ -173,6 +173,11 @@ public boolean equals(Object obj) {
         public int hashCode() {
             return baseName.hashCode() ^ localeID.hashCode();
         }
+
+        @Override
+        public String toString() {
+            return baseName + '/' + localeID;
+        }
     }
 
     private static class ReaderCache extends SoftCache<ReaderCacheKey, ICUResourceBundleReader, ClassLoader> {
@@ -1138,6 +1143,13 @@ int getContainerResource(ICUResourceBundleReader reader, int index) {
      * but also use more memory.
      */
     private static final class ResourceCache {
+        /**
+         * Statistics for all ResourceCache instances together, null unless enabled.
+         * The size is not tracked.
+         */
+        private static final CacheStats STATS = !CacheStats.ENABLED ? null :
+            CacheStats.register(new CacheStats(ResourceCache.class.getName()));
+
         // Number of items to be stored in a simple array with binary search and insertion sort.
         private static final int SIMPLE_LENGTH = 32;
 
@@ -1308,19 +1320,22 @@ synchronized Object get(int res) {
             Object value;
             if(length >= 0) {
                 int index = findSimple(res);
-                if(index >= 0) {
-                    value = values[index];
-                } else {
-                    return null;
-                }
+                value = index >= 0 ? values[index] : null;
             } else {
                 value = rootLevel.get(makeKey(res));
-                if(value == null) {
-                    return null;
-                }
             }
             if(value instanceof SoftReference) {
                 value = ((SoftReference<Object>)value).get();
+                if(value == null && STATS != null) {
+                    STATS.recordClearedReference();
+                }
+            }
+            if(STATS != null) {
+                if(value != null) {
+                    STATS.recordHit();
+                } else {
+                    STATS.recordMiss(0);
+                }
             }
             return value;  // null if the reference was cleared
         }
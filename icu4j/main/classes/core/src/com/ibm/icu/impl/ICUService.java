@@ -102,6 +102,7 @@ public class ICUService extends ICUNotifier {
      */
     public ICUService() {
         name = "";
+        stats = createStats();
     }
 
     private static final boolean DEBUG = ICUDebug.enabled("service");
@@ -110,6 +111,26 @@ public ICUService() {
      */
     public ICUService(String name) {
         this.name = name;
+        stats = createStats();
+    }
+
+    /**
+     * Statistics for the cache, null unless enabled.
+     */
+    private final CacheStats stats;
+
+    private CacheStats createStats() {
+        if (!CacheStats.ENABLED) {
+            return null;
+        }
+        String statsName = name.isEmpty() ? getClass().getName() : "ICUService:" + name;
+        return CacheStats.register(new CacheStats(statsName) {
+            @Override
+            public long getSize() {
+                Map<String, CacheEntry> cache = ICUService.this.cache;
+                return cache != null ? cache.size() : 0;
+            }
+        });
     }
 
     /**
@@ -399,6 +420,8 @@ public Object getKey(Key key, String[] actualReturn, Factory factory) {
 
         CacheEntry result = null;
         if (key != null) {
+            long start = stats != null ? System.nanoTime() : 0;
+            boolean fromCache = false;
             try {
                 // The factory list can't be modified until we're done,
                 // otherwise we might update the cache with an invalid result.
@@ -442,6 +465,7 @@ public Object getKey(Key key, String[] actualReturn, Factory factory) {
                     result = cache.get(currentDescriptor);
                     if (result != null) {
                         if (DEBUG) System.out.println(name + " found with descriptor: " + currentDescriptor);
+                        fromCache = true;
                         break outer;
                     } else {
                         if (DEBUG) System.out.println("did not find: " + currentDescriptor + " in cache");
@@ -513,6 +537,13 @@ public Object getKey(Key key, String[] actualReturn, Factory factory) {
             }
             finally {
                 factoryLock.releaseRead();
+                if (stats != null) {
+                    if (fromCache) {
+                        stats.recordHit();
+                    } else {
+                        stats.recordMiss(System.nanoTime() - start);
+                    }
+                }
             }
         }
 
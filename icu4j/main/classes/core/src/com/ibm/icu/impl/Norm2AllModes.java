@@ -11,6 +11,7 @@
 
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
 
 import com.ibm.icu.text.Normalizer;
 import com.ibm.icu.text.Normalizer2;
@@ -43,6 +44,11 @@ public Appendable normalize(CharSequence src, Appendable dest) {
             }
         }
         @Override
+        public int normalize(char[] src, int srcStart, int srcLimit, char[] dest, int destStart) {
+            checkCharsArguments(src, srcStart, srcLimit, dest, destStart);
+            return copyChars(src, srcStart, srcLimit, dest, destStart)-destStart;
+        }
+        @Override
         public StringBuilder normalizeSecondAndAppend(StringBuilder first, CharSequence second) {
             if(first!=second) {
                 return first.append(second);
@@ -105,7 +111,59 @@ public Appendable normalize(CharSequence src, Appendable dest) {
             buffer.flush();
             return dest;
         }
-        protected abstract void normalize(CharSequence src, Normalizer2Impl.ReorderingBuffer buffer);
+        @Override
+        public int normalize(char[] src, int srcStart, int srcLimit, char[] dest, int destStart) {
+            checkCharsArguments(src, srcStart, srcLimit, dest, destStart);
+            // Code units below this limit have normalization boundaries before them
+            // and are not changed by normalization.
+            int fastLimit=Math.min(getMinNoCP(), Character.MIN_SURROGATE);
+            CharBuffer chars=null;
+            Normalizer2Impl.ReorderingBuffer buffer=null;
+            int destIndex=destStart;
+            int i=srcStart;
+            while(i<srcLimit) {
+                // Copy a run of such code units all at once,
+                // except for the last one which might combine with the following text.
+                int runStart=i;
+                i=spanBelow(src, i, srcLimit, fastLimit);
+                if(i==srcLimit) {
+                    destIndex=copyChars(src, runStart, i, dest, destIndex);
+                    break;
+                }
+                int segmentStart=i>runStart ? i-1 : i;
+                destIndex=copyChars(src, runStart, segmentStart, dest, destIndex);
+                // Normalize the segment up to the next boundary before a code unit below the limit.
+                do {
+                    ++i;
+                } while(i<srcLimit && src[i]>=fastLimit);
+                if(buffer==null) {
+                    // Bound the view at srcLimit so that a lead surrogate at srcLimit-1
+                    // is not paired with a trail surrogate beyond the limit.
+                    chars=CharBuffer.wrap(src, 0, srcLimit);
+                    buffer=new Normalizer2Impl.ReorderingBuffer(impl, new StringBuilder(), i-segmentStart);
+                } else {
+                    buffer.remove();
+                }
+                normalize(chars, segmentStart, i, buffer);
+                StringBuilder segment=buffer.getStringBuilder();
+                int length=segment.length();
+                int available=dest.length-destIndex;
+                if(available>0) {
+                    segment.getChars(0, Math.min(length, available), dest, destIndex);
+                }
+                destIndex+=length;
+            }
+            return destIndex-destStart;
+        }
+        protected void normalize(CharSequence src, Normalizer2Impl.ReorderingBuffer buffer) {
+            normalize(src, 0, src.length(), buffer);
+        }
+        protected abstract void normalize(CharSequence src, int start, int limit,
+                                          Normalizer2Impl.ReorderingBuffer buffer);
+        /**
+         * @return the code point below which normalize() copies text unchanged
+         */
+        protected abstract int getMinNoCP();
 
         // normalize and append
         @Override
@@ -168,8 +226,13 @@ public DecomposeNormalizer2(Normalizer2Impl ni) {
         }
 
         @Override
-        protected void normalize(CharSequence src, Normalizer2Impl.ReorderingBuffer buffer) {
-            impl.decompose(src, 0, src.length(), buffer);
+        protected void normalize(CharSequence src, int start, int limit,
+                                 Normalizer2Impl.ReorderingBuffer buffer) {
+            impl.decompose(src, start, limit, buffer);
+        }
+        @Override
+        protected int getMinNoCP() {
+            return impl.getMinDecompNoCP();
         }
         @Override
         protected void normalizeAndAppend(
@@ -199,8 +262,13 @@ public ComposeNormalizer2(Normalizer2Impl ni, boolean fcc) {
         }
 
         @Override
-        protected void normalize(CharSequence src, Normalizer2Impl.ReorderingBuffer buffer) {
-            impl.compose(src, 0, src.length(), onlyContiguous, true, buffer);
+        protected void normalize(CharSequence src, int start, int limit,
+                                 Normalizer2Impl.ReorderingBuffer buffer) {
+            impl.compose(src, start, limit, onlyContiguous, true, buffer);
+        }
+        @Override
+        protected int getMinNoCP() {
+            return impl.getMinCompNoMaybeCP();
         }
         @Override
         protected void normalizeAndAppend(
@@ -254,8 +322,13 @@ public FCDNormalizer2(Normalizer2Impl ni) {
         }
 
         @Override
-        protected void normalize(CharSequence src, Normalizer2Impl.ReorderingBuffer buffer) {
-            impl.makeFCD(src, 0, src.length(), buffer);
+        protected void normalize(CharSequence src, int start, int limit,
+                                 Normalizer2Impl.ReorderingBuffer buffer) {
+            impl.makeFCD(src, start, limit, buffer);
+        }
+        @Override
+        protected int getMinNoCP() {
+            return impl.getMinDecompNoCP();
         }
         @Override
         protected void normalizeAndAppend(
@@ -278,6 +351,47 @@ public int getQuickCheck(int c) {
         public boolean isInert(int c) { return impl.isFCDInert(c); }
     }
 
+    // Argument checking and copying for Normalizer2.normalize(char[], ...) ----- ***
+
+    public static void checkCharsArguments(char[] src, int srcStart, int srcLimit,
+                                           char[] dest, int destStart) {
+        if(src==dest) {
+            throw new IllegalArgumentException();
+        }
+        if(srcStart<0 || srcStart>srcLimit || srcLimit>src.length ||
+                destStart<0 || destStart>dest.length) {
+            throw new IndexOutOfBoundsException();
+        }
+    }
+
+    /**
+     * Returns the index of the first code unit at or after start which is not below fastLimit,
+     * or limit if there is none.
+     */
+    private static int spanBelow(char[] s, int start, int limit, int fastLimit) {
+        // Four code units are all below a power of 2 if and only if their bitwise OR is.
+        int bulkLimit=Integer.highestOneBit(fastLimit);
+        int i=start;
+        for(int bulkEnd=limit-4; i<=bulkEnd && (s[i]|s[i+1]|s[i+2]|s[i+3])<bulkLimit; i+=4) {}
+        while(i<limit && s[i]<fastLimit) {
+            ++i;
+        }
+        return i;
+    }
+
+    /**
+     * Copies src[start..limit[ to dest at destIndex, as far as it fits.
+     * @return destIndex plus the full length, even if not everything was copied
+     */
+    public static int copyChars(char[] src, int start, int limit, char[] dest, int destIndex) {
+        int length=limit-start;
+        int available=dest.length-destIndex;
+        if(available>0) {
+            System.arraycopy(src, start, dest, destIndex, Math.min(length, available));
+        }
+        return destIndex+length;
+    }
+
     // instance cache ---------------------------------------------------------- ***
 
     private Norm2AllModes(Normalizer2Impl ni) {
@@ -706,6 +706,11 @@ public int getCompQuickCheck(int norm16) {
     public boolean isCompNo(int norm16) { return minNoNo<=norm16 && norm16<minMaybeYes; }
     public boolean isDecompYes(int norm16) { return norm16<minYesNo || minMaybeYes<=norm16; }
 
+    // Code points below these limits have boundaries before them and are not changed by
+    // decompose() and makeFCD(), or by compose(), respectively.
+    public int getMinDecompNoCP() { return minDecompNoCP; }
+    public int getMinCompNoMaybeCP() { return minCompNoMaybeCP; }
+
     public int getCC(int norm16) {
         if(norm16>=MIN_NORMAL_MAYBE_YES) {
             return getCCFromNormalYesOrMaybe(norm16);
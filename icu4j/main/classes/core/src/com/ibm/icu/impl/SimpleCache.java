@@ -22,6 +22,16 @@
     private volatile Reference<Map<K, V>> cacheRef = null;
     private int type = ICUCache.SOFT;
     private int capacity = DEFAULT_CAPACITY;
+    /** Null unless statistics are enabled. */
+    private final CacheStats stats = !CacheStats.ENABLED ? null :
+        CacheStats.register(new CacheStats(CacheStats.getCallerName(SimpleCache.class)) {
+            @Override
+            public long getSize() {
+                Reference<Map<K, V>> ref = cacheRef;
+                Map<K, V> map = ref != null ? ref.get() : null;
+                return map != null ? map.size() : 0;
+            }
+        });
 
     public SimpleCache() {
     }
@@ -45,9 +55,22 @@ public V get(Object key) {
         if (ref != null) {
             Map<K, V> map = ref.get();
             if (map != null) {
-                return map.get(key);
+                V value = map.get(key);
+                if (stats != null) {
+                    if (value != null) {
+                        stats.recordHit();
+                    } else {
+                        stats.recordMiss(0);
+                    }
+                }
+                return value;
+            } else if (stats != null) {
+                stats.recordClearedReference();
             }
         }
+        if (stats != null) {
+            stats.recordMiss(0);
+        }
         return null;
     }
 
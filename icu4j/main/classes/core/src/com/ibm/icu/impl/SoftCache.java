@@ -8,7 +8,14 @@
 */
 package com.ibm.icu.impl;
 
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Generic, thread-safe cache implementation, usually storing cached instances
@@ -26,6 +33,16 @@
  * <p>A value can be null if createInstance() returns null.
  * In this case, it must do so consistently for the same key and data.
  *
+ * <p>Under heap pressure, the garbage collector tends to clear many SoftReferences at once,
+ * which causes bursts of reloading. The ICUConfig property
+ * {@code com.ibm.icu.impl.SoftCache.policy=lru} selects a bounded policy instead:
+ * each cache holds at most {@code com.ibm.icu.impl.SoftCache.maxEntries} values strongly
+ * and evicts the least recently used ones (approximated with a "CLOCK" sweep).
+ *
+ * <p>With either policy, values whose keys contain one of the locale IDs listed in
+ * {@code com.ibm.icu.impl.SoftCache.pinnedLocales} or added via {@link #addPinnedLocales}
+ * are held strongly and never evicted.
+ *
  * @param <K> Cache lookup key type
  * @param <V> Cache instance value type (must not be a CacheValue)
  * @param <D> Data type for creating a new instance value
@@ -33,11 +50,115 @@
  * @author Markus Scherer, Mark Davis
  */
 public abstract class SoftCache<K, V, D> extends CacheBase<K, V, D> {
+    private static final int DEFAULT_MAX_ENTRIES;
+    private static final String[] DEFAULT_PINNED_LOCALES;
+
+    static {
+        String policy = ICUConfig.get("com.ibm.icu.impl.SoftCache.policy", "soft").trim();
+        int maxEntries = 0;
+        if (policy.equalsIgnoreCase("lru")) {
+            try {
+                maxEntries = Integer.parseInt(
+                        ICUConfig.get("com.ibm.icu.impl.SoftCache.maxEntries", "512").trim());
+            } catch (NumberFormatException e) {
+                maxEntries = 512;
+            }
+            if (maxEntries < 0) {
+                maxEntries = 0;
+            }
+        }
+        DEFAULT_MAX_ENTRIES = maxEntries;
+        String pinned = ICUConfig.get("com.ibm.icu.impl.SoftCache.pinnedLocales", "").trim();
+        DEFAULT_PINNED_LOCALES = pinned.isEmpty() ? new String[0] : pinned.split("[\\s,]+");
+    }
+
+    /**
+     * Locale IDs pinned at runtime in all caches, with '-' replaced by '_'.
+     * Copy-on-write, guarded by SoftCache.class.
+     */
+    private static volatile Set<String> addedPinnedLocales = Collections.emptySet();
+
     private ConcurrentHashMap<K, Object> map = new ConcurrentHashMap<K, Object>();
 
+    /** Maximum number of unpinned values, or 0 for holding them via CacheValues without a bound. */
+    private final int maxEntries;
+    /** Locale IDs with '-' replaced by '_'. */
+    private final Set<String> pinnedLocales;
+    /** Number of unpinned values in the map, only maintained if maxEntries>0. */
+    private final AtomicInteger unpinnedCount = new AtomicInteger();
+    /** Position of the eviction sweep, guarded by this cache. */
+    private Iterator<Map.Entry<K, Object>> clockHand;
+    /** Null unless statistics are enabled. */
+    private final CacheStats stats = !CacheStats.ENABLED ? null :
+        CacheStats.register(new CacheStats(getClass().getName()) {
+            @Override
+            public long getSize() {
+                return map.size();
+            }
+        });
+
+    /**
+     * Creates a cache with the policy configured via ICUConfig.
+     */
+    public SoftCache() {
+        this(DEFAULT_MAX_ENTRIES, DEFAULT_PINNED_LOCALES);
+    }
+
+    /**
+     * Creates a cache with an explicit policy.
+     *
+     * @param maxEntries if positive, the cache holds at most this many unpinned values
+     *        strongly and evicts the least recently used ones;
+     *        if 0, values are held via CacheValues without a bound
+     * @param pinnedLocales locale IDs for which values are held strongly and never evicted
+     */
+    protected SoftCache(int maxEntries, String... pinnedLocales) {
+        if (maxEntries < 0) {
+            throw new IllegalArgumentException("maxEntries must not be negative");
+        }
+        this.maxEntries = maxEntries;
+        if (pinnedLocales.length == 0) {
+            this.pinnedLocales = Collections.emptySet();
+        } else {
+            Set<String> set = new HashSet<String>();
+            for (String id : pinnedLocales) {
+                set.add(id.replace('-', '_'));
+            }
+            this.pinnedLocales = set;
+        }
+    }
+
+    /**
+     * Pins the given locale IDs in all caches, in addition to the configured ones.
+     * This affects only values that are created after this call;
+     * values which are already cached keep their current policy.
+     */
+    public static synchronized void addPinnedLocales(Collection<String> localeIDs) {
+        Set<String> set = new HashSet<String>(addedPinnedLocales);
+        for (String id : localeIDs) {
+            set.add(id.replace('-', '_'));
+        }
+        addedPinnedLocales = Collections.unmodifiableSet(set);
+    }
+
+    /**
+     * Unpins locale IDs which were pinned via {@link #addPinnedLocales}.
+     * Values which are already cached keep their current policy.
+     */
+    public static synchronized void removePinnedLocales(Collection<String> localeIDs) {
+        Set<String> set = new HashSet<String>(addedPinnedLocales);
+        for (String id : localeIDs) {
+            set.remove(id.replace('-', '_'));
+        }
+        addedPinnedLocales = Collections.unmodifiableSet(set);
+    }
+
     @SuppressWarnings("unchecked")
     @Override
     public final V getInstance(K key, D data) {
+        if (maxEntries > 0) {
+            return getBoundedInstance(key, data);
+        }
         // We synchronize twice, once in the ConcurrentHashMap and
         // once in valueRef.resetIfCleared(value),
         // because we prefer the fine-granularity locking of the ConcurrentHashMap
@@ -50,24 +171,29 @@ public final V getInstance(K key, D data) {
         if(mapValue != null) {
             if(!(mapValue instanceof CacheValue)) {
                 // The value was stored directly.
+                if (stats != null) { stats.recordHit(); }
                 return (V)mapValue;
             }
             CacheValue<V> cv = (CacheValue<V>)mapValue;
             if(cv.isNull()) {
+                if (stats != null) { stats.recordHit(); }
                 return null;
             }
             V value = cv.get();
             if(value != null) {
+                if (stats != null) { stats.recordHit(); }
                 return value;
             }
             // The instance has been evicted, its Reference cleared.
             // Create and set a new instance.
-            value = createInstance(key, data);
+            if (stats != null) { stats.recordClearedReference(); }
+            value = load(key, data);
             return cv.resetIfCleared(value);
         } else /* valueRef == null */ {
             // We had never cached an instance for this key.
-            V value = createInstance(key, data);
-            mapValue = (value != null && CacheValue.futureInstancesWillBeStrong()) ?
+            V value = load(key, data);
+            mapValue = (value != null &&
+                    (CacheValue.futureInstancesWillBeStrong() || isPinned(key))) ?
                     value : CacheValue.getInstance(value);
             mapValue = map.putIfAbsent(key, mapValue);
             if(mapValue == null) {
@@ -85,4 +211,122 @@ public final V getInstance(K key, D data) {
             return cv.resetIfCleared(value);
         }
     }
+
+    /**
+     * Map value for the bounded policy.
+     */
+    private static final class BoundedValue<V> {
+        final V value;
+        final boolean pinned;
+        /**
+         * Set when the value is used again, cleared by the eviction sweep.
+         * Starts out false so that values which are used only once are evicted first.
+         */
+        volatile boolean referenced;
+
+        BoundedValue(V value, boolean pinned) {
+            this.value = value;
+            this.pinned = pinned;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private V getBoundedInstance(K key, D data) {
+        BoundedValue<V> bv = (BoundedValue<V>)map.get(key);
+        if (bv != null) {
+            // Avoid writing to shared memory on every hit.
+            if (!bv.referenced) {
+                bv.referenced = true;
+            }
+            if (stats != null) { stats.recordHit(); }
+            return bv.value;
+        }
+        V value = load(key, data);
+        BoundedValue<V> newValue = new BoundedValue<V>(value, isPinned(key));
+        bv = (BoundedValue<V>)map.putIfAbsent(key, newValue);
+        if (bv != null) {
+            // Race condition: Another thread beat us to putting a value into the map.
+            return bv.value;
+        }
+        if (!newValue.pinned && unpinnedCount.incrementAndGet() > maxEntries) {
+            evict();
+        }
+        return value;
+    }
+
+    /**
+     * Removes unpinned values until there are at most maxEntries of them.
+     * The "CLOCK" sweep approximates LRU without bookkeeping on cache hits:
+     * The hand moves around the map, gives recently used values a second chance
+     * by clearing their referenced flags, and evicts the first value that was
+     * not used since the hand last passed it.
+     */
+    private synchronized void evict() {
+        while (unpinnedCount.get() > maxEntries) {
+            if (clockHand == null || !clockHand.hasNext()) {
+                clockHand = map.entrySet().iterator();
+                if (!clockHand.hasNext()) {
+                    return;
+                }
+            }
+            Map.Entry<K, Object> entry = clockHand.next();
+            BoundedValue<?> bv = (BoundedValue<?>)entry.getValue();
+            if (bv.pinned) {
+                continue;
+            }
+            if (bv.referenced) {
+                bv.referenced = false;
+            } else if (map.remove(entry.getKey(), bv)) {
+                unpinnedCount.decrementAndGet();
+                if (stats != null) { stats.recordEviction(); }
+            }
+        }
+    }
+
+    /**
+     * Calls createInstance(), and records the time it takes if statistics are enabled.
+     */
+    private V load(K key, D data) {
+        if (stats == null) {
+            return createInstance(key, data);
+        }
+        long start = System.nanoTime();
+        try {
+            return createInstance(key, data);
+        } finally {
+            stats.recordMiss(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Returns true if the key's string contains one of the pinned locale IDs
+     * as a complete token, for example "de" in "de" or "com/ibm/icu/impl/data/icudt66b/de"
+     * but not in "de_CH".
+     */
+    private boolean isPinned(K key) {
+        Set<String> added = addedPinnedLocales;
+        if (pinnedLocales.isEmpty() && added.isEmpty()) {
+            return false;
+        }
+        String s = key.toString();
+        int length = s.length();
+        int start = 0;
+        for (int i = 0; i <= length; ++i) {
+            if (i == length || !isLocaleIDChar(s.charAt(i))) {
+                if (i > start) {
+                    String token = s.substring(start, i).replace('-', '_');
+                    if (pinnedLocales.contains(token) || added.contains(token)) {
+                        return true;
+                    }
+                }
+                start = i + 1;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isLocaleIDChar(char c) {
+        return ('a' <= c && c <= 'z') || ('A' <= c && c <= 'Z') || ('0' <= c && c <= '9') ||
+                c == '_' || c == '-';
+    }
 }
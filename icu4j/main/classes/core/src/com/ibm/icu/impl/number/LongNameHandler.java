@@ -289,11 +289,10 @@ private void multiSimpleFormatsToModifiers(
     }
 
     @Override
-    public MicroProps processQuantity(DecimalQuantity quantity) {
-        MicroProps micros = parent.processQuantity(quantity);
+    public void processQuantity(DecimalQuantity quantity, MicroProps micros) {
+        parent.processQuantity(quantity, micros);
         StandardPlural pluralForm = RoundingUtils.getPluralSafe(micros.rounder, rules, quantity);
         micros.modOuter = modifiers.get(pluralForm);
-        return micros;
     }
 
     @Override
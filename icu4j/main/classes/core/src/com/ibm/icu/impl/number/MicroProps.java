@@ -38,16 +38,32 @@ public MicroProps(boolean immutable) {
         this.immutable = immutable;
     }
 
+    /**
+     * As the head of the quantity chain, copies this instance's properties into the output MicroProps,
+     * unless the output is this instance itself (the unsafe code path).
+     */
     @Override
-    public MicroProps processQuantity(DecimalQuantity quantity) {
-        if (immutable) {
-            return (MicroProps) this.clone();
-        } else if (exhausted) {
-            // Safety check
-            throw new AssertionError("Cannot re-use a mutable MicroProps in the quantity chain");
-        } else {
+    public void processQuantity(DecimalQuantity quantity, MicroProps micros) {
+        if (!immutable) {
+            if (exhausted) {
+                // Safety check
+                throw new AssertionError("Cannot re-use a mutable MicroProps in the quantity chain");
+            }
             exhausted = true;
-            return this;
+        }
+        if (micros != this) {
+            micros.sign = sign;
+            micros.symbols = symbols;
+            micros.nsName = nsName;
+            micros.padding = padding;
+            micros.decimal = decimal;
+            micros.integerWidth = integerWidth;
+            micros.modOuter = modOuter;
+            micros.modMiddle = modMiddle;
+            micros.modInner = modInner;
+            micros.rounder = rounder;
+            micros.grouping = grouping;
+            micros.useCurrency = useCurrency;
         }
     }
 
@@ -5,7 +5,7 @@
 /**
  * This interface is used when all number formatting settings, including the locale, are known, except
  * for the quantity itself. The {@link #processQuantity} method performs the final step in the number
- * processing pipeline: it uses the quantity to generate a finalized {@link MicroProps}, which can be
+ * processing pipeline: it uses the quantity to fill in a finalized {@link MicroProps}, which can be
  * used to render the number to output.
  *
  * <p>
@@ -16,8 +16,9 @@
  * In order to allow for multiple different objects to all mutate the same MicroProps, a "chain" of
  * MicroPropsGenerators are linked together, and each one is responsible for manipulating a certain
  * quantity-dependent part of the MicroProps. At the top of the linked list is a base instance of
- * {@link MicroProps} with properties that are not quantity-dependent. Each element in the linked list
- * calls {@link #processQuantity} on its "parent", then does its work, and then returns the result.
+ * {@link MicroProps} with properties that are not quantity-dependent, which copies them into the
+ * MicroProps passed in by the caller. Each element in the linked list calls {@link #processQuantity} on
+ * its "parent", then does its work on the same MicroProps.
  *
  * <p>
  * A class implementing MicroPropsGenerator looks something like this:
@@ -31,10 +32,9 @@
  *     }
  *
  *     &#64;Override
- *     public MicroProps processQuantity(DecimalQuantity quantity) {
- *         MicroProps micros = this.parent.processQuantity(quantity);
+ *     public void processQuantity(DecimalQuantity quantity, MicroProps micros) {
+ *         this.parent.processQuantity(quantity, micros);
  *         // Perform manipulations on micros and/or quantity
- *         return micros;
  *     }
  * }
  * </pre>
@@ -44,12 +44,17 @@
  */
 public interface MicroPropsGenerator {
     /**
-     * Considers the given {@link DecimalQuantity}, optionally mutates it, and returns a
+     * Considers the given {@link DecimalQuantity}, optionally mutates it, and fills in the given
      * {@link MicroProps}.
      *
+     * <p>
+     * The caller owns the MicroProps, so that a caller which formats many numbers can reuse one
+     * instance instead of allocating a new one for each number.
+     *
      * @param quantity
      *            The quantity for consideration and optional mutation.
-     * @return A MicroProps instance resolved for the quantity.
+     * @param micros
+     *            The MicroProps to be resolved for the quantity. All of its fields are overwritten.
      */
-    public MicroProps processQuantity(DecimalQuantity quantity);
+    public void processQuantity(DecimalQuantity quantity, MicroProps micros);
 }
\ No newline at end of file
@@ -17,9 +17,8 @@ public MultiplierFormatHandler(Scale multiplier, MicroPropsGenerator parent) {
     }
 
     @Override
-    public MicroProps processQuantity(DecimalQuantity quantity) {
-        MicroProps micros = parent.processQuantity(quantity);
+    public void processQuantity(DecimalQuantity quantity, MicroProps micros) {
+        parent.processQuantity(quantity, micros);
         multiplier.applyTo(quantity);
-        return micros;
     }
 }
@@ -229,16 +229,15 @@ public ImmutablePatternModifier addToChain(MicroPropsGenerator parent) {
         }
 
         @Override
-        public MicroProps processQuantity(DecimalQuantity quantity) {
-            MicroProps micros = parent.processQuantity(quantity);
+        public void processQuantity(DecimalQuantity quantity, MicroProps micros) {
+            parent.processQuantity(quantity, micros);
             if (micros.rounder != null) {
                 micros.rounder.apply(quantity);
             }
             if (micros.modMiddle != null) {
-                return micros;
+                return;
             }
             applyToMicros(micros, quantity);
-            return micros;
         }
 
         public void applyToMicros(MicroProps micros, DecimalQuantity quantity) {
@@ -269,13 +268,13 @@ public MicroPropsGenerator addToChain(MicroPropsGenerator parent) {
     }
 
     @Override
-    public MicroProps processQuantity(DecimalQuantity fq) {
-        MicroProps micros = parent.processQuantity(fq);
+    public void processQuantity(DecimalQuantity fq, MicroProps micros) {
+        parent.processQuantity(fq, micros);
         if (micros.rounder != null) {
             micros.rounder.apply(fq);
         }
         if (micros.modMiddle != null) {
-            return micros;
+            return;
         }
         if (needsPlurals()) {
             StandardPlural pluralForm = RoundingUtils.getPluralSafe(micros.rounder, rules, fq);
@@ -284,7 +283,6 @@ public MicroProps processQuantity(DecimalQuantity fq) {
             setNumberProperties(fq.signum(), null);
         }
         micros.modMiddle = this;
-        return micros;
     }
 
     @Override
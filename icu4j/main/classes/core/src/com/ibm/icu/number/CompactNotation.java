@@ -122,8 +122,8 @@ private void precomputeAllModifiers(MutablePatternModifier buildReference) {
         }
 
         @Override
-        public MicroProps processQuantity(DecimalQuantity quantity) {
-            MicroProps micros = parent.processQuantity(quantity);
+        public void processQuantity(DecimalQuantity quantity, MicroProps micros) {
+            parent.processQuantity(quantity, micros);
             assert micros.rounder != null;
 
             // Treat zero, NaN, and infinity as if they had magnitude 0
@@ -164,8 +164,6 @@ public MicroProps processQuantity(DecimalQuantity quantity) {
 
             // We already performed rounding. Do not perform it again.
             micros.rounder = null;
-
-            return micros;
         }
     }
 }
\ No newline at end of file
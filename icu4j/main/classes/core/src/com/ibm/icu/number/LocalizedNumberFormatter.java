@@ -9,10 +9,12 @@
 
 import com.ibm.icu.impl.FormattedStringBuilder;
 import com.ibm.icu.impl.StandardPlural;
+import com.ibm.icu.impl.Utility;
 import com.ibm.icu.impl.number.DecimalQuantity;
 import com.ibm.icu.impl.number.DecimalQuantity_DualStorageBCD;
 import com.ibm.icu.impl.number.LocalizedNumberFormatterAsFormat;
 import com.ibm.icu.impl.number.MacroProps;
+import com.ibm.icu.impl.number.MicroProps;
 import com.ibm.icu.math.BigDecimal;
 import com.ibm.icu.util.CurrencyAmount;
 import com.ibm.icu.util.Measure;
@@ -36,6 +38,25 @@ public class LocalizedNumberFormatter extends NumberFormatterSettings<LocalizedN
     volatile LocalizedNumberFormatter savedWithUnit;
     volatile NumberFormatterImpl compiled;
 
+    /**
+     * Reusable objects for the formatTo() methods, so that they do not allocate on every call.
+     * The string builder does not keep track of fields since formatTo() only returns the string.
+     * The MicroProps is filled in by the compiled pipeline on each call.
+     */
+    private static final class Scratch {
+        final DecimalQuantity_DualStorageBCD quantity = new DecimalQuantity_DualStorageBCD();
+        final FormattedStringBuilder string = new FormattedStringBuilder(40, false);
+        final MicroProps micros = new MicroProps(false);
+        boolean inUse = false;
+    }
+
+    private static final ThreadLocal<Scratch> scratch = new ThreadLocal<Scratch>() {
+        @Override
+        protected Scratch initialValue() {
+            return new Scratch();
+        }
+    };
+
     LocalizedNumberFormatter(NumberFormatterSettings<?> parent, int key, Object value) {
         super(parent, key, value);
     }
@@ -104,6 +125,158 @@ public FormattedNumber format(Measure input) {
         return new FormattedNumber(string, fq);
     }
 
+    /**
+     * Format the given byte, short, int, or long and append the result to the given Appendable, such as
+     * a StringBuilder. Equivalent to <code>format(input).appendTo(appendable)</code>, except that it uses
+     * per-thread scratch objects instead of allocating a {@link FormattedNumber} and its internals. This
+     * is useful in hot loops that need only the string, not the field positions.
+     *
+     * <p>
+     * The formatTo() methods {@link #compile() compile} this formatter on their first call. After
+     * that, they usually do not allocate any objects. Some settings still allocate a temporary copy
+     * of the number on each call, for example compact notation and unit names which depend on the
+     * plural form.
+     *
+     * @param input
+     *            The number to format.
+     * @param appendable
+     *            The Appendable to which to append the formatted number.
+     * @return The same Appendable, for chaining.
+     * @throws com.ibm.icu.util.ICUUncheckedIOException
+     *            if the Appendable throws an IOException.
+     * @draft ICU 67
+     * @provisional This API might change or be removed in a future release.
+     * @see #format(long)
+     */
+    public <A extends Appendable> A formatTo(long input, A appendable) {
+        Scratch s = acquireScratch();
+        try {
+            s.quantity.setToLong(input);
+            formatToImpl(s);
+            return Utility.appendTo(s.string, appendable);
+        } finally {
+            s.inUse = false;
+        }
+    }
+
+    /**
+     * Format the given float or double and append the result to the given Appendable, such as a
+     * StringBuilder. Equivalent to <code>format(input).appendTo(appendable)</code>, except that it uses
+     * per-thread scratch objects instead of allocating a {@link FormattedNumber} and its internals.
+     *
+     * @param input
+     *            The number to format.
+     * @param appendable
+     *            The Appendable to which to append the formatted number.
+     * @return The same Appendable, for chaining.
+     * @throws com.ibm.icu.util.ICUUncheckedIOException
+     *            if the Appendable throws an IOException.
+     * @draft ICU 67
+     * @provisional This API might change or be removed in a future release.
+     * @see #format(double)
+     */
+    public <A extends Appendable> A formatTo(double input, A appendable) {
+        Scratch s = acquireScratch();
+        try {
+            s.quantity.setToDouble(input);
+            formatToImpl(s);
+            return Utility.appendTo(s.string, appendable);
+        } finally {
+            s.inUse = false;
+        }
+    }
+
+    /**
+     * Format the given byte, short, int, or long into the given char array, using per-thread scratch
+     * objects instead of allocating a {@link FormattedNumber}.
+     *
+     * @param input
+     *            The number to format.
+     * @param dest
+     *            The destination array.
+     * @param destStart
+     *            The index in dest at which to start writing.
+     * @return The length of the formatted number.
+     * @throws IndexOutOfBoundsException
+     *            if the formatted number does not fit into dest at destStart. The exception message
+     *            is the required length. Nothing is written in this case.
+     * @draft ICU 67
+     * @provisional This API might change or be removed in a future release.
+     * @see #format(long)
+     */
+    public int formatTo(long input, char[] dest, int destStart) {
+        Scratch s = acquireScratch();
+        try {
+            s.quantity.setToLong(input);
+            formatToImpl(s);
+            return copyTo(s.string, dest, destStart);
+        } finally {
+            s.inUse = false;
+        }
+    }
+
+    /**
+     * Format the given float or double into the given char array, using per-thread scratch objects
+     * instead of allocating a {@link FormattedNumber}.
+     *
+     * @param input
+     *            The number to format.
+     * @param dest
+     *            The destination array.
+     * @param destStart
+     *            The index in dest at which to start writing.
+     * @return The length of the formatted number.
+     * @throws IndexOutOfBoundsException
+     *            if the formatted number does not fit into dest at destStart. The exception message
+     *            is the required length. Nothing is written in this case.
+     * @draft ICU 67
+     * @provisional This API might change or be removed in a future release.
+     * @see #format(double)
+     */
+    public int formatTo(double input, char[] dest, int destStart) {
+        Scratch s = acquireScratch();
+        try {
+            s.quantity.setToDouble(input);
+            formatToImpl(s);
+            return copyTo(s.string, dest, destStart);
+        } finally {
+            s.inUse = false;
+        }
+    }
+
+    /**
+     * Returns this thread's cleared scratch objects, or new ones if they are already in use on this
+     * thread, for example when the target Appendable itself formats numbers.
+     */
+    private static Scratch acquireScratch() {
+        Scratch s = scratch.get();
+        if (s.inUse) {
+            s = new Scratch();
+        }
+        s.inUse = true;
+        s.quantity.clear();
+        s.string.clear();
+        return s;
+    }
+
+    /**
+     * Formats the scratch quantity into the scratch string. Unlike formatImpl(), this always uses the
+     * compiled pipeline, since the static code path builds a new pipeline for every call.
+     */
+    private void formatToImpl(Scratch s) {
+        compile();
+        compiled.format(s.quantity, s.micros, s.string);
+    }
+
+    private static int copyTo(FormattedStringBuilder string, char[] dest, int destStart) {
+        int length = string.length();
+        if (destStart < 0 || destStart > dest.length || length > dest.length - destStart) {
+            throw new IndexOutOfBoundsException(Integer.toString(length));
+        }
+        string.getChars(dest, destStart);
+        return length;
+    }
+
     /**
      * Creates a representation of this LocalizedNumberFormat as a {@link java.text.Format}, enabling the
      * use of this number formatter with APIs that need an object of that type, such as MessageFormat.
@@ -199,14 +372,39 @@ public String getAffixImpl(boolean isPrefix, boolean isNegative) {
         }
     }
 
+    /**
+     * Builds the optimized data structures for this formatter right away, instead of after the first
+     * few calls to format(). Call this method during initialization to avoid running the slower code
+     * path on the first requests.
+     *
+     * <p>
+     * The compiled data structures are shared between all formatters with the same locale and
+     * settings, as long as the settings can be expressed as a number skeleton.
+     *
+     * @return This formatter, for chaining.
+     * @draft ICU 67
+     * @provisional This API might change or be removed in a future release.
+     * @see NumberFormatter
+     */
+    public LocalizedNumberFormatter compile() {
+        if (compiled == null) {
+            compiled = NumberFormatterImpl.getShared(resolve());
+        }
+        return this;
+    }
+
     private boolean computeCompiled() {
+        // Skip the atomic increment, which contends between threads, once we are compiled.
+        if (compiled != null) {
+            return true;
+        }
         MacroProps macros = resolve();
         // NOTE: In Java, the atomic increment logic is slightly different than ICU4C.
         // It seems to be more efficient to make just one function call instead of two.
         // Further benchmarking is required.
         long currentCount = callCount.incrementAndGet(this);
         if (currentCount == macros.threshold.longValue()) {
-            compiled = new NumberFormatterImpl(macros);
+            compiled = NumberFormatterImpl.getShared(macros);
             return true;
         } else if (compiled != null) {
             return true;
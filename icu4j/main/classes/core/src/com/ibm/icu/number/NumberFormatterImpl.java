@@ -2,10 +2,13 @@
 // License & terms of use: http://www.unicode.org/copyright.html#License
 package com.ibm.icu.number;
 
+import com.ibm.icu.impl.CacheBase;
 import com.ibm.icu.impl.FormattedStringBuilder;
+import com.ibm.icu.impl.SoftCache;
 import com.ibm.icu.impl.StandardPlural;
 import com.ibm.icu.impl.number.CompactData.CompactType;
 import com.ibm.icu.impl.number.ConstantAffixModifier;
+import com.ibm.icu.impl.number.CustomSymbolCurrency;
 import com.ibm.icu.impl.number.DecimalQuantity;
 import com.ibm.icu.impl.number.DecimalQuantity_DualStorageBCD;
 import com.ibm.icu.impl.number.Grouper;
@@ -47,13 +50,88 @@ public NumberFormatterImpl(MacroProps macros) {
         microPropsGenerator = macrosToMicroGenerator(macros, micros, true);
     }
 
+    /**
+     * Compiled formatters shared between all LocalizedNumberFormatters with the same locale and
+     * settings. Most objects in a MacroProps are compared by identity, so the key is the locale plus
+     * the normalized skeleton, which has value semantics.
+     */
+    private static final CacheBase<String, NumberFormatterImpl, MacroProps> sharedCache =
+            new SoftCache<String, NumberFormatterImpl, MacroProps>() {
+                @Override
+                protected NumberFormatterImpl createInstance(String key, MacroProps macros) {
+                    return new NumberFormatterImpl(macros);
+                }
+            };
+
+    /**
+     * Returns a "safe" NumberFormatterImpl for the given macros. If the settings can be expressed as a
+     * skeleton, the instance is shared with all other formatters that have the same locale and
+     * settings; otherwise, a new instance is built.
+     */
+    public static NumberFormatterImpl getShared(MacroProps macros) {
+        String key = getSharedCacheKey(macros);
+        if (key == null) {
+            return new NumberFormatterImpl(macros);
+        }
+        return sharedCache.getInstance(key, macros);
+    }
+
+    /**
+     * Returns the key for the shared cache, or null if the macros contain settings that cannot be
+     * faithfully represented by a skeleton.
+     */
+    private static String getSharedCacheKey(MacroProps macros) {
+        // Check the common unsupported settings first to avoid throwing an exception in the
+        // skeleton generator, for example for all formatters created by DecimalFormat.
+        if (macros.loc == null
+                || macros.symbols instanceof DecimalFormatSymbols
+                || macros.affixProvider != null
+                || macros.padder != null
+                || macros.rules != null
+                || macros.unit instanceof CustomSymbolCurrency) {
+            return null;
+        }
+        // A skeleton records the rounding mode, but not the MathContext of the precision or scale.
+        if ((macros.precision != null
+                        && !macros.precision.mathContext.equals(RoundingUtils.DEFAULT_MATH_CONTEXT_UNLIMITED))
+                || (macros.scale != null
+                        && !macros.scale.mc.equals(RoundingUtils.DEFAULT_MATH_CONTEXT_34_DIGITS))) {
+            return null;
+        }
+        if (macros.symbols instanceof NumberingSystem) {
+            // Custom numbering systems are not distinguishable by name.
+            NumberingSystem ns = (NumberingSystem) macros.symbols;
+            if (ns != NumberingSystem.getInstanceByName(ns.getName())) {
+                return null;
+            }
+        }
+        String skeleton;
+        try {
+            skeleton = NumberSkeletonImpl.generate(macros);
+        } catch (UnsupportedOperationException e) {
+            return null;
+        }
+        return macros.loc.toString() + '|' + skeleton;
+    }
+
     /**
      * Builds and evaluates an "unsafe" MicroPropsGenerator, which is cheaper but can be used only once.
+     *
+     * <p>
+     * The unsafe modifiers read fields back from the output (for currency spacing), so if outString
+     * does not keep track of fields, the number is formatted into a temporary builder first. The
+     * "safe" {@link #format} never reads fields from the output and writes to outString directly.
      */
     public static int formatStatic(
             MacroProps macros,
             DecimalQuantity inValue,
             FormattedStringBuilder outString) {
+        if (!outString.hasFields()) {
+            FormattedStringBuilder temp = new FormattedStringBuilder();
+            int length = formatStatic(macros, inValue, temp);
+            outString.insert(0, temp);
+            return length;
+        }
         MicroProps micros = preProcessUnsafe(macros, inValue);
         int length = writeNumber(micros, inValue, outString, 0);
         length += writeAffixes(micros, outString, 0, length);
@@ -85,7 +163,15 @@ public static int getPrefixSuffixStatic(
      * Evaluates the "safe" MicroPropsGenerator created by "fromMacros".
      */
     public int format(DecimalQuantity inValue, FormattedStringBuilder outString) {
-        MicroProps micros = preProcess(inValue);
+        return format(inValue, new MicroProps(false), outString);
+    }
+
+    /**
+     * Like format(), but resolves the quantity into the caller's MicroProps, which can be reused
+     * between calls.
+     */
+    public int format(DecimalQuantity inValue, MicroProps micros, FormattedStringBuilder outString) {
+        preProcess(inValue, micros);
         int length = writeNumber(micros, inValue, outString, 0);
         length += writeAffixes(micros, outString, 0, length);
         return length;
@@ -95,20 +181,25 @@ public int format(DecimalQuantity inValue, FormattedStringBuilder outString) {
      * Like format(), but saves the result into an output MicroProps without additional processing.
      */
     public MicroProps preProcess(DecimalQuantity inValue) {
-        MicroProps micros = microPropsGenerator.processQuantity(inValue);
+        MicroProps micros = new MicroProps(false);
+        preProcess(inValue, micros);
+        return micros;
+    }
+
+    private void preProcess(DecimalQuantity inValue, MicroProps micros) {
+        microPropsGenerator.processQuantity(inValue, micros);
         if (micros.integerWidth.maxInt == -1) {
             inValue.setMinInteger(micros.integerWidth.minInt);
         } else {
             inValue.setMinInteger(micros.integerWidth.minInt);
             inValue.applyMaxInteger(micros.integerWidth.maxInt);
         }
-        return micros;
     }
 
     private static MicroProps preProcessUnsafe(MacroProps macros, DecimalQuantity inValue) {
         MicroProps micros = new MicroProps(false);
         MicroPropsGenerator microPropsGenerator = macrosToMicroGenerator(macros, micros, false);
-        micros = microPropsGenerator.processQuantity(inValue);
+        microPropsGenerator.processQuantity(inValue, micros);
         if (micros.integerWidth.maxInt == -1) {
             inValue.setMinInteger(micros.integerWidth.minInt);
         } else {
@@ -130,7 +221,8 @@ private static int getPrefixSuffixImpl(MicroPropsGenerator generator, byte signu
         if (signum < 0) {
             quantity.negate();
         }
-        MicroProps micros = generator.processQuantity(quantity);
+        MicroProps micros = new MicroProps(false);
+        generator.processQuantity(quantity, micros);
         micros.modMiddle.apply(output, 0, 0);
         return micros.modMiddle.getPrefixLength();
     }
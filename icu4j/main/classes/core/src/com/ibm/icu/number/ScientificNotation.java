@@ -153,14 +153,14 @@ private ScientificHandler(
         }
 
         @Override
-        public MicroProps processQuantity(DecimalQuantity quantity) {
-            MicroProps micros = parent.processQuantity(quantity);
+        public void processQuantity(DecimalQuantity quantity, MicroProps micros) {
+            parent.processQuantity(quantity, micros);
             assert micros.rounder != null;
 
             // Do not apply scientific notation to special doubles
             if (quantity.isInfinite() || quantity.isNaN()) {
                 micros.modInner = ConstantAffixModifier.EMPTY;
-                return micros;
+                return;
             }
 
             // Treat zero as if it had magnitude 0
@@ -199,8 +199,6 @@ public MicroProps processQuantity(DecimalQuantity quantity) {
 
             // We already performed rounding. Do not perform it again.
             micros.rounder = null;
-
-            return micros;
         }
 
         @Override
@@ -452,5 +452,82 @@ public String apply(CharSequence src) {
          public <A extends Appendable> A apply(CharSequence src, A dest, Edits edits) {
              return CaseMapImpl.fold(internalOptions, src, dest, edits);
          }
+
+        /**
+         * Case-folds the characters src[srcStart..srcLimit[ into dest starting at destStart,
+         * and returns the length of the result.
+         * If the result does not fit into dest, then only as much as fits is written,
+         * and the returned length is greater than dest.length-destStart.
+         * The caller can then call this method again with a large enough destination array.
+         *
+         * <p>Runs of characters which case folding does not change are copied in bulk,
+         * and no objects are allocated unless a character folds to multiple characters.
+         * This suits case-folding many short strings, such as keys for case-insensitive lookups,
+         * into a reusable buffer.
+         *
+         * <p>The {@link #omitUnchangedText} option has no effect on this method.
+         *
+         * @param src       The original characters.
+         * @param srcStart  Start index of the original characters.
+         * @param srcLimit  Limit index of the original characters.
+         * @param dest      A buffer for the result. Must be a different array from src.
+         * @param destStart Index in dest where the result is written.
+         * @return the length of the result
+         * @throws IllegalArgumentException if src and dest are the same array
+         * @throws IndexOutOfBoundsException if the source range or destStart are out of bounds
+         *
+         * @see UCharacter#foldCase(String, int)
+         * @draft ICU 67
+         * @provisional This API might change or be removed in a future release.
+         */
+        public int apply(char[] src, int srcStart, int srcLimit, char[] dest, int destStart) {
+            return CaseMapImpl.fold(internalOptions & ~CaseMapImpl.OMIT_UNCHANGED_TEXT,
+                    src, srcStart, srcLimit, dest, destStart);
+        }
+
+        /**
+         * Returns a hash code for the case folding of the string.
+         * The result is the same as apply(s).hashCode() but no folded string is created:
+         * The code points are case-folded one at a time as they are hashed.
+         *
+         * <p>Strings which are equal according to {@link #equalsIgnoreCase(CharSequence, CharSequence)}
+         * have the same hash code, so the two methods can implement case-insensitive keys
+         * for hash-based collections.
+         * The {@link #omitUnchangedText} option has no effect on this method.
+         *
+         * @param s The string.
+         * @return the hash code of the case-folded string
+         *
+         * @see #equalsIgnoreCase(CharSequence, CharSequence)
+         * @see com.ibm.icu.util.CaseInsensitiveMap
+         * @draft ICU 67
+         * @provisional This API might change or be removed in a future release.
+         */
+        public int hashCode(CharSequence s) {
+            return CaseMapImpl.foldHashCode(internalOptions & ~CaseMapImpl.OMIT_UNCHANGED_TEXT, s);
+        }
+
+        /**
+         * Compares the case foldings of two strings for equality.
+         * The result is the same as apply(s1).equals(apply(s2)) but no folded strings are created:
+         * The code points are case-folded one at a time as they are compared,
+         * and the comparison stops at the first difference.
+         *
+         * <p>This is different from {@link String#equalsIgnoreCase(String)},
+         * which compares one char at a time and does not handle
+         * characters that fold to multiple characters, such as U+00DF sharp s.
+         * The {@link #omitUnchangedText} option has no effect on this method.
+         *
+         * @param s1 One string.
+         * @param s2 Another string.
+         * @return true if the case foldings of the two strings are equal
+         *
+         * @see #hashCode(CharSequence)
+         * @draft ICU 67
+         * @provisional This API might change or be removed in a future release.
+         */
+        public boolean equalsIgnoreCase(CharSequence s1, CharSequence s2) {
+            return CaseMapImpl.foldEquals(internalOptions & ~CaseMapImpl.OMIT_UNCHANGED_TEXT, s1, s2);
+        }
     }
 }
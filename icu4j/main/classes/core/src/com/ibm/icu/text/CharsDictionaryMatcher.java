@@ -63,6 +63,43 @@ public int matches(CharacterIterator text_, int maxLength, int[] lengths, int[]
         return numChars;
     }
 
+    @Override
+    public int matches(CharSequence text, int start, int maxLength, int[] lengths, int[] count_, int limit, int[] values) {
+        CharsTrie uct = new CharsTrie(characters, 0);
+        int index = start;
+        int c = Character.codePointAt(text, index);
+        index += Character.charCount(c);
+        Result result = uct.firstForCodePoint(c);
+        int numChars = 1;
+        int count = 0;
+        for (;;) {
+            if (result.hasValue()) {
+                if (count < limit) {
+                    if (values != null) {
+                        values[count] = uct.getValue();
+                    }
+                    lengths[count] = numChars;
+                    count++;
+                }
+                if (result == Result.FINAL_VALUE) {
+                    break;
+                }
+            } else if (result == Result.NO_MATCH) {
+                break;
+            }
+
+            if (numChars >= maxLength || index >= text.length()) {
+                break;
+            }
+            c = Character.codePointAt(text, index);
+            index += Character.charCount(c);
+            ++numChars;
+            result = uct.nextForCodePoint(c);
+        }
+        count_[0] = count;
+        return numChars;
+    }
+
     @Override
     public int getType() {
         return DictionaryData.TRIE_TYPE_UCHARS;
@@ -8,10 +8,6 @@
  */
 package com.ibm.icu.text;
 
-import static com.ibm.icu.impl.CharacterIteration.DONE32;
-import static com.ibm.icu.impl.CharacterIteration.current32;
-import static com.ibm.icu.impl.CharacterIteration.next32;
-
 import java.io.IOException;
 import java.text.CharacterIterator;
 
@@ -80,6 +76,49 @@ private static boolean isKatakana(int value) {
                 (value >= 0xFF66 && value <= 0xFF9F);
     }
 
+    /**
+     * Scratch space for divideUpDictionaryRange(). Each thread reuses its own lattice,
+     * so that segmenting a run of ideographs does not allocate in the common case.
+     */
+    private static final class Lattice {
+        /** The dictionary range, as copied from the text. */
+        final StringBuilder text = new StringBuilder();
+        /** Lengths and values of the dictionary matches at one code point. */
+        final int[] lengths = new int[maxWordSize + 1];
+        final int[] values = new int[maxWordSize + 1];
+        final int[] count = new int[1];
+        /** Code unit index in the range text of each code point index, and of the end. */
+        int[] charPositions = new int[0];
+        /** Lowest total cost of a segmentation up to each code point index. */
+        int[] bestSnlp = new int[0];
+        /** Start of the last word in the best segmentation up to each code point index. */
+        int[] prev = new int[0];
+        /** Code point indexes of the breaks, in reverse order. */
+        int[] boundaries = new int[0];
+
+        void ensureCapacity(int numCodeUnits) {
+            if (charPositions.length <= numCodeUnits) {
+                int capacity = Math.max(numCodeUnits + 1, 2 * charPositions.length);
+                charPositions = new int[capacity];
+                bestSnlp = new int[capacity];
+                prev = new int[capacity];
+                boundaries = new int[capacity];
+            }
+        }
+    }
+
+    /** Lattices for runs up to this many code units are kept for reuse by their thread. */
+    private static final int kMaxCachedLatticeLength = 4096;
+
+    private static final ThreadLocal<Lattice> fLattice = new ThreadLocal<Lattice>() {
+        @Override
+        protected Lattice initialValue() {
+            return new Lattice();
+        }
+    };
+
+    private static final int maxWordSize = 20;
+
     @Override
     public int divideUpDictionaryRange(CharacterIterator inText, int startPos, int endPos,
             DequeI foundBreaks) {
@@ -87,35 +126,37 @@ public int divideUpDictionaryRange(CharacterIterator inText, int startPos, int e
             return 0;
         }
 
-        inText.setIndex(startPos);
-
         int inputLength = endPos - startPos;
-        int[] charPositions = new int[inputLength + 1];
-        StringBuffer s = new StringBuffer("");
-        inText.setIndex(startPos);
-        while (inText.getIndex() < endPos) {
-            s.append(inText.current());
-            inText.next();
+        Lattice lattice = inputLength <= kMaxCachedLatticeLength ? fLattice.get() : new Lattice();
+        StringBuilder s = lattice.text;
+        s.setLength(0);
+        for (char c = inText.setIndex(startPos); inText.getIndex() < endPos; c = inText.next()) {
+            s.append(c);
         }
-        String prenormstr = s.toString();
-        boolean isNormalized = Normalizer.quickCheck(prenormstr, Normalizer.NFKC) == Normalizer.YES ||
-                               Normalizer.isNormalized(prenormstr, Normalizer.NFKC, 0);
-        CharacterIterator text;
+
+        // The algorithm reads the text directly, rather than through a CharacterIterator.
+        // Its indices refer to code points, and to code units within the normalized text.
+        CharSequence text;
         int numCodePts = 0;
-        if (isNormalized) {
-            text = new java.text.StringCharacterIterator(prenormstr);
+        int[] charPositions;
+        Normalizer2 nfkc = Normalizer2.getNFKCInstance();
+        if (nfkc.isNormalized(s)) {
+            text = s;
+            lattice.ensureCapacity(inputLength);
+            charPositions = lattice.charPositions;
             int index = 0;
             charPositions[0] = 0;
-            while (index < prenormstr.length()) {
-                int codepoint = prenormstr.codePointAt(index);
-                index += Character.charCount(codepoint);
+            while (index < inputLength) {
+                index += Character.charCount(Character.codePointAt(s, index));
                 numCodePts++;
                 charPositions[numCodePts] = index;
             }
         } else {
-            String normStr = Normalizer.normalize(prenormstr, Normalizer.NFKC);
-            text = new java.text.StringCharacterIterator(normStr);
-            charPositions = new int[normStr.length() + 1];
+            String prenormstr = s.toString();
+            String normStr = nfkc.normalize(prenormstr);
+            text = normStr;
+            lattice.ensureCapacity(Math.max(inputLength, normStr.length()));
+            charPositions = lattice.charPositions;
             Normalizer normalizer = new Normalizer(prenormstr, Normalizer.NFKC, 0);
             int index = 0;
             charPositions[0] = 0;
@@ -127,39 +168,34 @@ public int divideUpDictionaryRange(CharacterIterator inText, int startPos, int e
             }
         }
 
-        // From here on out, do the algorithm. Note that our indices
-        // refer to indices within the normalized string.
-        int[] bestSnlp = new int[numCodePts + 1];
+        int[] bestSnlp = lattice.bestSnlp;
         bestSnlp[0] = 0;
         for (int i = 1; i <= numCodePts; i++) {
             bestSnlp[i] = kint32max;
         }
 
-        int[] prev = new int[numCodePts + 1];
+        int[] prev = lattice.prev;
         for (int i = 0; i <= numCodePts; i++) {
             prev[i] = -1;
         }
 
-        final int maxWordSize = 20;
-        int values[] = new int[numCodePts];
-        int lengths[] = new int[numCodePts];
+        int values[] = lattice.values;
+        int lengths[] = lattice.lengths;
+        int[] count_ = lattice.count;
         // dynamic programming to find the best segmentation
 
         // In outer loop, i  is the code point index,
         //                ix is the corresponding code unit index.
         //    They differ when the string contains supplementary characters.
-        int ix = 0;
-        text.setIndex(ix);
         boolean is_prev_katakana = false;
-        for (int i = 0; i < numCodePts; i++, text.setIndex(ix), next32(text)) {
-            ix = text.getIndex();
+        for (int i = 0, ix = 0, c; i < numCodePts; i++, ix += Character.charCount(c)) {
+            c = Character.codePointAt(text, ix);
             if (bestSnlp[i] == kint32max) {
                 continue;
             }
 
             int maxSearchLength = (i + maxWordSize < numCodePts) ? maxWordSize : (numCodePts - i);
-            int[] count_ = new int[1];
-            fDictionary.matches(text, maxSearchLength, lengths, count_, maxSearchLength, values);
+            fDictionary.matches(text, ix, maxSearchLength, lengths, count_, maxSearchLength, values);
             int count = count_[0];
 
             // if there are no single character matches found in the dictionary
@@ -167,8 +203,7 @@ public int divideUpDictionaryRange(CharacterIterator inText, int startPos, int e
             // with the highest value possible (i.e. the least likely to occur).
             // Exclude Korean characters from this treatment, as they should be
             // left together by default.
-            text.setIndex(ix);  // fDictionary.matches() advances the text position; undo that.
-            if ((count == 0 || lengths[0] != 1) && current32(text) != DONE32 && !fHangulWordSet.contains(current32(text))) {
+            if ((count == 0 || lengths[0] != 1) && !fHangulWordSet.contains(c)) {
                 values[count] = maxSnlp;
                 lengths[count] = 1;
                 count++;
@@ -187,12 +222,16 @@ public int divideUpDictionaryRange(CharacterIterator inText, int startPos, int e
             // run of Katakana characters is considered a candidate word with
             // a default cost specified in the katakanaCost table according
             // to its length.
-            boolean is_katakana = isKatakana(current32(text));
+            boolean is_katakana = isKatakana(c);
             if (!is_prev_katakana && is_katakana) {
                 int j = i + 1;
-                next32(text);
-                while (j < numCodePts && (j - i) < kMaxKatakanaGroupLength && isKatakana(current32(text))) {
-                    next32(text);
+                int jx = ix + Character.charCount(c);
+                while (j < numCodePts && (j - i) < kMaxKatakanaGroupLength) {
+                    int cj = Character.codePointAt(text, jx);
+                    if (!isKatakana(cj)) {
+                        break;
+                    }
+                    jx += Character.charCount(cj);
                     ++j;
                 }
 
@@ -207,7 +246,7 @@ public int divideUpDictionaryRange(CharacterIterator inText, int startPos, int e
             is_prev_katakana = is_katakana;
         }
 
-        int t_boundary[] = new int[numCodePts + 1];
+        int t_boundary[] = lattice.boundaries;
         int numBreaks = 0;
         if (bestSnlp[numCodePts] == kint32max) {
             t_boundary[numBreaks] = numCodePts;
@@ -12,6 +12,7 @@
 import java.text.FieldPosition;
 import java.text.ParsePosition;
 
+import com.ibm.icu.impl.DontCareFieldPosition;
 import com.ibm.icu.impl.FormattedStringBuilder;
 import com.ibm.icu.impl.FormattedValueStringBuilderImpl;
 import com.ibm.icu.impl.Utility;
@@ -36,6 +37,7 @@
 import com.ibm.icu.util.Currency;
 import com.ibm.icu.util.Currency.CurrencyUsage;
 import com.ibm.icu.util.CurrencyAmount;
+import com.ibm.icu.util.Freezable;
 import com.ibm.icu.util.ULocale;
 import com.ibm.icu.util.ULocale.Category;
 
@@ -243,11 +245,15 @@
  * any of the property setters are called. It is therefore best practice to call property setters
  * only during construction and not when formatting numbers online.
  *
+ * <p>An instance that is shared between many threads should be {@link #freeze frozen}. Freezing
+ * builds the parsers eagerly, after which {@link #format} and {@link #parse} read only immutable
+ * state and never take the lock held by the property setters.
+ *
  * @see java.text.Format
  * @see NumberFormat
  * @stable ICU 2.0
  */
-public class DecimalFormat extends NumberFormat {
+public class DecimalFormat extends NumberFormat implements Freezable<DecimalFormat> {
 
   /** New serialization in ICU 59: declare different version from ICU 58. */
   private static final long serialVersionUID = 864413376551465018L;
@@ -296,6 +302,12 @@ public class DecimalFormat extends NumberFormat {
   transient volatile NumberParserImpl parser;
   transient volatile NumberParserImpl currencyParser;
 
+  /**
+   * Whether this instance has been frozen. Once set, the formatter and parser fields are never
+   * reassigned.
+   */
+  private transient volatile boolean frozen;
+
   //=====================================================================================//
   //                                    CONSTRUCTORS                                     //
   //=====================================================================================//
@@ -468,6 +480,7 @@ private static DecimalFormatSymbols getDefaultSymbols() {
    * @stable ICU 2.0
    */
   public synchronized void applyPattern(String pattern) {
+    checkFrozen();
     setPropertiesFromPattern(pattern, PatternStringParser.IGNORE_ROUNDING_NEVER);
     // Backwards compatibility: clear out user-specified prefix and suffix,
     // as well as CurrencyPluralInfo.
@@ -492,6 +505,7 @@ public synchronized void applyPattern(String pattern) {
    * @stable ICU 2.0
    */
   public synchronized void applyLocalizedPattern(String localizedPattern) {
+    checkFrozen();
     String pattern = PatternStringUtils.convertLocalized(localizedPattern, symbols, false);
     applyPattern(pattern);
   }
@@ -500,10 +514,18 @@ public synchronized void applyLocalizedPattern(String localizedPattern) {
   //                                CLONE AND SERIALIZE                                  //
   //=====================================================================================//
 
-  /** @stable ICU 2.0 */
+  /**
+   * {@inheritDoc}
+   *
+   * <p>The clone of a frozen DecimalFormat is not frozen, so that existing callers can continue
+   * to customize the copy.
+   *
+   * @stable ICU 2.0
+   */
   @Override
   public Object clone() {
     DecimalFormat other = (DecimalFormat) super.clone();
+    other.frozen = false;
     other.symbols = (DecimalFormatSymbols) symbols.clone();
     other.properties = properties.clone();
     other.exportedProperties = new DecimalFormatProperties();
@@ -511,6 +533,54 @@ public Object clone() {
     return other;
   }
 
+  /**
+   * {@inheritDoc}
+   *
+   * @draft ICU 67
+   * @provisional This API might change or be removed in a future release.
+   */
+  @Override
+  public boolean isFrozen() {
+    return frozen;
+  }
+
+  /**
+   * Freezes this DecimalFormat. Afterwards all setters throw an UnsupportedOperationException, and
+   * the format and parse methods may be called concurrently from any number of threads without
+   * synchronization.
+   *
+   * @return this object.
+   * @draft ICU 67
+   * @provisional This API might change or be removed in a future release.
+   */
+  @Override
+  public synchronized DecimalFormat freeze() {
+    if (!frozen) {
+      // Build the lazily-initialized parsers now so that they are never written again.
+      getParser();
+      getCurrencyParser();
+      frozen = true;
+    }
+    return this;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @draft ICU 67
+   * @provisional This API might change or be removed in a future release.
+   */
+  @Override
+  public DecimalFormat cloneAsThawed() {
+    return (DecimalFormat) clone();
+  }
+
+  private void checkFrozen() {
+    if (frozen) {
+      throw new UnsupportedOperationException("Attempt to modify frozen object");
+    }
+  }
+
   /**
    * Custom serialization: save property bag and symbols; the formatter object can be re-created
    * from just that amount of information.
@@ -714,7 +784,7 @@ private void readObject(ObjectInputStream ois) throws IOException, ClassNotFound
   @Override
   public StringBuffer format(double number, StringBuffer result, FieldPosition fieldPosition) {
     DecimalQuantity dq = new DecimalQuantity_DualStorageBCD(number);
-    FormattedStringBuilder string = new FormattedStringBuilder();
+    FormattedStringBuilder string = newFormattedStringBuilder(fieldPosition);
     formatter.formatImpl(dq, string);
     fieldPositionHelper(dq, string, fieldPosition, result.length());
     Utility.appendTo(string, result);
@@ -729,7 +799,7 @@ public StringBuffer format(double number, StringBuffer result, FieldPosition fie
   @Override
   public StringBuffer format(long number, StringBuffer result, FieldPosition fieldPosition) {
     DecimalQuantity dq = new DecimalQuantity_DualStorageBCD(number);
-    FormattedStringBuilder string = new FormattedStringBuilder();
+    FormattedStringBuilder string = newFormattedStringBuilder(fieldPosition);
     formatter.formatImpl(dq, string);
     fieldPositionHelper(dq, string, fieldPosition, result.length());
     Utility.appendTo(string, result);
@@ -744,7 +814,7 @@ public StringBuffer format(long number, StringBuffer result, FieldPosition field
   @Override
   public StringBuffer format(BigInteger number, StringBuffer result, FieldPosition fieldPosition) {
     DecimalQuantity dq = new DecimalQuantity_DualStorageBCD(number);
-    FormattedStringBuilder string = new FormattedStringBuilder();
+    FormattedStringBuilder string = newFormattedStringBuilder(fieldPosition);
     formatter.formatImpl(dq, string);
     fieldPositionHelper(dq, string, fieldPosition, result.length());
     Utility.appendTo(string, result);
@@ -760,7 +830,7 @@ public StringBuffer format(BigInteger number, StringBuffer result, FieldPosition
   public StringBuffer format(
       java.math.BigDecimal number, StringBuffer result, FieldPosition fieldPosition) {
     DecimalQuantity dq = new DecimalQuantity_DualStorageBCD(number);
-    FormattedStringBuilder string = new FormattedStringBuilder();
+    FormattedStringBuilder string = newFormattedStringBuilder(fieldPosition);
     formatter.formatImpl(dq, string);
     fieldPositionHelper(dq, string, fieldPosition, result.length());
     Utility.appendTo(string, result);
@@ -775,7 +845,7 @@ public StringBuffer format(
   @Override
   public StringBuffer format(BigDecimal number, StringBuffer result, FieldPosition fieldPosition) {
     DecimalQuantity dq = new DecimalQuantity_DualStorageBCD(number);
-    FormattedStringBuilder string = new FormattedStringBuilder();
+    FormattedStringBuilder string = newFormattedStringBuilder(fieldPosition);
     formatter.formatImpl(dq, string);
     fieldPositionHelper(dq, string, fieldPosition, result.length());
     Utility.appendTo(string, result);
@@ -809,7 +879,7 @@ public StringBuffer format(CurrencyAmount currAmt, StringBuffer result, FieldPos
     localSymbols.setCurrency(currAmt.getCurrency());
 
     DecimalQuantity dq = new DecimalQuantity_DualStorageBCD(currAmt.getNumber());
-    FormattedStringBuilder string = new FormattedStringBuilder();
+    FormattedStringBuilder string = newFormattedStringBuilder(fieldPosition);
     formatter.symbols(localSymbols)
             .unit(currAmt.getCurrency())
             .formatImpl(dq, string);
@@ -925,6 +995,7 @@ public synchronized DecimalFormatSymbols getDecimalFormatSymbols() {
    * @stable ICU 2.0
    */
   public synchronized void setDecimalFormatSymbols(DecimalFormatSymbols newSymbols) {
+    checkFrozen();
     symbols = (DecimalFormatSymbols) newSymbols.clone();
     refreshFormatter();
   }
@@ -959,6 +1030,7 @@ public synchronized String getPositivePrefix() {
    * @stable ICU 2.0
    */
   public synchronized void setPositivePrefix(String prefix) {
+    checkFrozen();
     if (prefix == null) {
       throw new NullPointerException();
     }
@@ -996,6 +1068,7 @@ public synchronized String getNegativePrefix() {
    * @stable ICU 2.0
    */
   public synchronized void setNegativePrefix(String prefix) {
+    checkFrozen();
     if (prefix == null) {
       throw new NullPointerException();
     }
@@ -1033,6 +1106,7 @@ public synchronized String getPositiveSuffix() {
    * @stable ICU 2.0
    */
   public synchronized void setPositiveSuffix(String suffix) {
+    checkFrozen();
     if (suffix == null) {
       throw new NullPointerException();
     }
@@ -1070,6 +1144,7 @@ public synchronized String getNegativeSuffix() {
    * @stable ICU 2.0
    */
   public synchronized void setNegativeSuffix(String suffix) {
+    checkFrozen();
     if (suffix == null) {
       throw new NullPointerException();
     }
@@ -1117,6 +1192,7 @@ public synchronized boolean isSignAlwaysShown() {
    * @provisional This API might change or be removed in a future release.
    */
   public synchronized void setSignAlwaysShown(boolean value) {
+    checkFrozen();
     properties.setSignAlwaysShown(value);
     refreshFormatter();
   }
@@ -1153,6 +1229,7 @@ public synchronized int getMultiplier() {
    * @stable ICU 2.0
    */
   public synchronized void setMultiplier(int multiplier) {
+    checkFrozen();
     if (multiplier == 0) {
       throw new IllegalArgumentException("Multiplier must be nonzero.");
     }
@@ -1212,6 +1289,7 @@ public synchronized java.math.BigDecimal getRoundingIncrement() {
    * @stable ICU 2.0
    */
   public synchronized void setRoundingIncrement(java.math.BigDecimal increment) {
+    checkFrozen();
     // Backwards compatibility: ignore rounding increment if zero,
     // and instead set maximum fraction digits.
     if (increment != null && increment.compareTo(java.math.BigDecimal.ZERO) == 0) {
@@ -1233,6 +1311,7 @@ public synchronized void setRoundingIncrement(java.math.BigDecimal increment) {
    * @stable ICU 3.6
    */
   public synchronized void setRoundingIncrement(BigDecimal increment) {
+    checkFrozen();
     java.math.BigDecimal javaBigDecimal = (increment == null) ? null : increment.toBigDecimal();
     setRoundingIncrement(javaBigDecimal);
   }
@@ -1247,6 +1326,7 @@ public synchronized void setRoundingIncrement(BigDecimal increment) {
    * @stable ICU 2.0
    */
   public synchronized void setRoundingIncrement(double increment) {
+    checkFrozen();
     if (increment == 0) {
       setRoundingIncrement((java.math.BigDecimal) null);
     } else {
@@ -1292,6 +1372,7 @@ public synchronized int getRoundingMode() {
    */
   @Override
   public synchronized void setRoundingMode(int roundingMode) {
+    checkFrozen();
     properties.setRoundingMode(RoundingMode.valueOf(roundingMode));
     refreshFormatter();
   }
@@ -1329,6 +1410,7 @@ public synchronized java.math.MathContext getMathContext() {
    * @stable ICU 4.2
    */
   public synchronized void setMathContext(java.math.MathContext mathContext) {
+    checkFrozen();
     properties.setMathContext(mathContext);
     refreshFormatter();
   }
@@ -1365,6 +1447,7 @@ public synchronized MathContext getMathContextICU() {
    * @stable ICU 4.2
    */
   public synchronized void setMathContextICU(MathContext mathContextICU) {
+    checkFrozen();
     icuMathContextForm = mathContextICU.getForm();
     java.math.MathContext mathContext;
     if (mathContextICU.getLostDigits()) {
@@ -1414,6 +1497,7 @@ public synchronized int getMinimumIntegerDigits() {
    */
   @Override
   public synchronized void setMinimumIntegerDigits(int value) {
+    checkFrozen();
     // For backwards compatibility, conflicting min/max need to keep the most recent setting.
     int max = properties.getMaximumIntegerDigits();
     if (max >= 0 && max < value) {
@@ -1456,6 +1540,7 @@ public synchronized int getMaximumIntegerDigits() {
    */
   @Override
   public synchronized void setMaximumIntegerDigits(int value) {
+    checkFrozen();
     int min = properties.getMinimumIntegerDigits();
     if (min >= 0 && min > value) {
       properties.setMinimumIntegerDigits(value);
@@ -1504,6 +1589,7 @@ public synchronized int getMinimumFractionDigits() {
    */
   @Override
   public synchronized void setMinimumFractionDigits(int value) {
+    checkFrozen();
     int max = properties.getMaximumFractionDigits();
     if (max >= 0 && max < value) {
       properties.setMaximumFractionDigits(value);
@@ -1548,6 +1634,7 @@ public synchronized int getMaximumFractionDigits() {
    */
   @Override
   public synchronized void setMaximumFractionDigits(int value) {
+    checkFrozen();
     int min = properties.getMinimumFractionDigits();
     if (min >= 0 && min > value) {
       properties.setMinimumFractionDigits(value);
@@ -1584,6 +1671,7 @@ public synchronized boolean areSignificantDigitsUsed() {
    * @stable ICU 3.0
    */
   public synchronized void setSignificantDigitsUsed(boolean useSignificantDigits) {
+    checkFrozen();
     int oldMinSig = properties.getMinimumSignificantDigits();
     int oldMaxSig = properties.getMaximumSignificantDigits();
     // These are the default values from the old implementation.
@@ -1631,6 +1719,7 @@ public synchronized int getMinimumSignificantDigits() {
    * @stable ICU 3.0
    */
   public synchronized void setMinimumSignificantDigits(int value) {
+    checkFrozen();
     int max = properties.getMaximumSignificantDigits();
     if (max >= 0 && max < value) {
       properties.setMaximumSignificantDigits(value);
@@ -1673,6 +1762,7 @@ public synchronized int getMaximumSignificantDigits() {
    * @stable ICU 3.0
    */
   public synchronized void setMaximumSignificantDigits(int value) {
+    checkFrozen();
     int min = properties.getMinimumSignificantDigits();
     if (min >= 0 && min > value) {
       properties.setMinimumSignificantDigits(value);
@@ -1713,6 +1803,7 @@ public synchronized int getFormatWidth() {
    * @stable ICU 2.0
    */
   public synchronized void setFormatWidth(int width) {
+    checkFrozen();
     properties.setFormatWidth(width);
     refreshFormatter();
   }
@@ -1746,6 +1837,7 @@ public synchronized char getPadCharacter() {
    * @stable ICU 2.0
    */
   public synchronized void setPadCharacter(char padChar) {
+    checkFrozen();
     properties.setPadString(Character.toString(padChar));
     refreshFormatter();
   }
@@ -1780,6 +1872,7 @@ public synchronized int getPadPosition() {
    * @stable ICU 2.0
    */
   public synchronized void setPadPosition(int padPos) {
+    checkFrozen();
     properties.setPadPosition(PadPosition.fromOld(padPos));
     refreshFormatter();
   }
@@ -1810,6 +1903,7 @@ public synchronized boolean isScientificNotation() {
    * @stable ICU 2.0
    */
   public synchronized void setScientificNotation(boolean useScientific) {
+    checkFrozen();
     if (useScientific) {
       properties.setMinimumExponentDigits(1);
     } else {
@@ -1842,6 +1936,7 @@ public synchronized byte getMinimumExponentDigits() {
    * @stable ICU 2.0
    */
   public synchronized void setMinimumExponentDigits(byte minExpDig) {
+    checkFrozen();
     properties.setMinimumExponentDigits(minExpDig);
     refreshFormatter();
   }
@@ -1871,6 +1966,7 @@ public synchronized boolean isExponentSignAlwaysShown() {
    * @stable ICU 2.0
    */
   public synchronized void setExponentSignAlwaysShown(boolean expSignAlways) {
+    checkFrozen();
     properties.setExponentSignAlwaysShown(expSignAlways);
     refreshFormatter();
   }
@@ -1903,6 +1999,7 @@ public synchronized boolean isGroupingUsed() {
    */
   @Override
   public synchronized void setGroupingUsed(boolean enabled) {
+    checkFrozen();
     properties.setGroupingUsed(enabled);
     refreshFormatter();
   }
@@ -1938,6 +2035,7 @@ public synchronized int getGroupingSize() {
    * @stable ICU 2.0
    */
   public synchronized void setGroupingSize(int width) {
+    checkFrozen();
     properties.setGroupingSize(width);
     refreshFormatter();
   }
@@ -1974,6 +2072,7 @@ public synchronized int getSecondaryGroupingSize() {
    * @stable ICU 2.0
    */
   public synchronized void setSecondaryGroupingSize(int width) {
+    checkFrozen();
     properties.setSecondaryGroupingSize(width);
     refreshFormatter();
   }
@@ -2004,6 +2103,7 @@ public synchronized int getMinimumGroupingDigits() {
    * @provisional This API might change or be removed in a future release.
    */
   public synchronized void setMinimumGroupingDigits(int number) {
+    checkFrozen();
     properties.setMinimumGroupingDigits(number);
     refreshFormatter();
   }
@@ -2032,6 +2132,7 @@ public synchronized boolean isDecimalSeparatorAlwaysShown() {
    * @stable ICU 2.0
    */
   public synchronized void setDecimalSeparatorAlwaysShown(boolean value) {
+    checkFrozen();
     properties.setDecimalSeparatorAlwaysShown(value);
     refreshFormatter();
   }
@@ -2067,6 +2168,7 @@ public synchronized Currency getCurrency() {
    */
   @Override
   public synchronized void setCurrency(Currency currency) {
+    checkFrozen();
     properties.setCurrency(currency);
     if (currency != null) {
       symbols.setCurrency(currency);
@@ -2114,6 +2216,7 @@ public synchronized CurrencyUsage getCurrencyUsage() {
    * @stable ICU 54
    */
   public synchronized void setCurrencyUsage(CurrencyUsage usage) {
+    checkFrozen();
     properties.setCurrencyUsage(usage);
     refreshFormatter();
   }
@@ -2142,6 +2245,7 @@ public synchronized CurrencyPluralInfo getCurrencyPluralInfo() {
    * @stable ICU 4.2
    */
   public synchronized void setCurrencyPluralInfo(CurrencyPluralInfo newInfo) {
+    checkFrozen();
     properties.setCurrencyPluralInfo(newInfo);
     refreshFormatter();
   }
@@ -2168,6 +2272,7 @@ public synchronized boolean isParseBigDecimal() {
    * @stable ICU 3.6
    */
   public synchronized void setParseBigDecimal(boolean value) {
+    checkFrozen();
     properties.setParseToBigDecimal(value);
     refreshFormatter();
   }
@@ -2211,6 +2316,7 @@ public synchronized boolean isParseStrict() {
    */
   @Override
   public synchronized void setParseStrict(boolean parseStrict) {
+    checkFrozen();
     ParseMode mode = parseStrict ? ParseMode.STRICT : ParseMode.LENIENT;
     properties.setParseMode(mode);
     refreshFormatter();
@@ -2223,10 +2329,22 @@ public synchronized void setParseStrict(boolean parseStrict) {
    */
   @Deprecated
 public synchronized void setParseStrictMode(ParseMode parseMode) {
+    checkFrozen();
     properties.setParseMode(parseMode);
     refreshFormatter();
   }
 
+  /**
+   * {@inheritDoc}
+   *
+   * @stable ICU 53
+   */
+  @Override
+  public synchronized void setContext(DisplayContext context) {
+    checkFrozen();
+    super.setContext(context);
+  }
+
   /**
    * {@inheritDoc}
    *
@@ -2252,6 +2370,7 @@ public synchronized boolean isParseIntegerOnly() {
    */
   @Override
   public synchronized void setParseIntegerOnly(boolean parseIntegerOnly) {
+    checkFrozen();
     properties.setParseIntegerOnly(parseIntegerOnly);
     refreshFormatter();
   }
@@ -2303,6 +2422,7 @@ public synchronized boolean isDecimalPatternMatchRequired() {
    * @stable ICU 54
    */
   public synchronized void setDecimalPatternMatchRequired(boolean value) {
+    checkFrozen();
     properties.setDecimalPatternMatchRequired(value);
     refreshFormatter();
   }
@@ -2330,6 +2450,7 @@ public synchronized boolean isParseNoExponent() {
    * @provisional This API might change or be removed in a future release.
    */
   public synchronized void setParseNoExponent(boolean value) {
+    checkFrozen();
     properties.setParseNoExponent(value);
     refreshFormatter();
   }
@@ -2358,6 +2479,7 @@ public synchronized boolean isParseCaseSensitive() {
    * @provisional This API might change or be removed in a future release.
    */
   public synchronized void setParseCaseSensitive(boolean value) {
+    checkFrozen();
     properties.setParseCaseSensitive(value);
     refreshFormatter();
   }
@@ -2602,8 +2724,22 @@ void setPropertiesFromPattern(String pattern, int ignoreRounding) {
     PatternStringParser.parseToExistingProperties(pattern, properties, ignoreRounding);
   }
 
+  /**
+   * Returns a FormattedStringBuilder that keeps track of fields only if the caller wants to know a
+   * field position.
+   */
+  static FormattedStringBuilder newFormattedStringBuilder(FieldPosition fieldPosition) {
+      if (fieldPosition == DontCareFieldPosition.INSTANCE) {
+          return new FormattedStringBuilder(40, false);
+      }
+      return new FormattedStringBuilder();
+  }
+
   static void fieldPositionHelper(
           DecimalQuantity dq, FormattedStringBuilder string, FieldPosition fieldPosition, int offset) {
+      if (fieldPosition == DontCareFieldPosition.INSTANCE) {
+          return;
+      }
       // always return first occurrence:
       fieldPosition.setBeginIndex(0);
       fieldPosition.setEndIndex(0);
@@ -2621,6 +2757,7 @@ static void fieldPositionHelper(
    */
   @Deprecated
   public synchronized void setProperties(PropertySetter func) {
+    checkFrozen();
     func.set(properties);
     refreshFormatter();
   }
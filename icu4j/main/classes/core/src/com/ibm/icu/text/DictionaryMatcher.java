@@ -35,6 +35,22 @@ public int matches(CharacterIterator text, int maxLength, int[] lengths,
         return matches(text, maxLength, lengths, count, limit, null);
     }
 
+    /**
+     * Find dictionary words that match the text, reading the text directly
+     * rather than through a CharacterIterator.
+     *
+     * @param text The text.
+     * @param start The index in text at which to start matching; start &lt; text.length().
+     * @param maxLength The maximum number of code points to match.
+     * @param lengths An array that is filled with the lengths, in code points, of words that matched.
+     * @param count Filled with the number of elements output in lengths.
+     * @param limit The maximum amount of words to output. Must be less than or equal to lengths.length.
+     * @param values Filled with the weight values associated with the various words, unless null.
+     * @return The number of code points in text that were matched.
+     */
+    public abstract int matches(CharSequence text, int start, int maxLength, int[] lengths,
+            int[] count, int limit, int[] values);
+
     /**
      * @return the kind of dictionary that this matcher is using
      */
@@ -12,6 +12,7 @@
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
 
 import com.ibm.icu.impl.ICUBinary;
 import com.ibm.icu.impl.Norm2AllModes;
@@ -211,22 +212,21 @@ public static Normalizer2 getInstance(InputStream data, String name, Mode mode)
 
     /**
      * Returns the normalized form of the source string.
+     * If src is a String which is already normalized, then src itself is returned.
      * @param src source string
      * @return normalized src
      * @stable ICU 4.4
      */
     public String normalize(CharSequence src) {
-        if(src instanceof String) {
-            // Fastpath: Do not construct a new String if the src is a String
-            // and is already normalized.
-            int spanLength=spanQuickCheckYes(src);
-            if(spanLength==src.length()) {
-                return (String)src;
-            }
-            if (spanLength != 0) {
-                StringBuilder sb=new StringBuilder(src.length()).append(src, 0, spanLength);
-                return normalizeSecondAndAppend(sb, src.subSequence(spanLength, src.length())).toString();
-            }
+        // Fastpath: Do not normalize an already-normalized prefix,
+        // and do not construct a new String if the src is a String and is already normalized.
+        int spanLength=spanQuickCheckYes(src);
+        if(spanLength==src.length()) {
+            return src.toString();
+        }
+        if (spanLength != 0) {
+            StringBuilder sb=new StringBuilder(src.length()).append(src, 0, spanLength);
+            return normalizeSecondAndAppend(sb, src.subSequence(spanLength, src.length())).toString();
         }
         return normalize(src, new StringBuilder(src.length())).toString();
     }
@@ -256,6 +256,39 @@ public String normalize(CharSequence src) {
      */
     public abstract Appendable normalize(CharSequence src, Appendable dest);
 
+    /**
+     * Writes the normalized form of the source characters src[srcStart..srcLimit[
+     * to dest starting at destStart, and returns the length of the normalized form.
+     * If it does not fit into dest, then only as much as fits is written,
+     * and the returned length is greater than dest.length-destStart.
+     * The caller can then call this method again with a large enough destination array.
+     * The source and destination arrays must be different objects.
+     *
+     * <p>Runs of characters which normalization does not change, such as ASCII text for the
+     * standard normalization forms, are copied in bulk, without per-character data lookups.
+     * This makes normalizing mostly-ASCII text not much slower than copying it.
+     *
+     * @param src source characters
+     * @param srcStart start index of the source characters
+     * @param srcLimit limit index of the source characters
+     * @param dest destination array
+     * @param destStart index in dest where the normalized form is written
+     * @return the length of the normalized form
+     * @throws IllegalArgumentException if src and dest are the same array
+     * @throws IndexOutOfBoundsException if the source range or destStart are out of bounds
+     * @draft ICU 67
+     * @provisional This API might change or be removed in a future release.
+     */
+    public int normalize(char[] src, int srcStart, int srcLimit, char[] dest, int destStart) {
+        Norm2AllModes.checkCharsArguments(src, srcStart, srcLimit, dest, destStart);
+        StringBuilder result=normalize(CharBuffer.wrap(src, srcStart, srcLimit-srcStart),
+                                       new StringBuilder(srcLimit-srcStart));
+        int length=result.length();
+        int available=dest.length-destStart;
+        result.getChars(0, Math.min(length, available), dest, destStart);
+        return length;
+    }
+
     /**
      * Appends the normalized form of the second string to the first string
      * (merging them at the boundary) and returns the first string.
@@ -0,0 +1,154 @@
+// © 2019 and later: Unicode, Inc. and others.
+// License & terms of use: http://www.unicode.org/copyright.html#License
+package com.ibm.icu.text;
+
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Pending-text window shared by {@link NormalizingReader} and {@link NormalizingWriter}.
+ * Source text is appended at the end; the text up to the last normalization boundary
+ * is normalized into the output array and removed,
+ * so that only the segment after that boundary is carried over to the next chunk.
+ */
+final class NormalizingBuffer {
+    static final int DEFAULT_WINDOW_SIZE = 8192;
+
+    private final Normalizer2 norm2;
+    private final int windowSize;
+
+    // Unnormalized text.
+    private char[] text;
+    private int length;
+    // There are no usable boundaries before indexes 1..checked-1 of the text.
+    private int checked;
+
+    // Normalized text.
+    private char[] out;
+    private int outStart, outLimit;
+
+    NormalizingBuffer(Normalizer2 norm2, int windowSize) {
+        if(norm2 == null) {
+            throw new NullPointerException();
+        }
+        if(windowSize <= 0) {
+            throw new IllegalArgumentException("windowSize must be positive: " + windowSize);
+        }
+        this.norm2 = norm2;
+        this.windowSize = windowSize;
+        text = new char[windowSize];
+        out = new char[windowSize];
+    }
+
+    int getWindowSize() { return windowSize; }
+    /** @return the number of unnormalized chars */
+    int pendingLength() { return length; }
+
+    char[] getOutput() { return out; }
+    int getOutputStart() { return outStart; }
+    int getOutputLimit() { return outLimit; }
+    int outputLength() { return outLimit - outStart; }
+    void consumeOutput(int n) { outStart += n; }
+
+    void append(char[] s, int start, int limit) {
+        int n = limit - start;
+        ensureCapacity(length + n);
+        System.arraycopy(s, start, text, length, n);
+        length += n;
+    }
+
+    void append(char c) {
+        ensureCapacity(length + 1);
+        text[length++] = c;
+    }
+
+    /**
+     * Reads at most one window's worth of text from the reader.
+     * @return the number of chars read, or -1 at the end of the input
+     */
+    int readFrom(Reader in) throws IOException {
+        // Make room for a full window. The pending segment normally fits into the window,
+        // so this only grows the array if a segment is longer than that.
+        ensureCapacity(length + windowSize);
+        int n = in.read(text, length, windowSize);
+        if(n > 0) {
+            length += n;
+        }
+        return n;
+    }
+
+    /**
+     * Normalizes the text up to the last normalization boundary.
+     * The output must have been consumed.
+     * @return true if some text was normalized
+     */
+    boolean normalizeToBoundary() {
+        int boundary = findLastBoundary();
+        if(boundary == 0) {
+            return false;
+        }
+        normalize(boundary);
+        return true;
+    }
+
+    /**
+     * Normalizes all of the pending text, at the end of the input.
+     * The output must have been consumed.
+     * @return true if there was some text
+     */
+    boolean normalizeAll() {
+        if(length == 0) {
+            return false;
+        }
+        normalize(length);
+        return true;
+    }
+
+    private void normalize(int limit) {
+        int n;
+        while((n = norm2.normalize(text, 0, limit, out, 0)) > out.length) {
+            out = new char[Math.max(n, 2 * out.length)];
+        }
+        outStart = 0;
+        outLimit = n;
+        length -= limit;
+        System.arraycopy(text, limit, text, 0, length);
+        // findLastBoundary() looked at all of the remaining text except its first code unit
+        // and possibly a trailing lead surrogate.
+        checked = Math.max(1, length - 1);
+    }
+
+    /**
+     * Returns the index of the last code point in the text which has a normalization boundary
+     * before it, other than at index 0, or 0 if there is none.
+     * Since more text may follow, a lead surrogate at the end is not tested.
+     */
+    private int findLastBoundary() {
+        int start = Math.max(1, checked);
+        for(int i = length; i > start;) {
+            char c = text[--i];
+            int cp = c;
+            if(Character.isLowSurrogate(c) && i > 0 && Character.isHighSurrogate(text[i - 1])) {
+                cp = Character.toCodePoint(text[--i], c);
+                if(i == 0) {
+                    break;
+                }
+            } else if(Character.isHighSurrogate(c) && i + 1 == length) {
+                continue;
+            }
+            if(norm2.hasBoundaryBefore(cp)) {
+                return i;
+            }
+        }
+        checked = Math.max(1, length - 1);
+        return 0;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if(capacity > text.length) {
+            char[] newText = new char[Math.max(capacity, 2 * text.length)];
+            System.arraycopy(text, 0, newText, 0, length);
+            text = newText;
+        }
+    }
+}
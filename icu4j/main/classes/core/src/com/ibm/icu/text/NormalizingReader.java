@@ -0,0 +1,163 @@
+// © 2019 and later: Unicode, Inc. and others.
+// License & terms of use: http://www.unicode.org/copyright.html#License
+package com.ibm.icu.text;
+
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * {@icu} A Reader which reads text from another Reader
+ * and returns it normalized with a {@link Normalizer2}.
+ *
+ * <p>Text is read in windows of fixed size. After each read, the text up to the last
+ * normalization boundary (see {@link Normalizer2#hasBoundaryBefore(int)}) is normalized and returned,
+ * and only the segment after that boundary is carried over to the next window.
+ * This normalizes arbitrarily long text with bounded memory,
+ * without splitting combining sequences or surrogate pairs across windows.
+ * (Only text without any normalization boundary for longer than the window,
+ * such as a very long sequence of combining marks, makes the window grow.)
+ *
+ * <p>This class is not thread-safe. It does not support mark() and reset().
+ *
+ * <p>Example:
+ * <pre>
+ * Reader in = new NormalizingReader(
+ *     new InputStreamReader(stream, "UTF-8"), Normalizer2.getNFCInstance());
+ * </pre>
+ *
+ * @see NormalizingWriter
+ * @draft ICU 67
+ * @provisional This API might change or be removed in a future release.
+ */
+public class NormalizingReader extends Reader {
+    private Reader in;
+    private final NormalizingBuffer buffer;
+    private boolean atEnd;
+
+    /**
+     * Constructs a NormalizingReader with a default window size.
+     *
+     * @param in the Reader from which the source text is read
+     * @param norm2 the Normalizer2 instance
+     * @draft ICU 67
+     * @provisional This API might change or be removed in a future release.
+     */
+    public NormalizingReader(Reader in, Normalizer2 norm2) {
+        this(in, norm2, NormalizingBuffer.DEFAULT_WINDOW_SIZE);
+    }
+
+    /**
+     * Constructs a NormalizingReader.
+     *
+     * @param in the Reader from which the source text is read
+     * @param norm2 the Normalizer2 instance
+     * @param windowSize the number of chars read from the source Reader at a time
+     * @throws IllegalArgumentException if windowSize is not positive
+     * @draft ICU 67
+     * @provisional This API might change or be removed in a future release.
+     */
+    public NormalizingReader(Reader in, Normalizer2 norm2, int windowSize) {
+        if(in == null) {
+            throw new NullPointerException();
+        }
+        this.in = in;
+        buffer = new NormalizingBuffer(norm2, windowSize);
+    }
+
+    /**
+     * {@inheritDoc}
+     * @draft ICU 67
+     * @provisional This API might change or be removed in a future release.
+     */
+    @Override
+    public int read() throws IOException {
+        ensureOpen();
+        if(buffer.outputLength() == 0 && !fill()) {
+            return -1;
+        }
+        char c = buffer.getOutput()[buffer.getOutputStart()];
+        buffer.consumeOutput(1);
+        return c;
+    }
+
+    /**
+     * {@inheritDoc}
+     * @draft ICU 67
+     * @provisional This API might change or be removed in a future release.
+     */
+    @Override
+    public int read(char[] cbuf, int off, int len) throws IOException {
+        ensureOpen();
+        if(off < 0 || len < 0 || len > cbuf.length - off) {
+            throw new IndexOutOfBoundsException();
+        }
+        if(len == 0) {
+            return 0;
+        }
+        if(buffer.outputLength() == 0 && !fill()) {
+            return -1;
+        }
+        int n = Math.min(len, buffer.outputLength());
+        System.arraycopy(buffer.getOutput(), buffer.getOutputStart(), cbuf, off, n);
+        buffer.consumeOutput(n);
+        return n;
+    }
+
+    /**
+     * Returns true if some normalized text is available without reading from the source.
+     * {@inheritDoc}
+     * @draft ICU 67
+     * @provisional This API might change or be removed in a future release.
+     */
+    @Override
+    public boolean ready() throws IOException {
+        ensureOpen();
+        return buffer.outputLength() > 0;
+    }
+
+    /**
+     * {@inheritDoc}
+     * @draft ICU 67
+     * @provisional This API might change or be removed in a future release.
+     */
+    @Override
+    public void close() throws IOException {
+        if(in != null) {
+            Reader r = in;
+            in = null;
+            r.close();
+        }
+    }
+
+    /**
+     * Reads and normalizes source text until some normalized text is available.
+     * @return false at the end of the text
+     */
+    private boolean fill() throws IOException {
+        // Normalization can remove text (e.g., NFKC_Casefold removes default ignorables),
+        // so continue until there is some output.
+        while(buffer.outputLength() == 0) {
+            if(atEnd) {
+                if(!buffer.normalizeAll()) {
+                    return false;
+                }
+            } else {
+                // Normalize after every read rather than waiting for a full window,
+                // so that a slow source does not block text which is already complete.
+                int n = buffer.readFrom(in);
+                if(n < 0) {
+                    atEnd = true;
+                } else if(n > 0) {
+                    buffer.normalizeToBoundary();
+                }
+            }
+        }
+        return true;
+    }
+
+    private void ensureOpen() throws IOException {
+        if(in == null) {
+            throw new IOException("Reader is closed");
+        }
+    }
+}
@@ -0,0 +1,173 @@
+// © 2019 and later: Unicode, Inc. and others.
+// License & terms of use: http://www.unicode.org/copyright.html#License
+package com.ibm.icu.text;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * {@icu} A Writer which normalizes the text written to it with a {@link Normalizer2}
+ * and writes the normalized text to another Writer.
+ *
+ * <p>Text is collected in a window of fixed size. When the window is full, the text up to
+ * the last normalization boundary (see {@link Normalizer2#hasBoundaryBefore(int)})
+ * is normalized and written out, and only the segment after that boundary is kept.
+ * This normalizes arbitrarily long text with bounded memory,
+ * without splitting combining sequences or surrogate pairs across chunks.
+ * (Only text without any normalization boundary for longer than the window,
+ * such as a very long sequence of combining marks, makes the window grow.)
+ *
+ * <p>Since normalizing the pending segment depends on the text that follows it,
+ * {@link #flush()} only flushes the text which has already been normalized.
+ * Call {@link #finish()} or {@link #close()} at the end of the text.
+ *
+ * <p>This class is not thread-safe.
+ *
+ * <p>Example:
+ * <pre>
+ * Writer out = new NormalizingWriter(
+ *     new OutputStreamWriter(stream, "UTF-8"), Normalizer2.getNFCInstance());
+ * </pre>
+ *
+ * @see NormalizingReader
+ * @draft ICU 67
+ * @provisional This API might change or be removed in a future release.
+ */
+public class NormalizingWriter extends Writer {
+    private Writer out;
+    private final NormalizingBuffer buffer;
+
+    /**
+     * Constructs a NormalizingWriter with a default window size.
+     *
+     * @param out the Writer to which the normalized text is written
+     * @param norm2 the Normalizer2 instance
+     * @draft ICU 67
+     * @provisional This API might change or be removed in a future release.
+     */
+    public NormalizingWriter(Writer out, Normalizer2 norm2) {
+        this(out, norm2, NormalizingBuffer.DEFAULT_WINDOW_SIZE);
+    }
+
+    /**
+     * Constructs a NormalizingWriter.
+     *
+     * @param out the Writer to which the normalized text is written
+     * @param norm2 the Normalizer2 instance
+     * @param windowSize the number of chars collected before normalizing
+     * @throws IllegalArgumentException if windowSize is not positive
+     * @draft ICU 67
+     * @provisional This API might change or be removed in a future release.
+     */
+    public NormalizingWriter(Writer out, Normalizer2 norm2, int windowSize) {
+        if(out == null) {
+            throw new NullPointerException();
+        }
+        this.out = out;
+        buffer = new NormalizingBuffer(norm2, windowSize);
+    }
+
+    /**
+     * {@inheritDoc}
+     * @draft ICU 67
+     * @provisional This API might change or be removed in a future release.
+     */
+    @Override
+    public void write(int c) throws IOException {
+        ensureOpen();
+        buffer.append((char)c);
+        normalizeIfFull();
+    }
+
+    /**
+     * {@inheritDoc}
+     * @draft ICU 67
+     * @provisional This API might change or be removed in a future release.
+     */
+    @Override
+    public void write(char[] cbuf, int off, int len) throws IOException {
+        ensureOpen();
+        if(off < 0 || len < 0 || len > cbuf.length - off) {
+            throw new IndexOutOfBoundsException();
+        }
+        int windowSize = buffer.getWindowSize();
+        int limit = off + len;
+        // Append at most one window at a time, so that long input does not grow the buffer.
+        while(off < limit) {
+            int room = windowSize - buffer.pendingLength();
+            int n = Math.min(limit - off, room > 0 ? room : windowSize);
+            buffer.append(cbuf, off, off + n);
+            off += n;
+            normalizeIfFull();
+        }
+    }
+
+    /**
+     * Normalizes all of the text written so far and writes it out,
+     * without closing the underlying Writer.
+     * Text written after this call is normalized independently of the earlier text.
+     *
+     * @throws IOException if the underlying Writer throws it
+     * @draft ICU 67
+     * @provisional This API might change or be removed in a future release.
+     */
+    public void finish() throws IOException {
+        ensureOpen();
+        if(buffer.normalizeAll()) {
+            writeOutput();
+        }
+    }
+
+    /**
+     * Flushes the text which has been normalized so far.
+     * The segment after the last normalization boundary is kept until more text
+     * is written or {@link #finish()} or {@link #close()} is called.
+     *
+     * @throws IOException if the underlying Writer throws it
+     * @draft ICU 67
+     * @provisional This API might change or be removed in a future release.
+     */
+    @Override
+    public void flush() throws IOException {
+        ensureOpen();
+        out.flush();
+    }
+
+    /**
+     * Normalizes and writes all remaining text, and closes the underlying Writer.
+     *
+     * @throws IOException if the underlying Writer throws it
+     * @draft ICU 67
+     * @provisional This API might change or be removed in a future release.
+     */
+    @Override
+    public void close() throws IOException {
+        if(out == null) {
+            return;
+        }
+        try {
+            finish();
+        } finally {
+            Writer w = out;
+            out = null;
+            w.close();
+        }
+    }
+
+    private void normalizeIfFull() throws IOException {
+        if(buffer.pendingLength() >= buffer.getWindowSize() && buffer.normalizeToBoundary()) {
+            writeOutput();
+        }
+    }
+
+    private void writeOutput() throws IOException {
+        out.write(buffer.getOutput(), buffer.getOutputStart(), buffer.outputLength());
+        buffer.consumeOutput(buffer.outputLength());
+    }
+
+    private void ensureOpen() throws IOException {
+        if(out == null) {
+            throw new IOException("Writer is closed");
+        }
+    }
+}
@@ -23,6 +23,7 @@
 import java.util.MissingResourceException;
 import java.util.Set;
 
+import com.ibm.icu.impl.DontCareFieldPosition;
 import com.ibm.icu.impl.ICUData;
 import com.ibm.icu.impl.ICUResourceBundle;
 import com.ibm.icu.number.NumberFormatter;
@@ -309,7 +310,7 @@ public final Object parseObject(String source,
      */
     public final String format(double number) {
         return format(number,new StringBuffer(),
-                      new FieldPosition(0)).toString();
+                      DontCareFieldPosition.INSTANCE).toString();
     }
 
     /**
@@ -319,8 +320,7 @@ public final String format(double number) {
      */
     public final String format(long number) {
         StringBuffer buf = new StringBuffer(19);
-        FieldPosition pos = new FieldPosition(0);
-        format(number, buf, pos);
+        format(number, buf, DontCareFieldPosition.INSTANCE);
         return buf.toString();
     }
 
@@ -330,7 +330,7 @@ public final String format(long number) {
      */
     public final String format(BigInteger number) {
         return format(number, new StringBuffer(),
-                      new FieldPosition(0)).toString();
+                      DontCareFieldPosition.INSTANCE).toString();
     }
 
     /**
@@ -339,7 +339,7 @@ public final String format(BigInteger number) {
      */
     public final String format(java.math.BigDecimal number) {
         return format(number, new StringBuffer(),
-                      new FieldPosition(0)).toString();
+                      DontCareFieldPosition.INSTANCE).toString();
     }
 
     /**
@@ -348,7 +348,7 @@ public final String format(java.math.BigDecimal number) {
      */
     public final String format(com.ibm.icu.math.BigDecimal number) {
         return format(number, new StringBuffer(),
-                      new FieldPosition(0)).toString();
+                      DontCareFieldPosition.INSTANCE).toString();
     }
 
     /**
@@ -357,7 +357,7 @@ public final String format(com.ibm.icu.math.BigDecimal number) {
      */
     public final String format(CurrencyAmount currAmt) {
         return format(currAmt, new StringBuffer(),
-                      new FieldPosition(0)).toString();
+                      DontCareFieldPosition.INSTANCE).toString();
     }
 
     /**
@@ -22,6 +22,7 @@
 import java.util.ArrayList;
 import java.util.List;
 
+import com.ibm.icu.impl.CSCharacterIterator;
 import com.ibm.icu.impl.CharacterIteration;
 import com.ibm.icu.impl.ICUBinary;
 import com.ibm.icu.impl.ICUDebug;
@@ -221,6 +222,13 @@ public int hashCode()
      */
     private CharacterIterator   fText = new java.text.StringCharacterIterator("");
 
+    /**
+     * The text being analyzed, if it was set as a String or CharSequence; null otherwise.
+     * When non-null, the state machine reads the text directly from it rather than
+     * going through fText, which is kept in sync for getText() and the dictionary engines.
+     */
+    private CharSequence        fDirectText;
+
     /**
      * The rule data for this BreakIterator instance.
      * Not intended for public use. Declared public for testing purposes only.
@@ -268,6 +276,17 @@ public int hashCode()
 
     private DictionaryCache     fDictionaryCache = new DictionaryCache();
 
+    /**
+     * Set by handleNext() if the state machine reached the end of the text,
+     * meaning that the boundary it found might change if the text were longer.
+     */
+    private boolean fReachedEnd;
+
+    /**
+     * True if more text may be appended to the text of this iterator, see setTextIncomplete().
+     */
+    private boolean fTextIncomplete;
+
     /**
      * ICU debug argument name for RBBI
      */
@@ -653,6 +672,51 @@ public CharacterIterator getText() {
      */
     @Override
     public void setText(CharacterIterator newText) {
+        setText(newText, null);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The break rules are applied directly to the String, which is faster than
+     * iterating over it with a CharacterIterator.
+     * In a subclass, this method calls {@link #setText(CharacterIterator)} as before,
+     * so that overrides of that method keep seeing all new text.
+     *
+     * @draft ICU 67
+     * @provisional This API might change or be removed in a future release.
+     */
+    @Override
+    public void setText(String newText) {
+        if (getClass() != RuleBasedBreakIterator.class) {
+            super.setText(newText);
+            return;
+        }
+        setText(new java.text.StringCharacterIterator(newText), newText);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The break rules are applied directly to the CharSequence, which is faster than
+     * iterating over it with a CharacterIterator.
+     * To analyze text in a char array, wrap it with {@link java.nio.CharBuffer#wrap(char[])}.
+     * In a subclass, this method calls {@link #setText(CharacterIterator)} as before,
+     * so that overrides of that method keep seeing all new text.
+     *
+     * @draft ICU 67
+     * @provisional This API might change or be removed in a future release.
+     */
+    @Override
+    public void setText(CharSequence newText) {
+        if (getClass() != RuleBasedBreakIterator.class) {
+            super.setText(newText);
+            return;
+        }
+        setText(new CSCharacterIterator(newText), newText);
+    }
+
+    private void setText(CharacterIterator newText, CharSequence directText) {
         if (newText != null) {
             fBreakCache.reset(newText.getBeginIndex(), 0);
         } else {
@@ -660,9 +724,221 @@ public void setText(CharacterIterator newText) {
         }
         fDictionaryCache.reset();
         fText = newText;
+        fDirectText = directText;
         this.first();
     }
 
+    /**
+     * Returns a segmenter which applies the same break rules as this iterator.
+     * Unlike a break iterator, the segmenter has no mutable state, and one instance
+     * can be shared by any number of threads.
+     *
+     * @return a segmenter for the rules of this iterator.
+     * @draft ICU 67
+     * @provisional This API might change or be removed in a future release.
+     */
+    public RuleBasedSegmenter getSegmenter() {
+        return new RuleBasedSegmenter(fRData);
+    }
+
+    /**
+     * Writes the boundaries b with start &lt; b &lt;= limit in the text of this iterator,
+     * and their rule status values, into the caller's arrays, in one call.
+     * This is faster than calling {@link #next()} and {@link #getRuleStatus()} for each boundary.
+     * <p>
+     * The boundaries are the same as those returned by {@link #following(int) following(start)}
+     * and successive calls of {@link #next()}, and the rule status values are those that
+     * {@link #getRuleStatus()} would return for them. The iteration position of this iterator
+     * is not changed. The start offset need not be a boundary; when writing the boundaries of
+     * a long text in windows, starting each window at the last boundary of the previous one
+     * is fastest.
+     *
+     * @param start The offset in the text after which to find boundaries.
+     * @param limit The offset in the text up to which to find boundaries.
+     * @param boundaries Receives the boundaries, starting at index 0.
+     * @param ruleStatus Receives the rule status value of each boundary at the same index,
+     *                   or null if the values are not needed.
+     * @return The number of boundaries written, which is at most the length of boundaries
+     *         (and of ruleStatus, if not null).
+     * @throws IllegalArgumentException unless the text begin index &lt;= start &lt;= limit
+     *         &lt;= the text end index.
+     * @draft ICU 67
+     * @provisional This API might change or be removed in a future release.
+     */
+    public int getBoundaries(int start, int limit, int[] boundaries, int[] ruleStatus) {
+        if (fText == null) {
+            return 0;
+        }
+        if (start > limit) {
+            throw new IllegalArgumentException("start > limit");
+        }
+        checkOffset(start, fText);
+        checkOffset(limit, fText);
+
+        // The uncached functions use the state machine's fields and the DictionaryCache,
+        // but not the BreakCache. Save and restore the iteration state that they modify,
+        // and give them their own DictionaryCache so that the one that the BreakCache
+        // refills from still describes the dictionary range around the current position.
+        int position = fPosition;
+        int ruleStatusIndex = fRuleStatusIndex;
+        boolean done = fDone;
+        DictionaryCache dictionaryCache = fDictionaryCache;
+        fDictionaryCache = new DictionaryCache();
+        try {
+            return getBoundariesUncached(start, limit, boundaries, ruleStatus);
+        } finally {
+            fPosition = position;
+            fRuleStatusIndex = ruleStatusIndex;
+            fDone = done;
+            fDictionaryCache = dictionaryCache;
+        }
+    }
+
+    /**
+     * Implements getBoundaries() using followingUncached() and nextUncached(),
+     * without changing the BreakCache.
+     */
+    int getBoundariesUncached(int start, int limit, int[] boundaries, int[] ruleStatus) {
+        int capacity = boundaries.length;
+        if (ruleStatus != null && ruleStatus.length < capacity) {
+            capacity = ruleStatus.length;
+        }
+        if (capacity == 0 || start == limit) {
+            return 0;
+        }
+        int count = 0;
+        for (int b = followingUncached(start); b != BreakIterator.DONE && b <= limit; b = nextUncached()) {
+            boundaries[count] = b;
+            if (ruleStatus != null) {
+                ruleStatus[count] = getRuleStatus();
+            }
+            if (++count == capacity) {
+                break;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Creates a break iterator for the internal use of a single segmentation call, for example
+     * by RuleBasedSegmenter. Only followingUncached() and nextUncached() may be used on it;
+     * its BreakCache is left empty.
+     */
+    static RuleBasedBreakIterator newUncachedInstance(RBBIDataWrapper data, CharSequence text) {
+        RuleBasedBreakIterator bi = new RuleBasedBreakIterator();
+        bi.fRData = data;
+        bi.fText = new CSCharacterIterator(text);
+        bi.fDirectText = text;
+        return bi;
+    }
+
+    /**
+     * Moves to the first boundary following offset without using the BreakCache.
+     * Afterwards, nextUncached() returns the boundaries after that one.
+     * The rule status index of the boundary is left in fRuleStatusIndex.
+     *
+     * @param offset the text position, 0 &lt;= offset &lt;= text length.
+     * @return the boundary following offset, or DONE if offset is at the end of the text.
+     */
+    int followingUncached(int offset) {
+        fDictionaryCache.reset();
+
+        // Find a boundary at or preceding the offset. This is the same search as in
+        // BreakCache.populatePreceding(), but it may end at the offset itself.
+        int textBegin = fText.getBeginIndex();
+        int position = textBegin;
+        int positionStatusIdx = 0;
+        int backupPosition = offset + 1;
+        while (position > offset || backupPosition > offset) {
+            backupPosition = backupPosition - 30;
+            if (backupPosition <= textBegin) {
+                backupPosition = textBegin;
+            } else {
+                backupPosition = handleSafePrevious(backupPosition);
+            }
+            if (backupPosition == BreakIterator.DONE || backupPosition == textBegin) {
+                position = textBegin;
+                positionStatusIdx = 0;
+                break;
+            }
+            // Advance to the boundary following the backup position.
+            // If that moves forwards by less than two code points, the safe rules
+            // require advancing one more time; see populatePreceding().
+            fPosition = backupPosition;
+            position = handleNext();
+            if (position == backupPosition + 1 ||
+                    (position == backupPosition + 2 &&
+                    Character.isHighSurrogate(fText.setIndex(backupPosition)) &&
+                    Character.isLowSurrogate(fText.next()))) {
+                position = handleNext();
+            }
+            positionStatusIdx = fRuleStatusIndex;
+        }
+
+        fPosition = position;
+        fRuleStatusIndex = positionStatusIdx;
+        while (fPosition <= offset) {
+            if (nextUncached() == BreakIterator.DONE) {
+                return BreakIterator.DONE;
+            }
+        }
+        return fPosition;
+    }
+
+    /**
+     * Marks the text of an uncached instance as incomplete or complete.
+     * While it is incomplete, nextUncached() returns DONE instead of a boundary
+     * that was found by looking at the end of the text, because more text could change it.
+     */
+    void setTextIncomplete(boolean incomplete) {
+        fTextIncomplete = incomplete;
+    }
+
+    /**
+     * Adjusts an uncached instance after the first n chars of its text were removed.
+     * The current position must be at least n.
+     */
+    void removeTextUncached(int n) {
+        assert(fPosition >= n);
+        fPosition -= n;
+        fDictionaryCache.reset();
+    }
+
+    /**
+     * Moves from the boundary at fPosition to the following boundary without using the BreakCache,
+     * subdividing runs of dictionary characters with the break engines.
+     * The rule status index of the boundary is left in fRuleStatusIndex.
+     *
+     * @return the following boundary, or DONE if fPosition is at the end of the text.
+     */
+    int nextUncached() {
+        int fromPosition = fPosition;
+        if (fDictionaryCache.following(fromPosition)) {
+            fPosition = fDictionaryCache.fBoundary;
+            fRuleStatusIndex = fDictionaryCache.fStatusIndex;
+            return fPosition;
+        }
+        int fromRuleStatusIndex = fRuleStatusIndex;
+        int pos = handleNext();
+        if (pos == BreakIterator.DONE) {
+            return BreakIterator.DONE;
+        }
+        if (fReachedEnd && fTextIncomplete) {
+            // The boundary depends on text that has not been appended yet.
+            fPosition = fromPosition;
+            fRuleStatusIndex = fromRuleStatusIndex;
+            return BreakIterator.DONE;
+        }
+        if (fDictionaryCharCount > 0) {
+            fDictionaryCache.populateDictionary(fromPosition, pos, 0, fRuleStatusIndex);
+            if (fDictionaryCache.following(fromPosition)) {
+                fPosition = fDictionaryCache.fBoundary;
+                fRuleStatusIndex = fDictionaryCache.fStatusIndex;
+            }
+        }
+        return fPosition;
+    }
+
      /**
      * Control debug, trace and dump options.
      * @internal
@@ -810,6 +1086,9 @@ void reset() {
      * points at the lead surrogate of a supplementary.
      */
     private int handleNext() {
+        if (fDirectText != null) {
+            return handleNext(fDirectText);
+        }
         if (TRACE) {
             System.out.println("Handle Next   pos      char  state category");
         }
@@ -818,6 +1097,7 @@ private int handleNext() {
         // Set the default for it.
         fRuleStatusIndex  = 0;
         fDictionaryCharCount = 0;
+        fReachedEnd = false;
 
         // caches for quicker access
         CharacterIterator text = fText;
@@ -833,6 +1113,7 @@ private int handleNext() {
         if (c >= UTF16.LEAD_SURROGATE_MIN_VALUE) {
             c = nextTrail32(text, c);
             if (c == DONE32) {
+                fReachedEnd = true;
                 fDone = true;
                 return BreakIterator.DONE;
             }
@@ -859,6 +1140,7 @@ private int handleNext() {
         while (state != STOP_STATE) {
             if (c == DONE32) {
                 // Reached end of input string.
+                fReachedEnd = true;
                 if (mode == RBBI_END) {
                     // We have already run the loop one last time with the
                     // character set to the pseudo {eof} value. Now it is time
@@ -984,6 +1266,136 @@ else if (mode == RBBI_RUN) {
         return result;
     }
 
+    /**
+     * The forward State Machine Engine, for text that is directly accessible as a CharSequence.
+     * Same as handleNext(), but reads code points from the text without a CharacterIterator.
+     * The text index always points to the start of the current code point c.
+     *
+     * @param text the text, with a begin index of 0.
+     * @return the new iterator position
+     */
+    private int handleNext(CharSequence text) {
+        if (TRACE) {
+            System.out.println("Handle Next   pos      char  state category");
+        }
+
+        // handleNext always sets the break tag value.
+        // Set the default for it.
+        fRuleStatusIndex  = 0;
+        fDictionaryCharCount = 0;
+        fReachedEnd = false;
+
+        // caches for quicker access
+        Trie2 trie = fRData.fTrie;
+
+        short[] stateTable  = fRData.fFTable.fTable;
+        int initialPosition = fPosition;
+        int textLength      = text.length();
+        int idx             = initialPosition;
+        int result          = initialPosition;
+
+        // Set up the starting char
+        if (idx >= textLength) {
+            fReachedEnd = true;
+            fDone = true;
+            return BreakIterator.DONE;
+        }
+        int c = Character.codePointAt(text, idx);
+
+        // Set the initial state for the state machine
+        int state           = START_STATE;
+        int row             = fRData.getRowIndex(state);
+        short category      = 3;
+        int flagsState      = fRData.fFTable.fFlags;
+        int mode            = RBBI_RUN;
+        if ((flagsState & RBBIDataWrapper.RBBI_BOF_REQUIRED) != 0) {
+            category = 2;
+            mode     = RBBI_START;
+            if (TRACE) {
+                System.out.print("            " +  RBBIDataWrapper.intToString(idx, 5));
+                System.out.print(RBBIDataWrapper.intToHexString(c, 10));
+                System.out.println(RBBIDataWrapper.intToString(state,7) + RBBIDataWrapper.intToString(category,6));
+            }
+        }
+        fLookAheadMatches.reset();
+
+        // loop until we reach the end of the text or transition to state 0
+        while (state != STOP_STATE) {
+            if (c == DONE32) {
+                // Reached end of input string.
+                fReachedEnd = true;
+                if (mode == RBBI_END) {
+                    break;
+                }
+                // Run the loop one last time with the fake end-of-input character category
+                mode = RBBI_END;
+                category = 1;
+            }
+            else if (mode == RBBI_RUN) {
+                category = (short) trie.get(c);
+                if ((category & 0x4000) != 0)  {
+                    fDictionaryCharCount++;
+                    category &= ~0x4000;
+                }
+
+                if (TRACE) {
+                    System.out.print("            " +  RBBIDataWrapper.intToString(idx, 5));
+                    System.out.print(RBBIDataWrapper.intToHexString(c, 10));
+                    System.out.println(RBBIDataWrapper.intToString(state,7) + RBBIDataWrapper.intToString(category,6));
+                }
+
+                // Advance to the next character.
+                idx += Character.charCount(c);
+                c = idx < textLength ? Character.codePointAt(text, idx) : DONE32;
+            }
+            else {
+                mode = RBBI_RUN;
+            }
+
+            // look up a state transition in the state table
+            state = stateTable[row + RBBIDataWrapper.NEXTSTATES + category];
+            row   = fRData.getRowIndex(state);
+
+            if (stateTable[row + RBBIDataWrapper.ACCEPTING] == -1) {
+                // Match found, common case
+                result = idx;
+                fRuleStatusIndex = stateTable[row + RBBIDataWrapper.TAGIDX];
+            }
+
+            int completedRule = stateTable[row + RBBIDataWrapper.ACCEPTING];
+            if (completedRule > 0) {
+                // Lookahead match is completed
+                int lookaheadResult = fLookAheadMatches.getPosition(completedRule);
+                if (lookaheadResult >= 0) {
+                    fRuleStatusIndex = stateTable[row + RBBIDataWrapper.TAGIDX];
+                    fPosition = lookaheadResult;
+                    return lookaheadResult;
+                }
+            }
+
+            int rule =  stateTable[row + RBBIDataWrapper.LOOKAHEAD];
+            if (rule != 0) {
+                fLookAheadMatches.setPosition(rule, idx);
+            }
+        }        // End of state machine main loop
+
+        // If the iterator failed to advance in the match engine force it ahead by one.
+        if (result == initialPosition) {
+            if (TRACE) {
+                System.out.println("Iterator did not move. Advancing by 1.");
+            }
+            result = initialPosition + Character.charCount(Character.codePointAt(text, initialPosition));
+            fRuleStatusIndex = 0;
+        }
+
+        fPosition = result;
+
+        if (TRACE) {
+            System.out.println("result = " + result);
+        }
+        return result;
+    }
+
     /**
      * Iterate backwards from an arbitrary position in the input text using the Safe Reverse rules.
      * This locates a "Safe Position" from which the forward break rules
@@ -996,6 +1408,9 @@ else if (mode == RBBI_RUN) {
      * @internal
      */
     private int handleSafePrevious(int fromPosition) {
+        if (fDirectText != null) {
+            return handleSafePrevious(fDirectText, fromPosition);
+        }
         int             state;
         short           category = 0;
         int             result = 0;
@@ -1057,6 +1472,67 @@ private int handleSafePrevious(int fromPosition) {
         return result;
     }
 
+    /**
+     * The Safe Reverse State Machine Engine, for text that is directly accessible as a CharSequence.
+     * Same as handleSafePrevious(int), but reads code points from the text without a CharacterIterator.
+     *
+     * @param text the text, with a begin index of 0.
+     * @param fromPosition the position in the input text to begin the iteration.
+     */
+    private int handleSafePrevious(CharSequence text, int fromPosition) {
+        Trie2 trie = fRData.fTrie;
+        short[] stateTable  = fRData.fRTable.fTable;
+
+        // Pin the starting position to the text, and back up to the start of a code point.
+        int idx = fromPosition;
+        int textLength = text.length();
+        if (idx <= 0) {
+            return BreakIterator.DONE;
+        } else if (idx > textLength) {
+            idx = textLength;
+        } else if (idx < textLength && Character.isLowSurrogate(text.charAt(idx)) &&
+                Character.isHighSurrogate(text.charAt(idx - 1))) {
+            if (--idx == 0) {
+                return BreakIterator.DONE;
+            }
+        }
+        if (TRACE) {
+            System.out.print("Handle Previous   pos   char  state category");
+        }
+
+        int state = START_STATE;
+        int row = fRData.getRowIndex(state);
+
+        // loop until we reach the start of the text or transition to state 0
+        while (idx > 0) {
+            int c = Character.codePointBefore(text, idx);
+            idx -= Character.charCount(c);
+
+            //  And off the dictionary flag bit. For reverse iteration it is not used.
+            short category = (short) trie.get(c);
+            category &= ~0x4000;
+            if (TRACE) {
+                System.out.print("            " +  RBBIDataWrapper.intToString(idx, 5));
+                System.out.print(RBBIDataWrapper.intToHexString(c, 10));
+                System.out.println(RBBIDataWrapper.intToString(state,7) + RBBIDataWrapper.intToString(category,6));
+            }
+
+            assert(category < fRData.fHeader.fCatCount);
+            state = stateTable[row + RBBIDataWrapper.NEXTSTATES + category];
+            row   = fRData.getRowIndex(state);
+
+            if (state == STOP_STATE) {
+                // Transition to state zero means we have found a safe point.
+                break;
+            }
+        }
+
+        if (TRACE) {
+            System.out.println("result = " + idx);
+        }
+        return idx;
+    }
+
     /**
      * Set the index of a CharacterIterator.
      * Pin the index to the valid range range of BeginIndex <= index <= EndIndex.
@@ -0,0 +1,463 @@
+// © 2019 and later: Unicode, Inc. and others.
+// License & terms of use: http://www.unicode.org/copyright.html#License
+package com.ibm.icu.text;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+import com.ibm.icu.impl.RBBIDataWrapper;
+
+/**
+ * Finds the boundaries in a text with the rules of a {@link RuleBasedBreakIterator},
+ * returning all of them at once instead of one at a time.
+ *
+ * <p>A RuleBasedSegmenter is immutable and thread-safe. Unlike a break iterator, which holds
+ * the text and caches of boundaries, a segmenter keeps all per-text state inside each method call,
+ * so one instance per locale and break type can serve all threads without cloning or locking.
+ *
+ * <p>Example:
+ * <pre>
+ * RuleBasedSegmenter words =
+ *     ((RuleBasedBreakIterator) BreakIterator.getWordInstance(ULocale.ENGLISH)).getSegmenter();
+ * int[] boundaries = words.getBoundaries("Hello, world.");  // {0, 5, 6, 7, 12, 13}
+ * </pre>
+ *
+ * @see RuleBasedBreakIterator#getSegmenter()
+ * @draft ICU 67
+ * @provisional This API might change or be removed in a future release.
+ */
+public final class RuleBasedSegmenter {
+    private final RBBIDataWrapper fRData;
+
+    RuleBasedSegmenter(RBBIDataWrapper data) {
+        fRData = data;
+    }
+
+    /**
+     * Returns all boundaries in the text, in ascending order. These are the same positions that
+     * {@link BreakIterator#first()} and successive calls of {@link BreakIterator#next()}
+     * return for the text, including 0 and the text length.
+     *
+     * <p>The text must not be modified during the call.
+     *
+     * @param text The text to segment.
+     * @return An array with the boundaries.
+     * @draft ICU 67
+     * @provisional This API might change or be removed in a future release.
+     */
+    public int[] getBoundaries(CharSequence text) {
+        RuleBasedBreakIterator bi = RuleBasedBreakIterator.newUncachedInstance(fRData, text);
+        int[] boundaries = new int[Math.min(text.length(), 64) + 1];
+        int length = 1;  // boundaries[0] = 0
+        for (int b = bi.followingUncached(0); b != BreakIterator.DONE; b = bi.nextUncached()) {
+            if (length == boundaries.length) {
+                int[] newBoundaries = new int[Math.min(2 * length, text.length() + 1)];
+                System.arraycopy(boundaries, 0, newBoundaries, 0, length);
+                boundaries = newBoundaries;
+            }
+            boundaries[length++] = b;
+        }
+        if (length == boundaries.length) {
+            return boundaries;
+        }
+        int[] result = new int[length];
+        System.arraycopy(boundaries, 0, result, 0, length);
+        return result;
+    }
+
+    /**
+     * Returns all boundaries in the text, like {@link #getBoundaries(CharSequence)},
+     * but splits the text into chunks which are segmented in parallel on the given pool.
+     *
+     * <p>Each chunk starts at an arbitrary offset. Its segmentation first moves back to a
+     * safe point with the reverse rules, and from there forward to the first boundary,
+     * exactly as {@link BreakIterator#following(int)} does, so that the chunks together
+     * produce the same boundaries as a single pass over the text.
+     *
+     * <p>The text must not be modified during the call.
+     *
+     * @param text The text to segment.
+     * @param pool Runs the chunks.
+     * @return An array with the boundaries.
+     * @draft ICU 67
+     * @provisional This API might change or be removed in a future release.
+     */
+    public int[] getBoundaries(final CharSequence text, ForkJoinPool pool) {
+        int length = text.length();
+        int chunkLength = Math.max(MIN_PARALLEL_CHUNK_LENGTH, length / (4 * pool.getParallelism()));
+        if (length <= chunkLength) {
+            return getBoundaries(text);
+        }
+        // Each chunk finds the boundaries b with chunkStart < b <= chunkLimit.
+        List<ForkJoinTask<int[]>> tasks = new ArrayList<ForkJoinTask<int[]>>();
+        for (int chunkStart = 0; chunkStart < length; chunkStart += chunkLength) {
+            final int start = chunkStart;
+            final int limit = Math.min(chunkStart + chunkLength, length);
+            tasks.add(pool.submit(new Callable<int[]>() {
+                @Override
+                public int[] call() {
+                    return getChunkBoundaries(text, start, limit);
+                }
+            }));
+        }
+        int totalLength = 1;  // boundary 0
+        int[][] chunks = new int[tasks.size()][];
+        for (int i = 0; i < chunks.length; ++i) {
+            chunks[i] = tasks.get(i).join();
+            totalLength += chunks[i].length;
+        }
+        int[] boundaries = new int[totalLength];
+        int boundariesLength = 1;
+        for (int[] chunk : chunks) {
+            System.arraycopy(chunk, 0, boundaries, boundariesLength, chunk.length);
+            boundariesLength += chunk.length;
+        }
+        return boundaries;
+    }
+
+    /** Minimum number of chars per chunk for parallel segmentation. */
+    private static final int MIN_PARALLEL_CHUNK_LENGTH = 8192;
+
+    /**
+     * Returns the boundaries b with start &lt; b &lt;= limit, in an array of exactly that length.
+     */
+    private int[] getChunkBoundaries(CharSequence text, int start, int limit) {
+        RuleBasedBreakIterator bi = RuleBasedBreakIterator.newUncachedInstance(fRData, text);
+        int[] boundaries = new int[Math.min(limit - start, 64)];
+        int length = 0;
+        for (int b = bi.followingUncached(start); b != BreakIterator.DONE && b <= limit;
+                b = bi.nextUncached()) {
+            if (length == boundaries.length) {
+                int[] newBoundaries = new int[Math.min(2 * length, limit - start)];
+                System.arraycopy(boundaries, 0, newBoundaries, 0, length);
+                boundaries = newBoundaries;
+            }
+            boundaries[length++] = b;
+        }
+        if (length == boundaries.length) {
+            return boundaries;
+        }
+        int[] result = new int[length];
+        System.arraycopy(boundaries, 0, result, 0, length);
+        return result;
+    }
+
+    /**
+     * Writes the boundaries following the start offset into the destination array,
+     * until the end of the text or of the array. These are the same positions that
+     * {@link BreakIterator#following(int)} and successive calls of {@link BreakIterator#next()}
+     * return for the text.
+     *
+     * <p>To segment a long text with a fixed-size buffer, call this method repeatedly,
+     * starting at the last boundary returned by the previous call:
+     * <pre>
+     * int[] buffer = new int[1000];
+     * int count;
+     * for (int start = 0; (count = segmenter.getBoundaries(text, start, buffer)) &gt; 0;
+     *         start = buffer[count - 1]) {
+     *     // process buffer[0..count-1]
+     * }
+     * </pre>
+     *
+     * <p>The start offset need not be a boundary. Starting at a boundary is faster,
+     * and starting at 0 is fastest.
+     * The text must not be modified during the call.
+     *
+     * @param text The text to segment.
+     * @param start The offset in the text after which to find boundaries.
+     * @param dest Receives the boundaries, starting at index 0.
+     * @return The number of boundaries written, which is 0 if start is the text length.
+     * @throws IllegalArgumentException if start is negative or greater than the text length.
+     * @draft ICU 67
+     * @provisional This API might change or be removed in a future release.
+     */
+    public int getBoundaries(CharSequence text, int start, int[] dest) {
+        return getBoundaries(text, start, text.length(), dest, null);
+    }
+
+    /**
+     * Writes the boundaries b with start &lt; b &lt;= limit, and their rule status values,
+     * into the caller's arrays. The boundaries are the same positions that
+     * {@link BreakIterator#following(int)} and successive calls of {@link BreakIterator#next()}
+     * return for the text, and the rule status values are those that
+     * {@link BreakIterator#getRuleStatus()} returns for them.
+     *
+     * <p>The start offset need not be a boundary. When processing a long text in windows,
+     * starting each window at the last boundary of the previous one is fastest.
+     * The text must not be modified during the call.
+     *
+     * @param text The text to segment.
+     * @param start The offset in the text after which to find boundaries.
+     * @param limit The offset in the text up to which to find boundaries.
+     * @param boundaries Receives the boundaries, starting at index 0.
+     * @param ruleStatus Receives the rule status value of each boundary at the same index,
+     *                   or null if the values are not needed.
+     * @return The number of boundaries written, which is at most the length of boundaries
+     *         (and of ruleStatus, if not null).
+     * @throws IllegalArgumentException unless 0 &lt;= start &lt;= limit &lt;= the text length.
+     * @draft ICU 67
+     * @provisional This API might change or be removed in a future release.
+     */
+    public int getBoundaries(CharSequence text, int start, int limit,
+            int[] boundaries, int[] ruleStatus) {
+        if (start < 0 || start > limit || limit > text.length()) {
+            throw new IllegalArgumentException("offset out of bounds");
+        }
+        RuleBasedBreakIterator bi = RuleBasedBreakIterator.newUncachedInstance(fRData, text);
+        return bi.getBoundariesUncached(start, limit, boundaries, ruleStatus);
+    }
+
+    /**
+     * Returns a new stream for segmenting a text which arrives in chunks,
+     * for example from a {@link Reader}, without keeping the whole text in memory.
+     *
+     * @return A new, empty stream.
+     * @draft ICU 67
+     * @provisional This API might change or be removed in a future release.
+     */
+    public Stream newStream() {
+        return new Stream(fRData);
+    }
+
+    /**
+     * Segments a text which is appended in chunks, and returns its boundaries as soon as
+     * they are certain. A boundary is certain once the break rules have seen all of the text
+     * that determines it; boundaries near the end of the text appended so far are returned
+     * only after more text has been appended or {@link #finish()} has been called.
+     * The returned boundaries are the same as those of a break iterator for the complete text.
+     *
+     * <p>The stream keeps only the text from the last boundary returned by {@link #next()},
+     * plus the text which has not been segmented yet. Runs of characters handled by the
+     * dictionary break engines, such as Thai or Chinese text, are segmented as usual.
+     *
+     * <p>Example:
+     * <pre>
+     * RuleBasedSegmenter.Stream stream = segmenter.newStream();
+     * int start = 0;
+     * boolean more;
+     * do {
+     *     more = stream.append(reader);
+     *     for (int limit; (limit = stream.next()) != BreakIterator.DONE; start = limit) {
+     *         CharSequence segment = stream.subSequence(start, limit);
+     *         // ...
+     *     }
+     * } while (more);
+     * </pre>
+     *
+     * <p>A stream is not thread-safe.
+     *
+     * @see RuleBasedSegmenter#newStream()
+     * @draft ICU 67
+     * @provisional This API might change or be removed in a future release.
+     */
+    public static final class Stream {
+        private static final int READ_BUFFER_SIZE = 4096;
+
+        /** The text from bufferStart to the end of the text appended so far. */
+        private final StringBuilder buffer = new StringBuilder();
+        private final RuleBasedBreakIterator bi;
+        private char[] readBuffer;
+        /** Text offset of buffer[0]. */
+        private int bufferStart;
+        /** Length of the buffer as seen by the break iterator. */
+        private int visibleLength;
+        private int lastRuleStatus;
+        private boolean finished;
+        /** True when next() has returned all boundaries in the text appended so far. */
+        private boolean drained;
+
+        /**
+         * The buffer, without a trailing lead surrogate whose trail surrogate
+         * may still be appended, as the break iterator's text.
+         */
+        private final CharSequence view = new CharSequence() {
+            @Override
+            public int length() {
+                return visibleLength;
+            }
+
+            @Override
+            public char charAt(int index) {
+                return buffer.charAt(index);
+            }
+
+            @Override
+            public CharSequence subSequence(int start, int end) {
+                return buffer.subSequence(start, end);
+            }
+
+            @Override
+            public String toString() {
+                return buffer.substring(0, visibleLength);
+            }
+        };
+
+        Stream(RBBIDataWrapper data) {
+            bi = RuleBasedBreakIterator.newUncachedInstance(data, view);
+            bi.setTextIncomplete(true);
+        }
+
+        /**
+         * Appends a chunk of text, for example a CharBuffer.
+         * Text before the last boundary returned by {@link #next()} may be discarded.
+         *
+         * @param chunk The text to append.
+         * @throws IllegalStateException if {@link #finish()} has been called.
+         * @draft ICU 67
+         * @provisional This API might change or be removed in a future release.
+         */
+        public void append(CharSequence chunk) {
+            if (finished) {
+                throw new IllegalStateException("Attempt to append text after finish()");
+            }
+            if (drained) {
+                // All boundaries up to the end of the buffered text have been returned;
+                // the break iterator is at the last of them, and earlier text is no longer needed.
+                int n = bi.current();
+                if (n > 0 && n >= buffer.length() / 2) {
+                    buffer.delete(0, n);
+                    bufferStart += n;
+                    bi.removeTextUncached(n);
+                }
+                drained = false;
+            }
+            buffer.append(chunk);
+            updateVisibleLength();
+        }
+
+        /**
+         * Reads the next chunk of text from the reader and appends it, or calls {@link #finish()}
+         * at the end of the input.
+         * Text before the last boundary returned by {@link #next()} may be discarded.
+         *
+         * @param reader The source of the text.
+         * @return false if the end of the input was reached, true otherwise.
+         * @throws IOException if reading fails.
+         * @throws IllegalStateException if {@link #finish()} has been called.
+         * @draft ICU 67
+         * @provisional This API might change or be removed in a future release.
+         */
+        public boolean append(Reader reader) throws IOException {
+            if (finished) {
+                throw new IllegalStateException("Attempt to append text after finish()");
+            }
+            if (readBuffer == null) {
+                readBuffer = new char[READ_BUFFER_SIZE];
+            }
+            int length = reader.read(readBuffer);
+            if (length < 0) {
+                finish();
+                return false;
+            }
+            append(java.nio.CharBuffer.wrap(readBuffer, 0, length));
+            return true;
+        }
+
+        /**
+         * Marks the end of the text, so that {@link #next()} returns the remaining boundaries.
+         *
+         * @draft ICU 67
+         * @provisional This API might change or be removed in a future release.
+         */
+        public void finish() {
+            finished = true;
+            drained = false;
+            bi.setTextIncomplete(false);
+            updateVisibleLength();
+        }
+
+        private void updateVisibleLength() {
+            visibleLength = buffer.length();
+            if (!finished && visibleLength > 0 &&
+                    Character.isHighSurrogate(buffer.charAt(visibleLength - 1))) {
+                --visibleLength;
+            }
+        }
+
+        /**
+         * Returns the next certain boundary, as an offset from the start of the whole text.
+         * The first boundary, 0, is not returned.
+         *
+         * @return The next boundary, or {@link BreakIterator#DONE} if more text needs
+         *         to be appended first, or if all boundaries of a finished text have been returned.
+         * @draft ICU 67
+         * @provisional This API might change or be removed in a future release.
+         */
+        public int next() {
+            if (drained) {
+                return BreakIterator.DONE;
+            }
+            int b = bi.nextUncached();
+            if (b == BreakIterator.DONE) {
+                drained = true;
+                return BreakIterator.DONE;
+            }
+            lastRuleStatus = bi.getRuleStatus();
+            return bufferStart + b;
+        }
+
+        /**
+         * Writes the next certain boundaries and their rule status values into the caller's arrays.
+         * Equivalent to calling {@link #next()} and {@link #getRuleStatus()} repeatedly.
+         *
+         * @param boundaries Receives the boundaries, starting at index 0.
+         * @param ruleStatus Receives the rule status value of each boundary at the same index,
+         *                   or null if the values are not needed.
+         * @return The number of boundaries written, which is at most the length of boundaries
+         *         (and of ruleStatus, if not null).
+         * @draft ICU 67
+         * @provisional This API might change or be removed in a future release.
+         */
+        public int next(int[] boundaries, int[] ruleStatus) {
+            int capacity = boundaries.length;
+            if (ruleStatus != null && ruleStatus.length < capacity) {
+                capacity = ruleStatus.length;
+            }
+            int count = 0;
+            int b;
+            while (count < capacity && (b = next()) != BreakIterator.DONE) {
+                boundaries[count] = b;
+                if (ruleStatus != null) {
+                    ruleStatus[count] = lastRuleStatus;
+                }
+                ++count;
+            }
+            return count;
+        }
+
+        /**
+         * Returns the rule status value of the boundary most recently returned by {@link #next()},
+         * like {@link BreakIterator#getRuleStatus()}.
+         *
+         * @return The rule status value.
+         * @draft ICU 67
+         * @provisional This API might change or be removed in a future release.
+         */
+        public int getRuleStatus() {
+            return lastRuleStatus;
+        }
+
+        /**
+         * Returns a part of the text which is still kept by the stream: any text from
+         * the last boundary returned by {@link #next()} onwards.
+         *
+         * @param start The start offset in the whole text.
+         * @param limit The limit offset in the whole text.
+         * @return The text between start and limit.
+         * @throws IndexOutOfBoundsException if the text is not available.
+         * @draft ICU 67
+         * @provisional This API might change or be removed in a future release.
+         */
+        public CharSequence subSequence(int start, int limit) {
+            if (start < bufferStart) {
+                throw new IndexOutOfBoundsException("Text before " + bufferStart + " was discarded");
+            }
+            return buffer.subSequence(start - bufferStart, limit - bufferStart);
+        }
+    }
+}
@@ -0,0 +1,402 @@
+// © 2019 and later: Unicode, Inc. and others.
+// License & terms of use: http://www.unicode.org/copyright.html#License
+package com.ibm.icu.util;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+
+import com.ibm.icu.text.CaseMap;
+import com.ibm.icu.text.Normalizer2;
+
+/**
+ * {@icu} A hash map with String keys which are compared case-insensitively.
+ *
+ * <p>By default, keys are compared via full Unicode case folding
+ * (see {@link CaseMap.Fold#equalsIgnoreCase(CharSequence, CharSequence)}),
+ * and {@link #createNFKCCasefold()} creates a map which compares keys via NFKC_Casefold.
+ * Keys are hashed and compared without creating case-folded copies of them,
+ * and lookups do not allocate strings.
+ * Compared with a HashMap with the original keys, each entry costs one small extra object
+ * which holds the original key and its case-insensitive hash code,
+ * and each lookup creates one such object for the lookup key.
+ * Lookup methods accept any CharSequence as the key.
+ *
+ * <p>The map retains the spelling of each key as it was first put into the map:
+ * Putting a value for a key which is equal to an existing key except for case
+ * replaces the value but not the key.
+ *
+ * <p>This class does not support null keys.
+ * Like {@link HashMap}, it is not thread-safe.
+ *
+ * @param <V> the type of the values
+ * @see CaseInsensitiveString
+ * @draft ICU 67
+ * @provisional This API might change or be removed in a future release.
+ */
+public class CaseInsensitiveMap<V> extends AbstractMap<String, V> {
+    private final Equivalence equivalence;
+    private final HashMap<Key, V> map = new HashMap<Key, V>();
+    private Set<String> keySet;
+    private Set<Map.Entry<String, V>> entrySet;
+
+    /**
+     * Constructs an empty map which compares keys via default full case folding.
+     *
+     * @draft ICU 67
+     * @provisional This API might change or be removed in a future release.
+     */
+    public CaseInsensitiveMap() {
+        this(CaseMap.fold());
+    }
+
+    /**
+     * Constructs an empty map which compares keys via the given case folding,
+     * for example CaseMap.fold().turkic().
+     *
+     * @param fold the case folding
+     * @draft ICU 67
+     * @provisional This API might change or be removed in a future release.
+     */
+    public CaseInsensitiveMap(CaseMap.Fold fold) {
+        this(new FoldEquivalence(fold));
+    }
+
+    private CaseInsensitiveMap(Equivalence equivalence) {
+        this.equivalence = equivalence;
+    }
+
+    /**
+     * Creates an empty map which compares keys via NFKC_Casefold
+     * (see {@link Normalizer2#getNFKCCasefoldInstance()}).
+     * This also treats compatibility variants (such as fullwidth letters) as equal,
+     * and ignores default ignorable code points.
+     *
+     * <p>Keys which are already in NFKC_Casefold form are hashed and compared directly;
+     * other keys are normalized for each hash and comparison.
+     *
+     * @param <V> the type of the values
+     * @return a new, empty map
+     * @draft ICU 67
+     * @provisional This API might change or be removed in a future release.
+     */
+    public static <V> CaseInsensitiveMap<V> createNFKCCasefold() {
+        return new CaseInsensitiveMap<V>(new NFKCCasefoldEquivalence());
+    }
+
+    /**
+     * {@inheritDoc}
+     * @draft ICU 67
+     * @provisional This API might change or be removed in a future release.
+     */
+    @Override
+    public int size() {
+        return map.size();
+    }
+
+    /**
+     * {@inheritDoc}
+     * @draft ICU 67
+     * @provisional This API might change or be removed in a future release.
+     */
+    @Override
+    public boolean containsKey(Object key) {
+        return key instanceof CharSequence && map.containsKey(new Key((CharSequence)key));
+    }
+
+    /**
+     * {@inheritDoc}
+     * @draft ICU 67
+     * @provisional This API might change or be removed in a future release.
+     */
+    @Override
+    public V get(Object key) {
+        return key instanceof CharSequence ? map.get(new Key((CharSequence)key)) : null;
+    }
+
+    /**
+     * {@inheritDoc}
+     * @throws NullPointerException if the key is null
+     * @draft ICU 67
+     * @provisional This API might change or be removed in a future release.
+     */
+    @Override
+    public V put(String key, V value) {
+        if (key == null) {
+            throw new NullPointerException();
+        }
+        return map.put(new Key(key), value);
+    }
+
+    /**
+     * {@inheritDoc}
+     * @draft ICU 67
+     * @provisional This API might change or be removed in a future release.
+     */
+    @Override
+    public V remove(Object key) {
+        return key instanceof CharSequence ? map.remove(new Key((CharSequence)key)) : null;
+    }
+
+    /**
+     * {@inheritDoc}
+     * @draft ICU 67
+     * @provisional This API might change or be removed in a future release.
+     */
+    @Override
+    public void clear() {
+        map.clear();
+    }
+
+    /**
+     * {@inheritDoc}
+     * The contains() and remove() methods of the key set compare keys case-insensitively.
+     * @draft ICU 67
+     * @provisional This API might change or be removed in a future release.
+     */
+    @Override
+    public Set<String> keySet() {
+        if (keySet == null) {
+            keySet = new KeySet();
+        }
+        return keySet;
+    }
+
+    /**
+     * {@inheritDoc}
+     * @draft ICU 67
+     * @provisional This API might change or be removed in a future release.
+     */
+    @Override
+    public Set<Map.Entry<String, V>> entrySet() {
+        if (entrySet == null) {
+            entrySet = new EntrySet();
+        }
+        return entrySet;
+    }
+
+    /**
+     * Case-insensitive hashing and comparison of keys.
+     */
+    private static abstract class Equivalence {
+        abstract int hashCode(CharSequence s);
+        abstract boolean equals(CharSequence s1, CharSequence s2);
+    }
+
+    private static final class FoldEquivalence extends Equivalence {
+        private final CaseMap.Fold fold;
+
+        FoldEquivalence(CaseMap.Fold fold) {
+            if (fold == null) {
+                throw new NullPointerException();
+            }
+            this.fold = fold;
+        }
+
+        @Override
+        int hashCode(CharSequence s) {
+            return fold.hashCode(s);
+        }
+
+        @Override
+        boolean equals(CharSequence s1, CharSequence s2) {
+            return fold.equalsIgnoreCase(s1, s2);
+        }
+    }
+
+    private static final class NFKCCasefoldEquivalence extends Equivalence {
+        private final Normalizer2 nfkcCasefold = Normalizer2.getNFKCCasefoldInstance();
+
+        @Override
+        int hashCode(CharSequence s) {
+            if (nfkcCasefold.spanQuickCheckYes(s) != s.length()) {
+                s = nfkcCasefold.normalize(s);
+            }
+            // Same as String.hashCode().
+            int h = 0;
+            for (int i = 0; i < s.length(); ++i) {
+                h = 31 * h + s.charAt(i);
+            }
+            return h;
+        }
+
+        @Override
+        boolean equals(CharSequence s1, CharSequence s2) {
+            if (nfkcCasefold.spanQuickCheckYes(s1) != s1.length()) {
+                s1 = nfkcCasefold.normalize(s1);
+            }
+            if (nfkcCasefold.spanQuickCheckYes(s2) != s2.length()) {
+                s2 = nfkcCasefold.normalize(s2);
+            }
+            int length = s1.length();
+            if (length != s2.length()) {
+                return false;
+            }
+            for (int i = 0; i < length; ++i) {
+                if (s1.charAt(i) != s2.charAt(i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Wraps a key with the map's equivalence.
+     * Keys in the map are Strings; lookup keys may be any CharSequence.
+     */
+    private final class Key {
+        final CharSequence s;
+        private final int hash;
+
+        Key(CharSequence s) {
+            this.s = s;
+            hash = equivalence.hashCode(s);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (this == other) {
+                return true;
+            }
+            if (!(other instanceof CaseInsensitiveMap.Key)) {
+                return false;
+            }
+            @SuppressWarnings("unchecked")
+            Key o = (Key)other;
+            return hash == o.hash && equivalence.equals(s, o.s);
+        }
+    }
+
+    private final class KeySet extends AbstractSet<String> {
+        @Override
+        public Iterator<String> iterator() {
+            final Iterator<Key> iter = map.keySet().iterator();
+            return new Iterator<String>() {
+                @Override
+                public boolean hasNext() {
+                    return iter.hasNext();
+                }
+
+                @Override
+                public String next() {
+                    return (String)iter.next().s;
+                }
+
+                @Override
+                public void remove() {
+                    iter.remove();
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return map.size();
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return containsKey(o);
+        }
+
+        @Override
+        public boolean remove(Object o) {
+            return o instanceof CharSequence && map.keySet().remove(new Key((CharSequence)o));
+        }
+
+        @Override
+        public void clear() {
+            map.clear();
+        }
+    }
+
+    private final class EntrySet extends AbstractSet<Map.Entry<String, V>> {
+        @Override
+        public Iterator<Map.Entry<String, V>> iterator() {
+            final Iterator<Map.Entry<Key, V>> iter = map.entrySet().iterator();
+            return new Iterator<Map.Entry<String, V>>() {
+                @Override
+                public boolean hasNext() {
+                    return iter.hasNext();
+                }
+
+                @Override
+                public Map.Entry<String, V> next() {
+                    return new Entry(iter.next());
+                }
+
+                @Override
+                public void remove() {
+                    iter.remove();
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return map.size();
+        }
+
+        @Override
+        public void clear() {
+            map.clear();
+        }
+    }
+
+    /**
+     * Entry view with the original String key, writing values through to the map.
+     */
+    private final class Entry implements Map.Entry<String, V> {
+        private final Map.Entry<Key, V> entry;
+
+        Entry(Map.Entry<Key, V> entry) {
+            this.entry = entry;
+        }
+
+        @Override
+        public String getKey() {
+            return (String)entry.getKey().s;
+        }
+
+        @Override
+        public V getValue() {
+            return entry.getValue();
+        }
+
+        @Override
+        public V setValue(V value) {
+            return entry.setValue(value);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (!(other instanceof Map.Entry)) {
+                return false;
+            }
+            Map.Entry<?, ?> e = (Map.Entry<?, ?>)other;
+            Object value = getValue();
+            return getKey().equals(e.getKey()) &&
+                    (value == null ? e.getValue() == null : value.equals(e.getValue()));
+        }
+
+        @Override
+        public int hashCode() {
+            Object value = getValue();
+            return getKey().hashCode() ^ (value == null ? 0 : value.hashCode());
+        }
+
+        @Override
+        public String toString() {
+            return getKey() + "=" + getValue();
+        }
+    }
+}
@@ -8,7 +8,7 @@
  */
 package com.ibm.icu.util;
 
-import com.ibm.icu.lang.UCharacter;
+import com.ibm.icu.text.CaseMap;
 
 /**
  * A string used as a key in java.util.Hashtable and other
@@ -22,20 +22,6 @@ public class CaseInsensitiveString {
 
     private int hash = 0;
 
-    private String folded = null;
-
-    private static String foldCase(String foldee)
-    {
-        return UCharacter.foldCase(foldee, true);
-    }
-
-    private void getFolded()
-    {
-        if (folded == null) {
-            folded = foldCase(string);
-        }
-    }
-
     /**
      * Constructs an CaseInsentiveString object from the given string
      * @param s The string to construct this object from
@@ -66,10 +52,11 @@ public boolean equals(Object o) {
             return true;
         }
         if (o instanceof CaseInsensitiveString) {
-            getFolded();
             CaseInsensitiveString cis = (CaseInsensitiveString) o;
-            cis.getFolded();
-            return folded.equals(cis.folded);
+            if (hash != 0 && cis.hash != 0 && hash != cis.hash) {
+                return false;
+            }
+            return CaseMap.fold().equalsIgnoreCase(string, cis.string);
         }
         return false;
     }
@@ -81,10 +68,8 @@ public boolean equals(Object o) {
      */
     @Override
     public int hashCode() {
-        getFolded();
-
         if (hash == 0) {
-            hash = folded.hashCode();
+            hash = CaseMap.fold().hashCode(string);
         }
 
         return hash;
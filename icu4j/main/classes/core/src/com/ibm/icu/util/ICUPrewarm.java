@@ -0,0 +1,253 @@
+// © 2019 and later: Unicode, Inc. and others.
+// License & terms of use: http://www.unicode.org/copyright.html#License
+package com.ibm.icu.util;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+import com.ibm.icu.impl.SoftCache;
+import com.ibm.icu.number.NumberFormatter;
+import com.ibm.icu.text.BreakIterator;
+import com.ibm.icu.text.DateFormat;
+import com.ibm.icu.text.NumberFormat;
+import com.ibm.icu.text.PluralRules;
+import com.ibm.icu.text.PluralRules.PluralType;
+import com.ibm.icu.text.TimeZoneFormat;
+import com.ibm.icu.text.TimeZoneNames;
+
+/**
+ * Loads locale data ahead of time, typically during application startup.
+ *
+ * <p>The first request for a formatter, collator or break iterator in a new locale loads and
+ * parses resource bundles and builds internal data structures, which makes it much slower than
+ * later requests. {@link #load(Set, EnumSet, Executor)} makes those first requests for a set of
+ * locales and services, so that the data is in ICU's internal caches before it is needed.
+ *
+ * <p>The data for the given locales and their fallback locales is also pinned: ICU's caches hold
+ * it strongly and do not release it under memory pressure. Only data that is loaded after the
+ * locales are pinned is affected, so prewarming should happen before the locales are first used.
+ *
+ * <p>Example:
+ * <pre>
+ * ExecutorService executor = Executors.newFixedThreadPool(4);
+ * ICUPrewarm.load(locales, EnumSet.allOf(ICUPrewarm.Service.class), executor);
+ * executor.shutdown();
+ * </pre>
+ *
+ * @draft ICU 67
+ * @provisional This API might change or be removed in a future release.
+ */
+public final class ICUPrewarm {
+
+    /**
+     * The kinds of services for which {@link ICUPrewarm} can load data.
+     *
+     * @draft ICU 67
+     * @provisional This API might change or be removed in a future release.
+     */
+    public enum Service {
+        /**
+         * Number formats: symbols, patterns and numbering systems, via {@link NumberFormat} and
+         * {@link NumberFormatter}.
+         *
+         * @draft ICU 67
+         * @provisional This API might change or be removed in a future release.
+         */
+        NUMBER_FORMAT,
+        /**
+         * Date and time formats: symbols, patterns and calendar data, via {@link DateFormat}.
+         *
+         * @draft ICU 67
+         * @provisional This API might change or be removed in a future release.
+         */
+        DATE_FORMAT,
+        /**
+         * Time zone display names, via {@link TimeZoneNames} and {@link TimeZoneFormat}.
+         *
+         * @draft ICU 67
+         * @provisional This API might change or be removed in a future release.
+         */
+        TIME_ZONE_NAMES,
+        /**
+         * Collation tailorings, via {@code com.ibm.icu.text.Collator}.
+         * Requires the ICU collation classes.
+         *
+         * @draft ICU 67
+         * @provisional This API might change or be removed in a future release.
+         */
+        COLLATOR,
+        /**
+         * Character, word, line and sentence break rules, via {@link BreakIterator}.
+         *
+         * @draft ICU 67
+         * @provisional This API might change or be removed in a future release.
+         */
+        BREAK_ITERATOR,
+        /**
+         * Cardinal and ordinal plural rules, via {@link PluralRules}.
+         *
+         * @draft ICU 67
+         * @provisional This API might change or be removed in a future release.
+         */
+        PLURAL_RULES
+    }
+
+    private ICUPrewarm() {
+    }
+
+    /**
+     * Pins and loads the data for the given locales and services on the calling thread.
+     *
+     * @param locales The locales to load.
+     * @param services The services to load for each locale.
+     * @throws ICUException if loading failed for any locale and service;
+     *         the first failure is the cause, and the others are suppressed exceptions.
+     * @draft ICU 67
+     * @provisional This API might change or be removed in a future release.
+     */
+    public static void load(Set<ULocale> locales, EnumSet<Service> services) {
+        pin(locales);
+        List<Throwable> failures = new ArrayList<Throwable>();
+        for (ULocale locale : locales) {
+            for (Service service : services) {
+                try {
+                    load(locale, service);
+                } catch (Throwable t) {
+                    failures.add(loadFailure(locale, service, t));
+                }
+            }
+        }
+        throwIfFailed(failures);
+    }
+
+    /**
+     * Pins the data for the given locales, then loads it by running one task per locale and
+     * service on the executor, and waits until all tasks have finished.
+     *
+     * @param locales The locales to load.
+     * @param services The services to load for each locale.
+     * @param executor Runs the loading tasks, for example a thread pool.
+     * @throws InterruptedException if the calling thread is interrupted while waiting.
+     * @throws ICUException if loading failed for any locale and service, or if the executor
+     *         rejected a task; the first failure is the cause, and the others are suppressed
+     *         exceptions.
+     * @draft ICU 67
+     * @provisional This API might change or be removed in a future release.
+     */
+    public static void load(Set<ULocale> locales, EnumSet<Service> services, Executor executor)
+            throws InterruptedException {
+        pin(locales);
+        final CountDownLatch done = new CountDownLatch(locales.size() * services.size());
+        final List<Throwable> failures = Collections.synchronizedList(new ArrayList<Throwable>());
+        for (final ULocale locale : locales) {
+            for (final Service service : services) {
+                Runnable task = new Runnable() {
+                    @Override
+                    public void run() {
+                        try {
+                            load(locale, service);
+                        } catch (Throwable t) {
+                            failures.add(loadFailure(locale, service, t));
+                        } finally {
+                            done.countDown();
+                        }
+                    }
+                };
+                try {
+                    executor.execute(task);
+                } catch (RejectedExecutionException e) {
+                    failures.add(e);
+                    done.countDown();
+                }
+            }
+        }
+        done.await();
+        throwIfFailed(failures);
+    }
+
+    private static ICUException loadFailure(ULocale locale, Service service, Throwable cause) {
+        return new ICUException("Failed to load " + service + " data for " + locale, cause);
+    }
+
+    private static void throwIfFailed(List<Throwable> failures) {
+        if (!failures.isEmpty()) {
+            ICUException e = new ICUException(
+                    "Prewarming failed for " + failures.size() + " locale/service combinations",
+                    failures.get(0));
+            for (int i = 1; i < failures.size(); ++i) {
+                e.addSuppressed(failures.get(i));
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Pins each locale and its fallback locales, up to root, in ICU's caches.
+     */
+    private static void pin(Set<ULocale> locales) {
+        Set<String> ids = new LinkedHashSet<String>();
+        for (ULocale locale : locales) {
+            for (ULocale l = locale; l != null && !l.getBaseName().isEmpty(); l = l.getFallback()) {
+                ids.add(l.getBaseName());
+            }
+        }
+        ids.add("root");
+        SoftCache.addPinnedLocales(ids);
+    }
+
+    private static void load(ULocale locale, Service service) throws ReflectiveOperationException {
+        switch (service) {
+        case NUMBER_FORMAT:
+            NumberFormat.getInstance(locale, NumberFormat.NUMBERSTYLE);
+            NumberFormat.getInstance(locale, NumberFormat.CURRENCYSTYLE);
+            NumberFormat.getInstance(locale, NumberFormat.PERCENTSTYLE);
+            NumberFormatter.withLocale(locale).compile();
+            break;
+        case DATE_FORMAT:
+            for (int style = DateFormat.FULL; style <= DateFormat.SHORT; ++style) {
+                DateFormat.getDateTimeInstance(style, style, locale);
+            }
+            break;
+        case TIME_ZONE_NAMES:
+            loadAllDisplayNames(TimeZoneNames.getInstance(locale));
+            TimeZoneFormat.getInstance(locale);
+            break;
+        case COLLATOR:
+            // The collation classes are not part of the core module.
+            try {
+                Class.forName("com.ibm.icu.text.Collator")
+                        .getMethod("getInstance", ULocale.class)
+                        .invoke(null, locale);
+            } catch (InvocationTargetException e) {
+                throw new ICUException(e.getCause());
+            }
+            break;
+        case BREAK_ITERATOR:
+            BreakIterator.getCharacterInstance(locale);
+            BreakIterator.getWordInstance(locale);
+            BreakIterator.getLineInstance(locale);
+            BreakIterator.getSentenceInstance(locale);
+            break;
+        case PLURAL_RULES:
+            PluralRules.forLocale(locale, PluralType.CARDINAL);
+            PluralRules.forLocale(locale, PluralType.ORDINAL);
+            break;
+        }
+    }
+
+    // TimeZoneNames.loadAllDisplayNames() is ICU-internal, which is why it is deprecated.
+    // It loads all names in one pass over the locale's zone strings, while the public getters
+    // would look up each of several hundred zones and metazones separately.
+    @SuppressWarnings("deprecation")
+    private static void loadAllDisplayNames(TimeZoneNames names) {
+        names.loadAllDisplayNames();
+    }
+}
@@ -17,10 +17,12 @@
 import java.text.CharacterIterator;
 import java.text.StringCharacterIterator;
 import java.util.Arrays;
+import java.util.Comparator;
 import java.util.HashSet;
 import java.util.Locale;
 import java.util.MissingResourceException;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -31,6 +33,7 @@
 import com.ibm.icu.lang.UCharacter;
 import com.ibm.icu.text.CollationElementIterator;
 import com.ibm.icu.text.CollationKey;
+import com.ibm.icu.text.CollationSort;
 import com.ibm.icu.text.Collator;
 import com.ibm.icu.text.Collator.CollatorFactory;
 import com.ibm.icu.text.RawCollationKey;
@@ -1702,4 +1705,177 @@ public void TestGapTooSmall() {
             errln("unexpected exception for tailoring many characters at the end of symbols: " + e);
         }
     }
+
+    @Test
+    public void TestRawCollationKeys() {
+        String[] words = {
+            "", "a", "ab", "Abc", "\u00e4b", "a\u0308b", "\u4e00", "\ud800\udc00", "12", "abc def",
+            "\u0e40\u0e01", "\u00c5", "A\u030a", "zzz"
+        };
+        CharSequence[] sources = new CharSequence[1000];
+        for (int i = 0; i < sources.length; ++i) {
+            String word = Utility.unescape(words[i % words.length]);
+            sources[i] = (i & 1) == 0 ? word : new StringBuilder(word).append(i);
+        }
+        RuleBasedCollator[] collators = {
+            (RuleBasedCollator) Collator.getInstance(ULocale.GERMAN),
+            (RuleBasedCollator) Collator.getInstance(new ULocale("th")),
+            (RuleBasedCollator) Collator.getInstance(ULocale.ROOT)
+        };
+        collators[1].setStrength(Collator.IDENTICAL);
+        collators[2].freeze();
+        ForkJoinPool pool = new ForkJoinPool(3);
+        try {
+            for (RuleBasedCollator coll : collators) {
+                int[] offsets = new int[sources.length + 1];
+                RawCollationKey keys = coll.getRawCollationKeys(sources, null, offsets);
+                checkRawCollationKeys(coll, sources, keys, offsets);
+
+                // Reuse the output, with a byte array that is too short at first.
+                RawCollationKey reused = new RawCollationKey(10);
+                Arrays.fill(offsets, -1);
+                assertTrue("same RawCollationKey",
+                        reused == coll.getRawCollationKeys(sources, reused, offsets, pool));
+                checkRawCollationKeys(coll, sources, reused, offsets);
+            }
+        } finally {
+            pool.shutdown();
+        }
+
+        try {
+            collators[0].getRawCollationKeys(sources, null, new int[sources.length]);
+            errln("getRawCollationKeys() should reject a too-short offsets array");
+        } catch (IllegalArgumentException expected) {
+        }
+    }
+
+    private void checkRawCollationKeys(RuleBasedCollator coll, CharSequence[] sources,
+            RawCollationKey keys, int[] offsets) {
+        assertEquals("total length", offsets[sources.length], keys.size);
+        for (int i = 0; i < sources.length; ++i) {
+            RawCollationKey key = coll.getRawCollationKey(sources[i].toString(), null);
+            byte[] batchKey = Arrays.copyOfRange(keys.bytes, offsets[i], offsets[i + 1]);
+            if (!Arrays.equals(Arrays.copyOf(key.bytes, key.size), batchKey)) {
+                errln("batch sort key differs for source[" + i + "]=" + sources[i]);
+                return;
+            }
+        }
+    }
+
+    @Test
+    public void TestSortKeyPrefixes() {
+        String[] words = {
+            "", "a", "ab", "Abc", "\u00e4b", "a\u0308b", "\u4e00", "\ud800\udc00", "12", "abc def",
+            "\u0e40\u0e01", "\u00c5", "A\u030a", "zzz", "abcdefghijklmnopqrstuvwxyz", "a b-c"
+        };
+        RuleBasedCollator[] collators = {
+            (RuleBasedCollator) Collator.getInstance(ULocale.GERMAN),
+            (RuleBasedCollator) Collator.getInstance(new ULocale("th")),
+            (RuleBasedCollator) Collator.getInstance(ULocale.ROOT)
+        };
+        collators[1].setStrength(Collator.IDENTICAL);
+        collators[2].setAlternateHandlingShifted(true);
+        collators[2].freeze();
+        for (RuleBasedCollator coll : collators) {
+            long[] prefixes = new long[words.length];
+            coll.getSortKeyPrefixes(words, prefixes);
+            for (int i = 0; i < words.length; ++i) {
+                // The prefix holds the first 8 sort key bytes, with the sign bit flipped.
+                RawCollationKey key = coll.getRawCollationKey(words[i], null);
+                long expected = 0;
+                for (int j = 0; j < 8; ++j) {
+                    expected = (expected << 8) | (j < key.size ? key.bytes[j] & 0xff : 0);
+                }
+                expected ^= Long.MIN_VALUE;
+                assertEquals("prefix for " + words[i], expected, prefixes[i]);
+                assertEquals("single prefix for " + words[i], expected, coll.getSortKeyPrefix(words[i]));
+                assertEquals("complete prefix for " + words[i], key.size <= 8, (prefixes[i] & 0xff) == 0);
+                for (int j = 0; j < i; ++j) {
+                    if (prefixes[j] != prefixes[i] &&
+                            (prefixes[j] < prefixes[i]) != (coll.compare(words[j], words[i]) < 0)) {
+                        errln("prefix order differs from compare() for " + words[j] + " vs. " + words[i]);
+                    }
+                }
+            }
+        }
+
+        try {
+            collators[0].getSortKeyPrefixes(words, new long[words.length - 1]);
+            errln("getSortKeyPrefixes() should reject a too-short prefixes array");
+        } catch (IllegalArgumentException expected) {
+        }
+    }
+
+    @Test
+    public void TestCollationSort() {
+        String[] words = {
+            "", "a", "ab", "Abc", "\u00e4b", "a\u0308b", "\u4e00", "\ud800\udc00", "12", "abc def",
+            "\u0e40\u0e01", "\u00c5", "A\u030a", "zzz", "a-b", "ABC"
+        };
+        // Enough strings for parallel sorting, with many duplicates for checking stability.
+        String[] sources = new String[20000];
+        for (int i = 0; i < sources.length; ++i) {
+            String word = words[i % words.length];
+            sources[i] = (i % 3) == 0 ? word : word + (i % 101);
+        }
+        final RuleBasedCollator coll = (RuleBasedCollator) Collator.getInstance(ULocale.ROOT);
+        coll.setStrength(Collator.SECONDARY);
+
+        // Expected: stable sort by full sort keys.
+        final RawCollationKey[] keys = new RawCollationKey[sources.length];
+        Integer[] order = new Integer[sources.length];
+        for (int i = 0; i < sources.length; ++i) {
+            keys[i] = coll.getRawCollationKey(sources[i], null);
+            order[i] = i;
+        }
+        Arrays.sort(order, new Comparator<Integer>() {
+            @Override
+            public int compare(Integer a, Integer b) {
+                return keys[a].compareTo(keys[b]);
+            }
+        });
+
+        ForkJoinPool pool = new ForkJoinPool(3);
+        try {
+            ForkJoinPool[] pools = { null, pool };
+            long[] budgets = { Long.MAX_VALUE, 0 };  // full sort keys vs. prefixes
+            for (ForkJoinPool p : pools) {
+                for (long maxMemory : budgets) {
+                    CollationSort sorter = new CollationSort(coll).setPool(p).setMaxMemory(maxMemory);
+                    String variant = "pool=" + (p != null) + " maxMemory=" + maxMemory;
+                    int[] indexes = sorter.sortIndexes(sources);
+                    for (int i = 0; i < sources.length; ++i) {
+                        if (indexes[i] != order[i]) {
+                            errln("sortIndexes() " + variant + " differs at " + i);
+                            break;
+                        }
+                    }
+                    String[] sorted = sources.clone();
+                    sorter.sort(sorted);
+                    for (int i = 0; i < sources.length; ++i) {
+                        if (sorted[i] != sources[order[i]]) {
+                            errln("sort() " + variant + " differs at " + i);
+                            break;
+                        }
+                    }
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+
+        // Later changes to the collator do not affect the sorter.
+        CollationSort sorter = new CollationSort(coll);
+        coll.setStrength(Collator.PRIMARY);
+        assertTrue("frozen copy of the collator",
+                sorter.getCollator().isFrozen() && sorter.getCollator().getStrength() == Collator.SECONDARY);
+        assertEquals("sortIndexes() with one string", "[0]",
+                Arrays.toString(sorter.sortIndexes(new String[] { "x" })));
+
+        try {
+            sorter.setMaxMemory(-1);
+            errln("setMaxMemory(-1) should throw an IllegalArgumentException");
+        } catch (IllegalArgumentException expected) {
+        }
+    }
 }
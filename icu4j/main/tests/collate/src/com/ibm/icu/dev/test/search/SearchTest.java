@@ -25,6 +25,10 @@
 
 import java.text.CharacterIterator;
 import java.text.StringCharacterIterator;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import java.util.Locale;
 
 import org.junit.Before;
@@ -2249,4 +2253,183 @@ public void TestLongPattern() {
             errln("Error initializing a new StringSearch object");
         }
     }
+
+    boolean assertCompiledEqual(SearchData search, boolean overlap) {
+        RuleBasedCollator collator = getCollator(search.collator);
+        BreakIterator breaker = getBreakIterator(search.breaker);
+
+        collator.setStrength(search.strength);
+        StringSearch.CompiledPattern pattern;
+        try {
+            pattern = StringSearch.compile(search.pattern, collator, breaker, search.cmpType);
+        } catch (Exception e) {
+            errln("Error compiling pattern " + e.getMessage());
+            return false;
+        } finally {
+            collator.setStrength(TERTIARY);
+        }
+
+        int count = 0;
+        while (search.offset[count] >= 0) {
+            ++count;
+        }
+        int[] expected = new int[2 * count];
+        for (int i = 0; i < count; ++i) {
+            expected[2 * i] = search.offset[i];
+            expected[2 * i + 1] = search.offset[i] + search.size[i];
+        }
+        // Search a CharSequence other than a String.
+        int[] matches = pattern.findAll(new StringBuilder(search.text), overlap);
+        if (!Arrays.equals(expected, matches)) {
+            errln("Text: " + search.text);
+            errln("Searching for compiled pattern: " + search.pattern);
+            errln("Expected matches " + Arrays.toString(expected) + "; got " + Arrays.toString(matches));
+            return false;
+        }
+        return true;
+    }
+
+    @Test
+    public void TestCompiledPattern() {
+        SearchData[][] tables = {
+            BASIC, BREAKITERATOREXACT, COMPOSITEBOUNDARIES, NONNORMEXACT,
+            NONOVERLAP, STRENGTH, SUPPLEMENTARY, INDICPREFIXMATCH
+        };
+        for (SearchData[] table : tables) {
+            for (int count = 0; count < table.length; count++) {
+                if (!assertCompiledEqual(table[count], false)) {
+                    errln("Error at test number " + count);
+                }
+            }
+        }
+        m_en_us_.setDecomposition(Collator.CANONICAL_DECOMPOSITION);
+        try {
+            for (int count = 0; count < NORMEXACT.length; count++) {
+                if (!assertCompiledEqual(NORMEXACT[count], false)) {
+                    errln("Error at normalization test number " + count);
+                }
+            }
+        } finally {
+            m_en_us_.setDecomposition(Collator.NO_DECOMPOSITION);
+        }
+        for (int count = 0; count < OVERLAP.length; count++) {
+            if (!assertCompiledEqual(OVERLAP[count], true)) {
+                errln("Error at overlap test number " + count);
+            }
+        }
+        m_en_us_.setAlternateHandlingShifted(true);
+        try {
+            for (int count = 0; count < VARIABLE.length; count++) {
+                if (!assertCompiledEqual(VARIABLE[count], false)) {
+                    errln("Error at variable test number " + count);
+                }
+            }
+        } finally {
+            m_en_us_.setAlternateHandlingShifted(false);
+        }
+
+        // The compiled pattern is not affected by later changes to the collator.
+        StringSearch.CompiledPattern pattern = StringSearch.compile("string", m_en_us_);
+        m_en_us_.setStrength(PRIMARY);
+        try {
+            assertEquals("findAll() after changing the collator strength", "[20, 26]",
+                    Arrays.toString(pattern.findAll("silly spring STRING string")));
+        } finally {
+            m_en_us_.setStrength(TERTIARY);
+        }
+
+        // A pattern without collation elements at the strength never matches, like with StringSearch.
+        RuleBasedCollator primary = m_en_us_.cloneAsThawed();
+        primary.setStrength(PRIMARY);
+        String text = "a\u0308bc";
+        StringSearch strsrch = new StringSearch("\u0308", new StringCharacterIterator(text), primary);
+        assertEquals("StringSearch.first() with an ignorable pattern", SearchIterator.DONE, strsrch.first());
+        assertEquals("findAll() with an ignorable pattern", "[]",
+                Arrays.toString(StringSearch.compile("\u0308", primary).findAll(text)));
+        assertEquals("findAll() with an ignorable pattern and overlap", "[]",
+                Arrays.toString(StringSearch.compile("\u0308", primary).findAll(text, true)));
+
+        // Example from the CompiledPattern documentation.
+        RuleBasedCollator german = (RuleBasedCollator) Collator.getInstance(ULocale.GERMAN);
+        german.setStrength(PRIMARY);
+        assertEquals("findAll() with German strasse", "[4, 10, 16, 23]",
+                Arrays.toString(StringSearch.compile("strasse", german).findAll("Die Straße, die Strasse")));
+
+        try {
+            StringSearch.compile("", m_en_us_);
+            errln("compile(\"\") should throw an IllegalArgumentException");
+        } catch (IllegalArgumentException expected) {
+        }
+    }
+
+    /**
+     * Returns the matches of a pattern set as sorted "pattern:start-limit" strings.
+     */
+    private static List<String> toSortedMatches(int[] matches) {
+        List<String> list = new ArrayList<String>();
+        for (int i = 0; i < matches.length; i += 3) {
+            list.add(matches[i] + ":" + matches[i + 1] + "-" + matches[i + 2]);
+        }
+        Collections.sort(list);
+        return list;
+    }
+
+    @Test
+    public void TestCompiledPatternSet() {
+        // Each pattern set finds the same matches as its patterns searched one at a time
+        // with overlapping matches.
+        List<String> patterns = new ArrayList<String>();
+        for (SearchData search : BASIC) {
+            if (!patterns.contains(search.pattern)) {
+                patterns.add(search.pattern);
+            }
+        }
+        String[] patternArray = patterns.toArray(new String[patterns.size()]);
+        int[] strengths = { PRIMARY, SECONDARY, TERTIARY };
+        for (int strength : strengths) {
+            m_en_us_.setStrength(strength);
+            try {
+                StringSearch.CompiledPatternSet set = StringSearch.compile(patternArray, m_en_us_);
+                assertEquals("size()", patternArray.length, set.size());
+                for (SearchData search : BASIC) {
+                    int[] expected = new int[0];
+                    for (int p = 0; p < patternArray.length; ++p) {
+                        int[] single = StringSearch.compile(patternArray[p], m_en_us_)
+                                .findAll(search.text, true);
+                        int[] joined = Arrays.copyOf(expected, expected.length + single.length / 2 * 3);
+                        for (int i = 0, j = expected.length; i < single.length; i += 2, j += 3) {
+                            joined[j] = p;
+                            joined[j + 1] = single[i];
+                            joined[j + 2] = single[i + 1];
+                        }
+                        expected = joined;
+                    }
+                    assertEquals("findAll(" + search.text + ") at strength " + strength,
+                            toSortedMatches(expected),
+                            toSortedMatches(set.findAll(new StringBuilder(search.text))));
+                }
+            } finally {
+                m_en_us_.setStrength(TERTIARY);
+            }
+        }
+
+        // Matches are ordered by their ends; patterns with the same collation elements
+        // are reported separately.
+        RuleBasedCollator collator = m_en_us_.cloneAsThawed();
+        collator.setStrength(PRIMARY);
+        StringSearch.CompiledPatternSet set = StringSearch.compile(
+                new String[] { "cafe", "creme", "creme brulee" }, collator);
+        assertEquals("findAll() with nested matches", "[1, 0, 5, 2, 0, 12, 0, 16, 20]",
+                Arrays.toString(set.findAll("Crème brûlée au café")));
+        set = StringSearch.compile(new String[] { "resume", "résumé" }, collator);
+        assertEquals("getPattern(1)", "résumé", set.getPattern(1));
+        assertEquals("findAll() with equivalent patterns", "[0, 3, 9, 1, 3, 9, 0, 16, 22, 1, 16, 22]",
+                Arrays.toString(set.findAll("my résumé, your resume")));
+
+        try {
+            StringSearch.compile(new String[] { "a", "" }, m_en_us_);
+            errln("compile(String[]) with an empty pattern should throw an IllegalArgumentException");
+        } catch (IllegalArgumentException expected) {
+        }
+    }
 }
@@ -226,6 +226,50 @@ public void testFields() {
         }
     }
 
+    @Test
+    public void testWithoutFields() {
+        for (String str : EXAMPLE_STRINGS) {
+            StringBuilder sb1 = new StringBuilder();
+            FormattedStringBuilder sb2 = new FormattedStringBuilder(4, false);
+            assertFalse(sb2.hasFields());
+            sb1.append(str).append("xyz");
+            sb2.append(str, NumberFormat.Field.INTEGER);
+            sb2.append("xyz", NumberFormat.Field.CURRENCY);
+            sb1.insert(0, str);
+            sb2.insert(0, str, NumberFormat.Field.SIGN);
+            sb1.insert(1, '-');
+            sb2.insertCodePoint(1, '-', NumberFormat.Field.SIGN);
+            sb1.appendCodePoint(0x1f680);
+            sb2.appendCodePoint(0x1f680, NumberFormat.Field.PERCENT);
+            sb1.append(str.toCharArray());
+            sb2.append(str.toCharArray(), null);
+            assertCharSequenceEquals(str, sb1, sb2);
+
+            sb1.replace(1, 3, "ab");
+            sb2.splice(1, 3, "ab", 0, 2, NumberFormat.Field.EXPONENT);
+            assertCharSequenceEquals(str, sb1, sb2);
+
+            for (int i = 0; i < sb2.length(); i++) {
+                assertEquals(null, sb2.fieldAt(i));
+            }
+            assertEquals(sb2.length(), sb2.toFieldArray().length);
+
+            // Appending to a builder with fields yields null fields.
+            FormattedStringBuilder sb3 = new FormattedStringBuilder();
+            sb3.append(sb2);
+            assertCharSequenceEquals(str, sb1, sb3);
+            assertTrue(sb3.contentEquals(sb2));
+
+            FormattedStringBuilder sb4 = new FormattedStringBuilder(sb2);
+            assertFalse(sb4.hasFields());
+            assertCharSequenceEquals(str, sb1, sb4);
+
+            char[] chars = new char[sb2.length() + 1];
+            sb2.getChars(chars, 1);
+            assertEquals(sb1.toString(), new String(chars, 1, sb2.length()));
+        }
+    }
+
     @Test
     public void testUnlimitedCapacity() {
         FormattedStringBuilder builder = new FormattedStringBuilder();
@@ -6794,4 +6794,41 @@ public void test20961_CurrencyPluralPattern() {
         DecimalFormat decimalFormat = (DecimalFormat) NumberFormat.getInstance(ULocale.US, NumberFormat.PLURALCURRENCYSTYLE);
         assertEquals("Currency pattern", "#,##0.00 ¤¤¤", decimalFormat.toPattern());
     }
+
+    @Test
+    public void testFreeze() {
+        DecimalFormatSymbols EN = DecimalFormatSymbols.getInstance(ULocale.ENGLISH);
+        DecimalFormat df = new DecimalFormat("#,##0.00", EN);
+        assertFalse("new instance is not frozen", df.isFrozen());
+        assertTrue("freeze returns this", df == df.freeze());
+        assertTrue("frozen", df.isFrozen());
+        assertEquals("format", "1,234.50", df.format(1234.5));
+        assertEquals("parse", 1234.5, df.parse("1,234.5", new ParsePosition(0)).doubleValue());
+
+        try {
+            df.setMaximumFractionDigits(5);
+            errln("setter on a frozen DecimalFormat should throw");
+        } catch (UnsupportedOperationException expected) {
+        }
+        try {
+            df.applyPattern("0.0");
+            errln("applyPattern on a frozen DecimalFormat should throw");
+        } catch (UnsupportedOperationException expected) {
+        }
+        try {
+            df.setContext(DisplayContext.CAPITALIZATION_FOR_STANDALONE);
+            errln("setContext on a frozen DecimalFormat should throw");
+        } catch (UnsupportedOperationException expected) {
+        }
+        assertEquals("context unchanged after failed setContext",
+                DisplayContext.CAPITALIZATION_NONE, df.getContext(DisplayContext.Type.CAPITALIZATION));
+        assertEquals("unchanged after failed setters", "1,234.50", df.format(1234.5));
+
+        DecimalFormat thawed = df.cloneAsThawed();
+        assertFalse("cloneAsThawed", thawed.isFrozen());
+        thawed.setMaximumFractionDigits(0);
+        assertEquals("thawed copy is independent", "1,234", thawed.format(1234.4));
+        assertEquals("frozen original is unaffected", "1,234.40", df.format(1234.4));
+        assertFalse("clone of a frozen instance is not frozen", ((DecimalFormat) df.clone()).isFrozen());
+    }
 }
@@ -8,13 +8,22 @@
  */
 package com.ibm.icu.dev.test.impl;
 
+import java.lang.management.ManagementFactory;
+import java.lang.ref.WeakReference;
+import java.util.Arrays;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.junit.runners.JUnit4;
 
 import com.ibm.icu.dev.test.TestFmwk;
+import com.ibm.icu.impl.CacheStats;
 import com.ibm.icu.impl.CacheValue;
 import com.ibm.icu.impl.CacheValue.Strength;
+import com.ibm.icu.impl.SoftCache;
 
 @RunWith(JUnit4.class)
 public class CacheTest extends TestFmwk {
@@ -70,4 +79,158 @@ public void testSoftCacheValue() {
             CacheValue.setStrength(Strength.STRONG);
         }
     }
+
+    /** Counts createInstance() calls, and returns a new object for each one. */
+    private static final class CountingCache extends SoftCache<String, Object, Void> {
+        int created;
+
+        CountingCache(int maxEntries, String... pinnedLocales) {
+            super(maxEntries, pinnedLocales);
+        }
+
+        @Override
+        protected Object createInstance(String key, Void data) {
+            ++created;
+            return key.equals("null") ? null : new Object();
+        }
+    }
+
+    @Test
+    public void testBoundedSoftCache() {
+        CountingCache cache = new CountingCache(3);
+        Object a = cache.getInstance("a", null);
+        assertTrue("a is cached", cache.getInstance("a", null) == a);
+        assertTrue("null value", cache.getInstance("null", null) == null);
+        assertTrue("null value is cached", cache.getInstance("null", null) == null);
+        assertEquals("created a, null", 2, cache.created);
+        cache.getInstance("b", null);
+        cache.getInstance("c", null);
+        assertEquals("created a, null, b, c", 4, cache.created);
+        // One of the four values must have been evicted.
+        cache.getInstance("a", null);
+        cache.getInstance("null", null);
+        cache.getInstance("b", null);
+        cache.getInstance("c", null);
+        assertTrue("some value was evicted", cache.created > 4);
+
+        // A value that is used all the time survives a stream of one-time keys.
+        cache = new CountingCache(4);
+        Object hot = cache.getInstance("hot", null);
+        for (int i = 0; i < 100; ++i) {
+            cache.getInstance("cold" + i, null);
+            assertTrue("hot value is kept", cache.getInstance("hot", null) == hot);
+        }
+        assertEquals("hot value created once", 101, cache.created);
+    }
+
+    @Test
+    public void testPinnedSoftCache() {
+        CountingCache cache = new CountingCache(1, "de", "pt-BR");
+        Object de = cache.getInstance("com/ibm/icu/impl/data/icudt66b/de", null);
+        Object ptBR = cache.getInstance("pt_BR", null);
+        for (int i = 0; i < 10; ++i) {
+            cache.getInstance("de_CH" + i, null);
+        }
+        assertTrue("de is pinned", cache.getInstance("com/ibm/icu/impl/data/icudt66b/de", null) == de);
+        assertTrue("pt_BR is pinned", cache.getInstance("pt_BR", null) == ptBR);
+        assertEquals("no pinned value was re-created", 12, cache.created);
+
+        // Pinned values are held strongly with the unbounded policy as well.
+        cache = new CountingCache(0, "ja");
+        Object ja = cache.getInstance("ja", null);
+        assertTrue("ja is cached", cache.getInstance("ja", null) == ja);
+        assertEquals("ja created once", 1, cache.created);
+
+        // Locales pinned at runtime apply to all caches.
+        SoftCache.addPinnedLocales(Arrays.asList("zxx-CacheTest"));
+        try {
+            cache = new CountingCache(1);
+            Object zxx = cache.getInstance("zxx_CacheTest", null);
+            for (int i = 0; i < 10; ++i) {
+                cache.getInstance("other" + i, null);
+            }
+            assertTrue("zxx_CacheTest is pinned", cache.getInstance("zxx_CacheTest", null) == zxx);
+        } finally {
+            SoftCache.removePinnedLocales(Arrays.asList("zxx-CacheTest"));
+        }
+        cache = new CountingCache(1);
+        cache.getInstance("zxx_CacheTest", null);
+        for (int i = 0; i < 10; ++i) {
+            cache.getInstance("other" + i, null);
+        }
+        cache.getInstance("zxx_CacheTest", null);
+        assertEquals("zxx_CacheTest is not pinned any more", 12, cache.created);
+    }
+
+    @Test
+    public void testCacheStats() throws Exception {
+        CacheStats stats = CacheStats.register(new CacheStats("CacheTest.testCacheStats") {
+            @Override
+            public long getSize() {
+                return 7;
+            }
+        });
+        stats.recordHit();
+        stats.recordHit();
+        stats.recordMiss(100);
+        stats.recordMiss(20);
+        stats.recordMiss(3);
+        stats.recordEviction();
+        stats.recordClearedReference();
+
+        CacheStats.Snapshot snapshot = null;
+        for (CacheStats.Snapshot s : CacheStats.getSnapshots()) {
+            if (s.getName().equals("CacheTest.testCacheStats")) {
+                snapshot = s;
+            }
+        }
+        assertNotNull("registered stats are in the snapshots", snapshot);
+        assertEquals("size", 7, snapshot.getSize());
+        assertEquals("hits", 2, snapshot.getHits());
+        assertEquals("misses", 3, snapshot.getMisses());
+        assertEquals("evictions", 1, snapshot.getEvictions());
+        assertEquals("cleared references", 1, snapshot.getClearedReferences());
+        assertEquals("load time", 123, snapshot.getLoadTimeNanos());
+        stats.recordHit();
+        assertEquals("snapshots do not change", 2, snapshot.getHits());
+
+        CacheStats.registerMBeans();
+        ObjectName name = new ObjectName("com.ibm.icu:type=Cache,name=" +
+                ObjectName.quote("CacheTest.testCacheStats"));
+        assertEquals("hits via JMX", 3L,
+                ManagementFactory.getPlatformMBeanServer().getAttribute(name, "Hits"));
+    }
+
+    @Test
+    public void testCacheStatsMBeanIsWeak() throws Exception {
+        CacheStats.registerMBeans();
+        CacheStats stats = CacheStats.register(new CacheStats("CacheTest.testCacheStatsMBeanIsWeak"));
+        stats.recordHit();
+        ObjectName name = new ObjectName("com.ibm.icu:type=Cache,name=" +
+                ObjectName.quote("CacheTest.testCacheStatsMBeanIsWeak"));
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        assertEquals("hits via JMX", 1L, server.getAttribute(name, "Hits"));
+
+        // The MBean must not keep the stats alive,
+        // and it is unregistered once they have been garbage-collected.
+        // An unreachable control object tells whether the garbage collector ran.
+        WeakReference<CacheStats> ref = new WeakReference<CacheStats>(stats);
+        WeakReference<Object> control = new WeakReference<Object>(new Object());
+        stats = null;
+        for (int i = 0; i < 20 && (ref.get() != null || control.get() != null); ++i) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        if (control.get() != null) {
+            logln("the garbage collector did not run; skipping the rest of the test");
+            return;
+        }
+        assertNull("stats garbage-collected", ref.get());
+        for (int i = 0; i < 20 && server.isRegistered(name); ++i) {
+            // Any registry operation removes the cleared stats.
+            CacheStats.getSnapshots();
+            Thread.sleep(10);
+        }
+        assertFalse("MBean unregistered", server.isRegistered(name));
+    }
 }
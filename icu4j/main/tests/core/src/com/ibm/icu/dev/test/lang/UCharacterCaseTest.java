@@ -1528,6 +1528,101 @@ public void TestFoldBug20316() {
         assertTrue("儊ẖ...->儊h\u0331...", result.startsWith("儊h\u0331"));
     }
 
+    @Test
+    public void TestCaseMapUnchangedReturnsInput() {
+        String[] unchanged = {
+            "", "plain ascii key", "caf\u00e9", "\u03b1\u03b2\u03b3", "\uD801\uDC28\uE000 abc"
+        };
+        for (String s : unchanged) {
+            String name = Utility.escape(s);
+            assertTrue("toLower(" + name + ") returns the input",
+                    s == CaseMap.toLower().apply(Locale.ROOT, s));
+            assertTrue("fold(" + name + ") returns the input", s == UCharacter.foldCase(s, true));
+        }
+        // Only the part after the unchanged prefix is mapped.
+        assertEquals("toLower(long prefix + I)", "abcdefghijklmnopqrstuvwxyzi",
+                CaseMap.toLower().apply(Locale.ROOT, "abcdefghijklmnopqrstuvwxyzI"));
+        assertEquals("toLower(tr, long prefix + I)", "abcdefghijklmnopqrstuvwxyz\u0131",
+                CaseMap.toLower().apply(TURKISH_LOCALE_, "abcdefghijklmnopqrstuvwxyzI"));
+        assertEquals("toLower(el, final sigma)", "\u03b1\u03b2\u03c2",
+                CaseMap.toLower().apply(GREEK_LOCALE_, "\u03b1\u03b2\u03a3"));
+    }
+
+    @Test
+    public void TestFoldChars() {
+        String[] strings = {
+            "", "plain ascii key", "MiXeD CaSe KEY", "Stra\u00dfe", "\u0130stanbul I\u0131",
+            "\uFB03 \u1F88\u0345 \u0390", "\uD801\uDC00\uD801\uDC28 \uD83A\uDD00",
+            "\uFF21\uFF42 \u24B6 \u13A0\uAB70", "lone \uD800 and \uDC00 surrogates"
+        };
+        for (CaseMap.Fold fold : new CaseMap.Fold[] {
+                CaseMap.fold(), CaseMap.fold().turkic(), CaseMap.fold().omitUnchangedText() }) {
+            for (String s : strings) {
+                String name = Utility.escape(s);
+                String expected = UCharacter.foldCase(s,
+                        fold == CaseMap.fold().turkic() ?
+                                UCharacter.FOLD_CASE_EXCLUDE_SPECIAL_I : UCharacter.FOLD_CASE_DEFAULT);
+                // Surround the source range with other characters.
+                char[] src = ("AB" + s + "C").toCharArray();
+                char[] dest = new char[expected.length() + 5];
+                int length = fold.apply(src, 2, 2 + s.length(), dest, 3);
+                assertEquals("fold(char[] " + name + ")", expected, new String(dest, 3, length));
+
+                // Too-short destination: as much as fits, and the full length.
+                if (expected.length() > 0) {
+                    char[] shortDest = new char[expected.length() - 1];
+                    assertEquals("fold(char[] " + name + ") overflow length",
+                            expected.length(), fold.apply(src, 2, 2 + s.length(), shortDest, 0));
+                    assertEquals("fold(char[] " + name + ") overflow contents",
+                            expected.substring(0, shortDest.length), new String(shortDest));
+                }
+            }
+        }
+
+        char[] chars = "abc".toCharArray();
+        try {
+            CaseMap.fold().apply(chars, 0, 3, chars, 0);
+            errln("fold(char[]) with the same source and destination array should throw");
+        } catch (IllegalArgumentException expected) {
+        }
+        try {
+            CaseMap.fold().apply(chars, 2, 4, new char[5], 0);
+            errln("fold(char[]) with an out-of-bounds source range should throw");
+        } catch (IndexOutOfBoundsException expected) {
+        }
+    }
+
+    @Test
+    public void TestFoldHashCodeAndEquals() {
+        String[] strings = {
+            "", "plain ascii key", "PLAIN ASCII KEY", "MiXeD CaSe KEY", "mixed case key",
+            "Stra\u00dfe", "STRASSE", "strasse", "stra\u1E9Ee", "\u0130stanbul I\u0131", "istanbul ii",
+            "\uFB03", "FFI", "\u1F88\u0345", "\u1F00\u03B9\u03B9", "\u00B5\u03A3\u03C2", "\u03BC\u03C3\u03C3",
+            "\uD801\uDC00\uD801\uDC28", "\uD801\uDC28\uD801\uDC28", "lone \uD800 and \uDC00 surrogates"
+        };
+        for (CaseMap.Fold fold : new CaseMap.Fold[] {
+                CaseMap.fold(), CaseMap.fold().turkic(), CaseMap.fold().omitUnchangedText() }) {
+            int options = fold == CaseMap.fold().turkic() ?
+                    UCharacter.FOLD_CASE_EXCLUDE_SPECIAL_I : UCharacter.FOLD_CASE_DEFAULT;
+            for (String s1 : strings) {
+                String folded1 = UCharacter.foldCase(s1, options);
+                assertEquals("fold.hashCode(" + Utility.escape(s1) + ")",
+                        folded1.hashCode(), fold.hashCode(s1));
+                assertEquals("fold.hashCode(StringBuilder " + Utility.escape(s1) + ")",
+                        folded1.hashCode(), fold.hashCode(new StringBuilder(s1)));
+                for (String s2 : strings) {
+                    boolean expected = folded1.equals(UCharacter.foldCase(s2, options));
+                    assertEquals("fold.equalsIgnoreCase(" + Utility.escape(s1) + ", " +
+                            Utility.escape(s2) + ")", expected, fold.equalsIgnoreCase(s1, s2));
+                }
+            }
+        }
+        // Turkic folding of I differs from the default.
+        assertTrue("default I=i", CaseMap.fold().equalsIgnoreCase("I", "i"));
+        assertFalse("turkic I!=i", CaseMap.fold().turkic().equalsIgnoreCase("I", "i"));
+        assertTrue("turkic I=\u0131", CaseMap.fold().turkic().equalsIgnoreCase("I", "\u0131"));
+    }
+
     // private data members - test data --------------------------------------
 
     private static final Locale TURKISH_LOCALE_ = new Locale("tr", "TR");
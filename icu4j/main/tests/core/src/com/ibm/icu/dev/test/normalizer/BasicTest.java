@@ -9,6 +9,9 @@
 
 package com.ibm.icu.dev.test.normalizer;
 
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
 import java.text.StringCharacterIterator;
 import java.util.Random;
 
@@ -27,6 +30,8 @@
 import com.ibm.icu.text.FilteredNormalizer2;
 import com.ibm.icu.text.Normalizer;
 import com.ibm.icu.text.Normalizer2;
+import com.ibm.icu.text.NormalizingReader;
+import com.ibm.icu.text.NormalizingWriter;
 import com.ibm.icu.text.UCharacterIterator;
 import com.ibm.icu.text.UTF16;
 import com.ibm.icu.text.UnicodeSet;
@@ -2943,6 +2948,151 @@ public void TestNoopNormalizer2() {
         assertTrue("noop.isInert()", noop.isInert(0x0308));
     }
 
+    @Test
+    public void TestNormalizeChars() {
+        Normalizer2[] normalizers = {
+            Normalizer2.getNFCInstance(), Normalizer2.getNFDInstance(),
+            Normalizer2.getNFKCInstance(), Normalizer2.getNFKDInstance(),
+            Normalizer2.getNFKCCasefoldInstance(),
+            Normalizer2.getInstance(null, "nfc", Normalizer2.Mode.FCD),
+            Normalizer2.getInstance(null, "nfc", Normalizer2.Mode.COMPOSE_CONTIGUOUS),
+            new FilteredNormalizer2(Normalizer2.getNFCInstance(), new UnicodeSet("[^ü]")),
+            Norm2AllModes.NOOP_NORMALIZER2
+        };
+        String[] strings = {
+            "", "plain ASCII text", "e\u0301", "Ca\u0301fe\u0301 cre\u0300me, nai\u0308ve",
+            "a\u0308\u0323bc\u0327\u0301", "\u1100\u1161\u11A8 \uAC00\u11A8",
+            "\uD835\uDC9C\uFB01 \u01C5 \u2460", "ABC\u0345\u0300\u0313 \u1FBC",
+            "q\u0307\u0323x\uD800y\uDC00", "ü\u0323 u\u0308\u0323"
+        };
+        for (Normalizer2 n2 : normalizers) {
+            for (String s : strings) {
+                String expected = n2.normalize(s);
+                String name = n2.getClass().getSimpleName() + ".normalize(char[] " + Utility.escape(s) + ")";
+                // Surround the source range with other characters.
+                char[] src = ("ab" + s + "c").toCharArray();
+                char[] dest = new char[expected.length() + 5];
+                int length = n2.normalize(src, 2, 2 + s.length(), dest, 3);
+                assertEquals(name + " length", expected.length(), length);
+                assertEquals(name, expected, new String(dest, 3, length));
+
+                // Too-short destination: as much as fits, and the full length.
+                if (expected.length() > 1) {
+                    char[] shortDest = new char[expected.length() - 1];
+                    assertEquals(name + " overflow length",
+                            expected.length(), n2.normalize(src, 2, 2 + s.length(), shortDest, 0));
+                    assertEquals(name + " overflow contents",
+                            expected.substring(0, shortDest.length), new String(shortDest));
+                }
+            }
+            // A lead surrogate at srcLimit-1 must not be paired with the trail surrogate after it.
+            char[] src = { 'e', 0x301, 0xD834, 0xDD65, 'x', 'y', 'z' };
+            String expected = n2.normalize("é\uD834");
+            char[] dest = new char[expected.length() + 2];
+            int length = n2.normalize(src, 0, 3, dest, 0);
+            assertEquals(n2.getClass().getSimpleName() + ".normalize(char[]) lead surrogate at the limit",
+                    expected, new String(dest, 0, length));
+        }
+
+        // Normalized input is returned as is.
+        String normalized = "plain ASCII text, café";
+        assertTrue("normalize(normalized String) returns the same object",
+                normalized == Normalizer2.getNFCInstance().normalize(normalized));
+        assertEquals("normalize(StringBuilder)", "café",
+                Normalizer2.getNFCInstance().normalize(new StringBuilder("cafe\u0301")));
+
+        char[] chars = "abc".toCharArray();
+        try {
+            Normalizer2.getNFCInstance().normalize(chars, 0, 3, chars, 0);
+            errln("normalize(char[]) with the same source and destination array should throw");
+        } catch (IllegalArgumentException expected) {
+        }
+        try {
+            Normalizer2.getNFCInstance().normalize(chars, 2, 4, new char[5], 0);
+            errln("normalize(char[]) with an out-of-bounds source range should throw");
+        } catch (IndexOutOfBoundsException expected) {
+        }
+    }
+
+    @Test
+    public void TestNormalizingReaderWriter() throws IOException {
+        Normalizer2[] normalizers = {
+            Normalizer2.getNFCInstance(), Normalizer2.getNFDInstance(),
+            Normalizer2.getNFKCCasefoldInstance(),
+            new FilteredNormalizer2(Normalizer2.getNFCInstance(), new UnicodeSet("[^ü]"))
+        };
+        String[] texts = {
+            // Long combining sequences, segments removed by NFKC_Casefold,
+            // and surrogate pairs which must not be split across windows.
+            "Ca\u0301fe\u0301 cre\u0300me a\u0308\u0323\u0301\u0302\u0303\u0304b " +
+                "\u00AD\u00AD\u00AD x \uD835\uDC9C\uD835\uDC9C\uD834\uDD5E\uD834\uDD65 " +
+                "\u1100\u1161\u11A8\uAC00\u11A8 u\u0308\u0323\u0307 \u1FBC\u0345 end\u0327",
+            // Unpaired lead surrogates at the ends of windows and chunks,
+            // some of them followed by trail surrogates after combining marks.
+            "\uD834e\uD834a\u00AD\u0301\u0308\uD800\uDD65\u0301x \u0308\uD800\u0301\uD800ea\uDC00 " +
+                "\uD834\u0301\uDD65\uDC00 \u0308\uD834"
+        };
+        Random random = new Random(42);
+        for (Normalizer2 n2 : normalizers) {
+            for (String text : texts) {
+                String expected = n2.normalize(text);
+                String name = n2.getClass().getSimpleName();
+                for (int windowSize = 1; windowSize <= 10; ++windowSize) {
+                    // Write in chunks of random lengths.
+                    StringWriter sw = new StringWriter();
+                    NormalizingWriter writer = new NormalizingWriter(sw, n2, windowSize);
+                    for (int i = 0; i < text.length();) {
+                        int n = Math.min(random.nextInt(6), text.length() - i);
+                        if (n == 0) {
+                            writer.write(text.charAt(i++));
+                        } else {
+                            writer.write(text, i, n);
+                            i += n;
+                        }
+                    }
+                    writer.close();
+                    assertEquals(name + " NormalizingWriter window " + windowSize, expected, sw.toString());
+
+                    // Read with both read() and read(char[]).
+                    NormalizingReader reader = new NormalizingReader(new StringReader(text), n2, windowSize);
+                    StringBuilder sb = new StringBuilder();
+                    char[] buffer = new char[4];
+                    for (;;) {
+                        if (random.nextBoolean()) {
+                            int c = reader.read();
+                            if (c < 0) { break; }
+                            sb.append((char)c);
+                        } else {
+                            int n = reader.read(buffer, 0, 1 + random.nextInt(buffer.length));
+                            if (n < 0) { break; }
+                            assertTrue(name + " NormalizingReader read(char[]) > 0", n > 0);
+                            sb.append(buffer, 0, n);
+                        }
+                    }
+                    reader.close();
+                    assertEquals(name + " NormalizingReader window " + windowSize, expected, sb.toString());
+                }
+            }
+        }
+
+        // finish() normalizes the pending segment without closing the writer.
+        StringWriter sw = new StringWriter();
+        NormalizingWriter writer = new NormalizingWriter(sw, Normalizer2.getNFCInstance(), 4);
+        writer.write("abcde\u0301");
+        writer.flush();
+        assertEquals("NormalizingWriter.flush() keeps the pending segment", "abc", sw.toString());
+        writer.finish();
+        assertEquals("NormalizingWriter.finish()", "abcd\u00E9", sw.toString());
+        writer.write("\u0308");
+        writer.close();
+        assertEquals("NormalizingWriter after finish()", "abcd\u00E9\u0308", sw.toString());
+        try {
+            writer.write('x');
+            errln("NormalizingWriter.write() after close() should throw");
+        } catch (IOException expected) {
+        }
+    }
+
     /*
      * Abstract class Normalizer2 has non-abstract methods which are overwritten by
      * its derived classes. To test these methods a derived class is defined here.
@@ -91,7 +91,7 @@ public void mutableEqualsImmutable() {
         FormattedStringBuilder nsb1 = new FormattedStringBuilder();
         MicroProps micros1 = new MicroProps(false);
         mod.addToChain(micros1);
-        mod.processQuantity(fq);
+        mod.processQuantity(fq, micros1);
         micros1.modMiddle.apply(nsb1, 0, 0);
 
         FormattedStringBuilder nsb2 = new FormattedStringBuilder();
@@ -103,7 +103,7 @@ public void mutableEqualsImmutable() {
         MicroProps micros3 = new MicroProps(false);
         mod.addToChain(micros3);
         mod.setPatternAttributes(SignDisplay.ALWAYS, false);
-        mod.processQuantity(fq);
+        mod.processQuantity(fq, micros3);
         micros3.modMiddle.apply(nsb3, 0, 0);
 
         assertTrue(nsb1 + " vs. " + nsb2, nsb1.contentEquals(nsb2));
@@ -8,9 +8,11 @@
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
+import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.math.BigDecimal;
+import java.math.MathContext;
 import java.math.RoundingMode;
 import java.text.FieldPosition;
 import java.text.Format;
@@ -2561,6 +2563,164 @@ public void formatTypes() {
                         .toString());
     }
 
+    @Test
+    public void formatTo() {
+        LocalizedNumberFormatter formatter = NumberFormatter.withLocale(ULocale.GERMAN)
+                .unit(USD)
+                .precision(Precision.fixedFraction(2));
+
+        // Appendable; repeated calls reuse the scratch objects.
+        for (int i = 0; i < 5; i++) {
+            StringBuilder sb = new StringBuilder("x");
+            assertEquals("Appendable, double",
+                    "x" + formatter.format(-1234.5).toString(),
+                    formatter.formatTo(-1234.5, sb).toString());
+            sb.setLength(0);
+            assertEquals("Appendable, long",
+                    formatter.format(98765L).toString(),
+                    formatter.formatTo(98765L, sb).toString());
+        }
+
+        // char[]
+        String expected = formatter.format(1234.5).toString();
+        char[] dest = new char[expected.length() + 3];
+        assertEquals("char[] length", expected.length(), formatter.formatTo(1234.5, dest, 2));
+        assertEquals("char[] contents", expected, new String(dest, 2, expected.length()));
+        String expectedLong = formatter.format(7L).toString();
+        assertEquals("char[] length, long", expectedLong.length(), formatter.formatTo(7L, dest, 0));
+        assertEquals("char[] contents, long", expectedLong, new String(dest, 0, expectedLong.length()));
+        try {
+            formatter.formatTo(1234.5, dest, 4);
+            fail("Expected IndexOutOfBoundsException");
+        } catch (IndexOutOfBoundsException e) {
+            assertEquals("required length", Integer.toString(expected.length()), e.getMessage());
+        }
+
+        // Reentrant use of the scratch objects from within the Appendable.
+        final LocalizedNumberFormatter inner = NumberFormatter.withLocale(ULocale.ENGLISH);
+        final StringBuilder nested = new StringBuilder();
+        Appendable appendable = new Appendable() {
+            @Override
+            public Appendable append(CharSequence csq) {
+                inner.formatTo(42.5, nested);
+                nested.append('|').append(csq);
+                return this;
+            }
+            @Override
+            public Appendable append(CharSequence csq, int start, int end) {
+                return append(csq.subSequence(start, end));
+            }
+            @Override
+            public Appendable append(char c) {
+                nested.append(c);
+                return this;
+            }
+        };
+        formatter.formatTo(3.0, appendable);
+        assertEquals("Reentrant formatTo", "42.5|" + formatter.format(3.0).toString(), nested.toString());
+    }
+
+    @Test
+    public void formatToAllocation() throws Exception {
+        // Thread allocation counting is a HotSpot extension of ThreadMXBean.
+        java.lang.management.ThreadMXBean threadBean =
+                java.lang.management.ManagementFactory.getThreadMXBean();
+        Method getAllocatedBytes;
+        try {
+            getAllocatedBytes = Class.forName("com.sun.management.ThreadMXBean")
+                    .getMethod("getThreadAllocatedBytes", long.class);
+        } catch (ClassNotFoundException e) {
+            getAllocatedBytes = null;
+        }
+        org.junit.Assume.assumeTrue(getAllocatedBytes != null
+                && getAllocatedBytes.getDeclaringClass().isInstance(threadBean)
+                && (Long) getAllocatedBytes.invoke(threadBean, Thread.currentThread().getId()) >= 0);
+
+        LocalizedNumberFormatter formatter = NumberFormatter.withLocale(ULocale.ENGLISH)
+                .unit(USD)
+                .precision(Precision.fixedFraction(2));
+        StringBuilder sb = new StringBuilder(100);
+        char[] dest = new char[100];
+        // Warm up the formatter, the per-thread scratch objects and the reflective call.
+        for (int i = 0; i < 1000; i++) {
+            sb.setLength(0);
+            formatter.formatTo(i * 37L, sb);
+            formatter.formatTo(i * 0.25, dest, 0);
+        }
+        long threadId = Thread.currentThread().getId();
+        long before = (Long) getAllocatedBytes.invoke(threadBean, threadId);
+        for (int i = 0; i < 10000; i++) {
+            sb.setLength(0);
+            formatter.formatTo(i * 37L, sb);
+            formatter.formatTo(i * 0.25, dest, 0);
+        }
+        long allocated = (Long) getAllocatedBytes.invoke(threadBean, threadId) - before;
+        // Allow for a little noise from the measurement itself, but much less than one object
+        // per call.
+        assertTrue("formatTo allocated " + allocated + " bytes in 20000 calls", allocated < 20000);
+    }
+
+    @Test
+    public void compile() {
+        // A threshold of 0 means that the formatter never compiles itself, so the first formatter
+        // only runs the static path, and the second one only runs the compiled path.
+        LocalizedNumberFormatter uncompiled = NumberFormatter.withLocale(ULocale.FRANCE)
+                .unit(USD)
+                .precision(Precision.fixedFraction(2))
+                .threshold(0L);
+        LocalizedNumberFormatter compiled = NumberFormatter.withLocale(ULocale.FRANCE)
+                .unit(USD)
+                .precision(Precision.fixedFraction(2))
+                .threshold(0L);
+        assertTrue("compile() returns this", compiled == compiled.compile());
+        assertTrue("compile() is idempotent", compiled == compiled.compile());
+        double[] inputs = { -1234.5, 0, 0.001, 98765.4321, Double.NaN };
+        for (double input : inputs) {
+            assertEquals("compiled vs. static, " + input,
+                    uncompiled.format(input).toString(),
+                    compiled.format(input).toString());
+        }
+
+        // Formatters that cannot be expressed as a skeleton still compile, just not shared.
+        LocalizedNumberFormatter custom = NumberFormatter.withLocale(ULocale.ENGLISH)
+                .symbols(DecimalFormatSymbols.getInstance(ULocale.GERMANY))
+                .threshold(0L);
+        assertEquals("custom symbols, uncompiled", "1.234,5", custom.format(1234.5).toString());
+        assertEquals("custom symbols, compiled", "1.234,5", custom.compile().format(1234.5).toString());
+    }
+
+    @Test
+    public void compileShared() throws Exception {
+        Field compiledField = LocalizedNumberFormatter.class.getDeclaredField("compiled");
+        compiledField.setAccessible(true);
+        LocalizedNumberFormatter base = NumberFormatter.withLocale(ULocale.FRANCE)
+                .unit(USD)
+                .precision(Precision.fixedFraction(2))
+                .scale(Scale.byBigDecimal(new BigDecimal("1.1")))
+                .compile();
+        LocalizedNumberFormatter same = NumberFormatter.withLocale(ULocale.FRANCE)
+                .unit(USD)
+                .precision(Precision.fixedFraction(2))
+                .scale(Scale.byBigDecimal(new BigDecimal("1.1")))
+                .compile();
+        assertTrue("equal settings share the compiled formatter",
+                compiledField.get(base) == compiledField.get(same));
+
+        // Settings that differ only in a MathContext have the same skeleton, but must not share.
+        @SuppressWarnings("deprecation")
+        LocalizedNumberFormatter[] different = {
+                base.precision(Precision.fixedFraction(2).withMode(new MathContext(0, RoundingMode.CEILING))),
+                base.scale(Scale.byBigDecimal(new BigDecimal("1.1")).withMathContext(new MathContext(2))),
+                base.precision(Precision.fixedFraction(3)) };
+        for (LocalizedNumberFormatter formatter : different) {
+            String expected = formatter.threshold(0L).format(1.23).toString();
+            formatter.compile();
+            assertTrue("different settings do not share the compiled formatter: " + expected,
+                    compiledField.get(base) != compiledField.get(formatter));
+            assertEquals("compiled vs. static", expected, formatter.format(1.23).toString());
+        }
+    }
+
     @Test
     public void fieldPositionLogic() {
         String message = "Field position logic test";
@@ -15,12 +15,17 @@
 package com.ibm.icu.dev.test.rbbi;
 
 import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.io.PrintStream;
+import java.io.Reader;
+import java.io.StringReader;
 import java.text.CharacterIterator;
 import java.text.StringCharacterIterator;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Locale;
+import java.util.concurrent.ForkJoinPool;
 
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -29,6 +34,7 @@
 import com.ibm.icu.dev.test.TestFmwk;
 import com.ibm.icu.text.BreakIterator;
 import com.ibm.icu.text.RuleBasedBreakIterator;
+import com.ibm.icu.text.RuleBasedSegmenter;
 import com.ibm.icu.util.ULocale;
 
 /**
@@ -162,6 +168,29 @@ public void TestGetSetText() {
         assertEquals("", csText.length(), lineIter.current());
     }
 
+    /**
+     * Tests that setText(String) and setText(CharSequence) call an override of
+     * setText(CharacterIterator) in a subclass.
+     */
+    @Test
+    public void TestSetTextSubclass() {
+        final List<CharacterIterator> texts = new ArrayList<CharacterIterator>();
+        RuleBasedBreakIterator bi = new RuleBasedBreakIterator(".;") {
+            @Override
+            public void setText(CharacterIterator newText) {
+                texts.add(newText);
+                super.setText(newText);
+            }
+        };
+        bi.setText("abc");
+        assertEquals("setText(String) calls the override", 1, texts.size());
+        assertEquals("setText(String) text", new StringCharacterIterator("abc"), texts.get(0));
+        bi.setText((CharSequence)new StringBuilder("wxyz"));
+        assertEquals("setText(CharSequence) calls the override", 2, texts.size());
+        assertEquals("setText(CharSequence) text", 'w', texts.get(1).first());
+        assertEquals("iteration after setText(CharSequence)", 4, bi.last());
+    }
+
     /**
       * Testing the methods first(), next(), next(int) and following() of RuleBasedBreakIterator
       *   TODO:  Most of this test should be retired, rule behavior is much better covered by
@@ -460,6 +489,259 @@ private void doBoundaryTest(BreakIterator bi, String text, int[] boundaries) {
         }
     }
 
+    /**
+     * Text set as a String or CharSequence is analyzed directly rather than through a
+     * CharacterIterator; both paths must produce the same boundaries and rule status values.
+     */
+    @Test
+    public void TestDirectText() {
+        String text = "Hello, world! \u4e00\u4e8c\u4e09 12.5 \ud800\udc00\ud800 caf\u00e9 \udc00x. Next?";
+        BreakIterator[] bis = {
+                BreakIterator.getCharacterInstance(ULocale.ENGLISH),
+                BreakIterator.getWordInstance(ULocale.ENGLISH),
+                BreakIterator.getLineInstance(ULocale.ENGLISH),
+                BreakIterator.getSentenceInstance(ULocale.ENGLISH)
+        };
+        for (BreakIterator bi : bis) {
+            BreakIterator ciBI = (BreakIterator)bi.clone();
+            ciBI.setText(new StringCharacterIterator(text));
+            BreakIterator csBI = (BreakIterator)bi.clone();
+            csBI.setText(new StringBuilder(text));
+            bi.setText(text);
+
+            for (int p = bi.first(), q = ciBI.first(), r = csBI.first();;
+                    p = bi.next(), q = ciBI.next(), r = csBI.next()) {
+                assertEquals("next()", q, p);
+                assertEquals("next() on CharSequence", q, r);
+                assertEquals("getRuleStatus() at " + q, ciBI.getRuleStatus(), bi.getRuleStatus());
+                if (q == BreakIterator.DONE) {
+                    break;
+                }
+            }
+            for (int p = bi.last(), q = ciBI.last(); q != BreakIterator.DONE; p = bi.previous(), q = ciBI.previous()) {
+                assertEquals("previous()", q, p);
+            }
+            for (int i = 0; i <= text.length(); ++i) {
+                assertEquals("following(" + i + ")", ciBI.following(i), bi.following(i));
+                assertEquals("preceding(" + i + ")", ciBI.preceding(i), bi.preceding(i));
+                assertEquals("isBoundary(" + i + ")", ciBI.isBoundary(i), bi.isBoundary(i));
+            }
+        }
+    }
+
+    @Test
+    public void TestSegmenter() {
+        String text = "Hello, world! This is \u4e00\u4e8c\u4e09, 12.5 Mr. Smith's \ud800\udc00 text.\r\nNext? Yes.";
+        BreakIterator[] bis = {
+                BreakIterator.getCharacterInstance(ULocale.ENGLISH),
+                BreakIterator.getWordInstance(ULocale.ENGLISH),
+                BreakIterator.getLineInstance(ULocale.ENGLISH),
+                BreakIterator.getSentenceInstance(ULocale.ENGLISH)
+        };
+        for (BreakIterator bi : bis) {
+            RuleBasedSegmenter segmenter = ((RuleBasedBreakIterator)bi).getSegmenter();
+            bi.setText(text);
+
+            List<Integer> expected = new ArrayList<Integer>();
+            for (int p = bi.first(); p != BreakIterator.DONE; p = bi.next()) {
+                expected.add(p);
+            }
+            int[] boundaries = segmenter.getBoundaries(text);
+            assertEquals("boundary count", expected.size(), boundaries.length);
+            for (int i = 0; i < boundaries.length; ++i) {
+                assertEquals("boundary " + i, (int)expected.get(i), boundaries[i]);
+            }
+
+            int[] buffer = new int[3];
+            for (int start = 0; start <= text.length(); ++start) {
+                int count = segmenter.getBoundaries(text, start, buffer);
+                int p = bi.following(start);
+                for (int i = 0; i < count; ++i, p = bi.next()) {
+                    assertEquals("boundary " + i + " following " + start, p, buffer[i]);
+                }
+                if (count < buffer.length) {
+                    assertEquals("no more boundaries following " + start, BreakIterator.DONE, p);
+                }
+            }
+        }
+        RuleBasedSegmenter segmenter = ((RuleBasedBreakIterator)bis[1]).getSegmenter();
+        assertEquals("empty text", 1, segmenter.getBoundaries("").length);
+        assertEquals("at end of text", 0, segmenter.getBoundaries("abc", 3, new int[1]));
+        try {
+            segmenter.getBoundaries("abc", 4, new int[1]);
+            errln("getBoundaries(text, 4, dest) should throw IllegalArgumentException");
+        } catch (IllegalArgumentException expectedException) {
+        }
+    }
+
+    @Test
+    public void TestBulkBoundaries() {
+        String text = "Hello, world! This is \u4e00\u4e8c\u4e09, 12.5 Mr. Smith's \ud800\udc00 text.\r\nNext? Yes.";
+        RuleBasedBreakIterator bi = (RuleBasedBreakIterator)BreakIterator.getWordInstance(ULocale.ENGLISH);
+        RuleBasedBreakIterator ref = (RuleBasedBreakIterator)bi.clone();
+        RuleBasedSegmenter segmenter = bi.getSegmenter();
+        bi.setText(new StringCharacterIterator(text));
+        ref.setText(text);
+
+        int position = bi.following(10);
+        int status = bi.getRuleStatus();
+        int[] boundaries = new int[4];
+        int[] ruleStatus = new int[4];
+        int[] segmenterBoundaries = new int[4];
+        int[] segmenterRuleStatus = new int[4];
+        for (int start = 0; start <= text.length(); ++start) {
+            for (int limit = start; limit <= text.length(); limit += 5) {
+                int count = bi.getBoundaries(start, limit, boundaries, ruleStatus);
+                assertEquals("segmenter count", count, segmenter.getBoundaries(
+                        text, start, limit, segmenterBoundaries, segmenterRuleStatus));
+                int p = ref.following(start);
+                for (int i = 0; i < count; ++i, p = ref.next()) {
+                    String where = " " + i + " in (" + start + ", " + limit + "]";
+                    assertEquals("boundary" + where, p, boundaries[i]);
+                    assertEquals("rule status" + where, ref.getRuleStatus(), ruleStatus[i]);
+                    assertEquals("segmenter boundary" + where, p, segmenterBoundaries[i]);
+                    assertEquals("segmenter rule status" + where, ref.getRuleStatus(), segmenterRuleStatus[i]);
+                }
+                if (count < boundaries.length && p != BreakIterator.DONE) {
+                    assertTrue("no more boundaries in (" + start + ", " + limit + "]", p > limit);
+                }
+            }
+        }
+        assertEquals("bulk calls do not move the iterator", position, bi.current());
+        assertEquals("bulk calls do not change the rule status", status, bi.getRuleStatus());
+        assertEquals("iteration continues", ref.following(position), bi.next());
+
+        assertEquals("null rule status", 4, bi.getBoundaries(0, text.length(), boundaries, null));
+        assertEquals("short rule status", 1, bi.getBoundaries(0, text.length(), boundaries, new int[1]));
+        try {
+            bi.getBoundaries(5, 4, boundaries, ruleStatus);
+            errln("getBoundaries(5, 4, ...) should throw IllegalArgumentException");
+        } catch (IllegalArgumentException expected) {
+        }
+    }
+
+    @Test
+    public void TestBulkBoundariesDictionary() {
+        // Thai followed directly by Japanese: two dictionary ranges with no rule-based boundary between.
+        String text = "\u0e01\u0e32\u0e23\u0e17\u0e14\u0e25\u0e2d\u0e07\u0e20\u0e32\u0e29\u0e32\u0e44\u0e17\u0e22" +
+                "\u0e04\u0e27\u0e32\u0e21\u0e2a\u0e38\u0e02\u0e02\u0e2d\u0e07\u0e1b\u0e23\u0e30\u0e0a\u0e32\u0e0a\u0e19" +
+                "\u65e5\u672c\u8a9e\u306e\u30c6\u30ad\u30b9\u30c8\u3092\u5206\u5272\u3059\u308b";
+        RuleBasedBreakIterator bi = (RuleBasedBreakIterator)BreakIterator.getWordInstance(new ULocale("th"));
+        RuleBasedBreakIterator ref = (RuleBasedBreakIterator)bi.clone();
+        ref.setText(text);
+        int[] boundaries = new int[8];
+        int[] ruleStatus = new int[8];
+
+        // Bulk calls must not leave their dictionary results behind for later iteration.
+        for (int start = 0; start < text.length(); ++start) {
+            for (int position = 0; position <= text.length(); ++position) {
+                bi.setText(text);
+                bi.getBoundaries(start, text.length(), boundaries, ruleStatus);
+                int p = ref.preceding(position);
+                for (int b = bi.preceding(position);; b = bi.previous(), p = ref.previous()) {
+                    String where = " after getBoundaries(" + start + ", ...) and preceding(" + position + ")";
+                    assertEquals("boundary" + where, p, b);
+                    assertEquals("rule status at " + b + where, ref.getRuleStatus(), bi.getRuleStatus());
+                    if (b == BreakIterator.DONE || p != b) {
+                        break;
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void TestSegmenterStream() throws IOException {
+        String text = "Hello, world! This is \u4e00\u4e8c\u4e09\u56db, 12.5 Mr. Smith's \ud800\udc00 text.\r\n" +
+                "Next? Yes. \u0e01\u0e32\u0e23\u0e17\u0e14\u0e2a\u0e2d\u0e1a \ud800\udc00";
+        BreakIterator[] bis = {
+                BreakIterator.getCharacterInstance(ULocale.ENGLISH),
+                BreakIterator.getWordInstance(ULocale.ENGLISH),
+                BreakIterator.getLineInstance(ULocale.ENGLISH),
+                BreakIterator.getSentenceInstance(ULocale.ENGLISH)
+        };
+        for (BreakIterator bi : bis) {
+            bi.setText(text);
+            List<Integer> expected = new ArrayList<Integer>();
+            for (int p = bi.next(); p != BreakIterator.DONE; p = bi.next()) {
+                expected.add(p);
+                expected.add(bi.getRuleStatus());
+            }
+            RuleBasedSegmenter segmenter = ((RuleBasedBreakIterator)bi).getSegmenter();
+
+            // Append the text in chunks of every size up to 7 chars,
+            // collecting boundaries and segments along the way.
+            for (int chunkSize = 1; chunkSize <= 7; ++chunkSize) {
+                RuleBasedSegmenter.Stream stream = segmenter.newStream();
+                List<Integer> actual = new ArrayList<Integer>();
+                StringBuilder segments = new StringBuilder();
+                int start = 0;
+                for (int i = 0; i <= text.length(); i += chunkSize) {
+                    if (i < text.length()) {
+                        stream.append(text.subSequence(i, Math.min(i + chunkSize, text.length())));
+                    } else {
+                        stream.finish();
+                    }
+                    for (int limit; (limit = stream.next()) != BreakIterator.DONE; start = limit) {
+                        actual.add(limit);
+                        actual.add(stream.getRuleStatus());
+                        segments.append(stream.subSequence(start, limit));
+                    }
+                }
+                assertEquals("boundaries with chunk size " + chunkSize, expected, actual);
+                assertEquals("segments with chunk size " + chunkSize, text, segments.toString());
+            }
+
+            // Read from a Reader, with bulk extraction.
+            RuleBasedSegmenter.Stream stream = segmenter.newStream();
+            Reader reader = new StringReader(text);
+            List<Integer> actual = new ArrayList<Integer>();
+            int[] boundaries = new int[2];
+            int[] ruleStatus = new int[2];
+            boolean more;
+            do {
+                more = stream.append(reader);
+                for (int count; (count = stream.next(boundaries, ruleStatus)) > 0;) {
+                    for (int i = 0; i < count; ++i) {
+                        actual.add(boundaries[i]);
+                        actual.add(ruleStatus[i]);
+                    }
+                }
+            } while (more);
+            assertEquals("boundaries from a Reader", expected, actual);
+            try {
+                stream.append("more");
+                errln("append() after finish() should throw IllegalStateException");
+            } catch (IllegalStateException expectedException) {
+            }
+        }
+    }
+
+    @Test
+    public void TestSegmenterParallel() {
+        String sample = "Hello, world! This is \u4e00\u4e8c\u4e09\u56db, 12.5 Mr. Smith's \ud800\udc00 text.\r\n" +
+                "Next? Yes. \u0e01\u0e32\u0e23\u0e17\u0e14\u0e2a\u0e2d\u0e1a ";
+        StringBuilder text = new StringBuilder();
+        // Vary the alignment of the sample so that chunk limits fall at many different places.
+        for (int i = 0; text.length() < 100000; ++i) {
+            text.append(sample, i % sample.length(), sample.length());
+        }
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (BreakIterator bi : new BreakIterator[] {
+                    BreakIterator.getWordInstance(ULocale.ENGLISH),
+                    BreakIterator.getLineInstance(ULocale.ENGLISH) }) {
+                RuleBasedSegmenter segmenter = ((RuleBasedBreakIterator)bi).getSegmenter();
+                int[] expected = segmenter.getBoundaries(text);
+                assertTrue("parallel boundaries", Arrays.equals(expected, segmenter.getBoundaries(text, pool)));
+                assertTrue("short text", Arrays.equals(
+                        segmenter.getBoundaries(sample), segmenter.getBoundaries(sample, pool)));
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
     /*Internal subroutine used for comparison of expected and acquired results */
     private void doTest(String testString, int start, int gotoffset, int expectedOffset, String expectedString) {
         String selected;
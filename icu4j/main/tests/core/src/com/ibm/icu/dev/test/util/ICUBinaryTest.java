@@ -9,7 +9,12 @@
 
 package com.ibm.icu.dev.test.util;
 
+import java.io.File;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.net.URL;
+import java.net.URLClassLoader;
 import java.nio.ByteBuffer;
 
 import org.junit.Test;
@@ -18,6 +23,7 @@
 
 import com.ibm.icu.dev.test.TestFmwk;
 import com.ibm.icu.impl.ICUBinary;
+import com.ibm.icu.impl.ICUData;
 
 /**
 * Testing class for Trie. Tests here will be simple, since both CharTrie and
@@ -111,4 +117,145 @@ public boolean isDataVersionAcceptable(byte version[])
             logln("PASS: ICUBinary.readHeader with invalid version number failed as expected");
         }
     }
+
+    @Test
+    public void TestWriteClasspathDataPackage() throws IOException
+    {
+        File folder = File.createTempFile("icupkg", "");
+        folder.delete();
+        File pkgFile = null;
+        try {
+            pkgFile = ICUBinary.writeClasspathDataPackage(folder);
+            assertNotNull("classpath data package", pkgFile);
+            long length = pkgFile.length();
+            long lastModified = pkgFile.lastModified();
+            RandomAccessFile raf = new RandomAccessFile(pkgFile, "r");
+            try {
+                byte[] header = new byte[32];
+                raf.readFully(header);
+                ByteBuffer bytes = ByteBuffer.wrap(header);
+                ICUBinary.readHeader(bytes, 0x436d6e44, null);  // "CmnD"
+                assertTrue("non-empty package", raf.readInt() > 0);
+            } finally {
+                raf.close();
+            }
+            // The second call must reuse the existing package.
+            assertEquals("same package file", pkgFile, ICUBinary.writeClasspathDataPackage(folder));
+            assertEquals("package not rewritten", lastModified, pkgFile.lastModified());
+            assertEquals("package length", length, pkgFile.length());
+            File[] files = folder.listFiles();
+            assertEquals("no leftover temporary files", 1, files.length);
+        } finally {
+            if (pkgFile != null) {
+                pkgFile.delete();
+            }
+            folder.delete();
+        }
+    }
+
+    @Test
+    public void TestClasspathDataPackageForChangedData() throws IOException
+    {
+        File root = File.createTempFile("icudata", "");
+        root.delete();
+        File folder = File.createTempFile("icupkg", "");
+        folder.delete();
+        File item = new File(root, ICUData.ICU_BASE_NAME + "/test.res");
+        item.getParentFile().mkdirs();
+        URLClassLoader loader = new URLClassLoader(new URL[] { root.toURI().toURL() }, null);
+        try {
+            writeFile(item, "abc");
+            File pkgFile = ICUBinary.writeClasspathDataPackage(loader, folder);
+            assertNotNull("classpath data package", pkgFile);
+            assertEquals("package ends with the item", "abc", readTail(pkgFile, 3));
+            assertEquals("same data, same package",
+                    pkgFile, ICUBinary.writeClasspathDataPackage(loader, folder));
+
+            // The same item name with different contents must not reuse the old package.
+            writeFile(item, "abcd");
+            File newPkgFile = ICUBinary.writeClasspathDataPackage(loader, folder);
+            assertNotEquals("changed data, new package", pkgFile, newPkgFile);
+            assertEquals("new package ends with the changed item", "abcd", readTail(newPkgFile, 4));
+        } finally {
+            loader.close();
+            delete(root);
+            delete(folder);
+        }
+    }
+
+    @Test
+    public void TestGetDataFromClasspathDataPackage() throws IOException
+    {
+        File root = File.createTempFile("icudata", "");
+        root.delete();
+        File folder = File.createTempFile("icupkg", "");
+        folder.delete();
+        File item = new File(root, ICUData.ICU_BASE_NAME + "/test.res");
+        item.getParentFile().mkdirs();
+        URLClassLoader loader = new URLClassLoader(new URL[] { root.toURI().toURL() }, null);
+        try {
+            writeFile(item, "0123456789abcdef");
+            File pkgFile = ICUBinary.writeClasspathDataPackage(loader, folder);
+            assertNotNull("classpath data package", pkgFile);
+            ByteBuffer data = ICUBinary.getData(pkgFile, "test.res");
+            assertNotNull("item from the package", data);
+            assertTrue("read-only item", data.isReadOnly());
+            assertTrue("item in the mapped package", data.isDirect());
+            assertEquals("item slice", 16, data.capacity());
+            assertEquals("item contents", "0123456789abcdef", getString(data));
+            assertNull("missing item", ICUBinary.getData(pkgFile, "nosuchitem.res"));
+
+            // Changed item contents must get their own package, with the new contents.
+            writeFile(item, "0123456789ABCDEFGH");
+            File newPkgFile = ICUBinary.writeClasspathDataPackage(loader, folder);
+            assertNotEquals("changed data, new package", pkgFile, newPkgFile);
+            ByteBuffer newData = ICUBinary.getData(newPkgFile, "test.res");
+            assertTrue("read-only changed item", newData.isReadOnly());
+            assertTrue("changed item in the mapped package", newData.isDirect());
+            assertEquals("changed item contents", "0123456789ABCDEFGH", getString(newData));
+            assertEquals("old package keeps the old item",
+                    "0123456789abcdef", getString(ICUBinary.getData(pkgFile, "test.res")));
+        } finally {
+            loader.close();
+            delete(root);
+            delete(folder);
+        }
+    }
+
+    private static String getString(ByteBuffer bytes) throws IOException {
+        byte[] b = new byte[bytes.remaining()];
+        bytes.duplicate().get(b);
+        return new String(b, "US-ASCII");
+    }
+
+    private static void writeFile(File file, String contents) throws IOException {
+        FileOutputStream out = new FileOutputStream(file);
+        try {
+            out.write(contents.getBytes("US-ASCII"));
+        } finally {
+            out.close();
+        }
+    }
+
+    private static String readTail(File file, int length) throws IOException {
+        RandomAccessFile raf = new RandomAccessFile(file, "r");
+        try {
+            byte[] bytes = new byte[length];
+            raf.seek(raf.length() - length);
+            raf.readFully(bytes);
+            return new String(bytes, "US-ASCII");
+        } finally {
+            raf.close();
+        }
+    }
+
+    private static void delete(File file) {
+        File[] files = file.listFiles();
+        if (files != null) {
+            for (File f : files) {
+                delete(f);
+            }
+        }
+        file.delete();
+    }
 }
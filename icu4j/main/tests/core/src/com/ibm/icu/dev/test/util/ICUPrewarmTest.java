@@ -0,0 +1,80 @@
+// © 2019 and later: Unicode, Inc. and others.
+// License & terms of use: http://www.unicode.org/copyright.html#License
+package com.ibm.icu.dev.test.util;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import com.ibm.icu.dev.test.TestFmwk;
+import com.ibm.icu.text.NumberFormat;
+import com.ibm.icu.util.ICUException;
+import com.ibm.icu.util.ICUPrewarm;
+import com.ibm.icu.util.ULocale;
+
+@RunWith(JUnit4.class)
+public class ICUPrewarmTest extends TestFmwk {
+    // The collation classes are not available to the core tests.
+    private static final EnumSet<ICUPrewarm.Service> CORE_SERVICES =
+            EnumSet.complementOf(EnumSet.of(ICUPrewarm.Service.COLLATOR));
+
+    @Test
+    public void TestLoad() throws InterruptedException {
+        Set<ULocale> locales = new HashSet<ULocale>(Arrays.asList(
+                ULocale.US, ULocale.GERMANY, new ULocale("ja_JP@calendar=japanese")));
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            ICUPrewarm.load(locales, CORE_SERVICES, executor);
+        } finally {
+            executor.shutdown();
+            executor.awaitTermination(1, TimeUnit.MINUTES);
+        }
+        // Prewarming must not change the results.
+        assertEquals("de-DE number", "1.234,5",
+                NumberFormat.getInstance(ULocale.GERMANY).format(1234.5));
+
+        // On the calling thread.
+        ICUPrewarm.load(new HashSet<ULocale>(Arrays.asList(ULocale.FRANCE)),
+                EnumSet.of(ICUPrewarm.Service.PLURAL_RULES));
+    }
+
+    @Test
+    public void TestLoadOnInterruptedThread() {
+        // Loading on the calling thread does not wait for anything, so it still reports failures
+        // when the thread is interrupted, and it leaves the interrupt status alone.
+        // The task for the null locale fails.
+        Set<ULocale> locales = new HashSet<ULocale>(Arrays.asList(ULocale.US, null));
+        Thread.currentThread().interrupt();
+        try {
+            ICUPrewarm.load(locales, EnumSet.of(ICUPrewarm.Service.PLURAL_RULES));
+            errln("Expected an ICUException for the null locale");
+        } catch (ICUException e) {
+            assertNotNull("the failure is the cause", e.getCause());
+        } finally {
+            assertTrue("the thread is still interrupted", Thread.interrupted());
+        }
+    }
+
+    @Test
+    public void TestRejectedTasks() throws InterruptedException {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        executor.shutdown();
+        try {
+            ICUPrewarm.load(new HashSet<ULocale>(Arrays.asList(ULocale.US)),
+                    EnumSet.of(ICUPrewarm.Service.NUMBER_FORMAT, ICUPrewarm.Service.PLURAL_RULES),
+                    executor);
+            errln("Expected an ICUException for rejected tasks");
+        } catch (ICUException e) {
+            assertNotNull("first failure is the cause", e.getCause());
+            assertEquals("second failure is suppressed", 1, e.getSuppressed().length);
+        }
+    }
+}
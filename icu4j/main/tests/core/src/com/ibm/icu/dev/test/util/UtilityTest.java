@@ -13,8 +13,10 @@
 package com.ibm.icu.dev.test.util;
 
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Random;
 import java.util.Set;
 
@@ -26,8 +28,10 @@
 import com.ibm.icu.impl.Assert;
 import com.ibm.icu.impl.InvalidFormatException;
 import com.ibm.icu.impl.Utility;
+import com.ibm.icu.text.CaseMap;
 import com.ibm.icu.text.UnicodeSet;
 import com.ibm.icu.util.ByteArrayWrapper;
+import com.ibm.icu.util.CaseInsensitiveMap;
 import com.ibm.icu.util.CaseInsensitiveString;
 
 /**
@@ -239,6 +243,65 @@ public void TestCaseInsensitiveString() {
         }
     }
 
+    @Test
+    public void TestCaseInsensitiveStringFolding() {
+        // Full case folding: sharp s folds to "ss".
+        CaseInsensitiveString str1 = new CaseInsensitiveString("Stra\u00dfe");
+        CaseInsensitiveString str2 = new CaseInsensitiveString("STRASSE");
+        assertTrue("Stra\u00dfe equals STRASSE", str1.equals(str2));
+        assertEquals("hashCode", str1.hashCode(), str2.hashCode());
+        assertEquals("hashCode of the folded string", "strasse".hashCode(), str1.hashCode());
+        assertFalse("Stra\u00dfe does not equal STRASE", str1.equals(new CaseInsensitiveString("STRASE")));
+    }
+
+    @Test
+    public void TestCaseInsensitiveMap() {
+        CaseInsensitiveMap<Integer> map = new CaseInsensitiveMap<Integer>();
+        assertNull("put new key", map.put("Stra\u00dfe", 1));
+        assertEquals("put equal key", Integer.valueOf(1), map.put("STRASSE", 2));
+        map.put("Key", 3);
+        assertEquals("size", 2, map.size());
+        assertEquals("get", Integer.valueOf(2), map.get("strasse"));
+        assertEquals("get StringBuilder", Integer.valueOf(3), map.get(new StringBuilder("kEY")));
+        assertNull("get other", map.get("keys"));
+        assertNull("get non-CharSequence", map.get(Integer.valueOf(1)));
+        assertTrue("containsKey", map.containsKey("KEY"));
+        assertTrue("keySet().contains", map.keySet().contains("key"));
+
+        // The map retains the first spelling of each key.
+        Map<String, Integer> expected = new HashMap<String, Integer>();
+        expected.put("Stra\u00dfe", 2);
+        expected.put("Key", 3);
+        assertEquals("contents", expected, map);
+        assertEquals("hashCode", expected.hashCode(), map.hashCode());
+
+        for (Map.Entry<String, Integer> entry : map.entrySet()) {
+            entry.setValue(entry.getValue() * 10);
+        }
+        assertEquals("setValue", Integer.valueOf(30), map.get("key"));
+        assertTrue("keySet().remove", map.keySet().remove("KEY"));
+        assertEquals("remove", Integer.valueOf(20), map.remove("STRASSE"));
+        assertTrue("isEmpty", map.isEmpty());
+        try {
+            map.put(null, 1);
+            errln("put(null) should throw");
+        } catch (NullPointerException e) {
+        }
+
+        CaseInsensitiveMap<Integer> turkic = new CaseInsensitiveMap<Integer>(CaseMap.fold().turkic());
+        turkic.put("I", 1);
+        assertEquals("turkic I=\u0131", Integer.valueOf(1), turkic.get("\u0131"));
+        assertNull("turkic I!=i", turkic.get("i"));
+
+        // NFKC_Casefold also ignores compatibility differences and default ignorables.
+        CaseInsensitiveMap<Integer> nfkc = CaseInsensitiveMap.createNFKCCasefold();
+        nfkc.put("\uFF21\uFF22\uFF23", 1);
+        assertEquals("NFKC_Casefold put", Integer.valueOf(1), nfkc.put("a\u00ADbc", 2));
+        assertEquals("NFKC_Casefold get", Integer.valueOf(2), nfkc.get("ABC"));
+        assertEquals("NFKC_Casefold key", "\uFF21\uFF22\uFF23", nfkc.keySet().iterator().next());
+        assertNull("NFKC_Casefold get other", nfkc.get("abd"));
+    }
+
     @Test
     public void TestSourceLocation() {
         String here = TestFmwk.sourceLocation();
@@ -0,0 +1,90 @@
+// © 2019 and later: Unicode, Inc. and others.
+// License & terms of use: http://www.unicode.org/copyright.html#License
+package com.ibm.icu.dev.test.perf.jmh;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.ibm.icu.text.BreakIterator;
+import com.ibm.icu.text.RuleBasedBreakIterator;
+import com.ibm.icu.util.ULocale;
+
+/**
+ * Benchmarks for {@link RuleBasedBreakIterator#next()}, iterating over all boundaries
+ * of a text of roughly 8K code units.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BreakIteratorBenchmark {
+
+    @Param({"char", "word", "line", "sentence"})
+    public String type;
+
+    @Param({"en", "th", "ja"})
+    public String language;
+
+    RuleBasedBreakIterator bi;
+    String text;
+
+    @Setup
+    public void setup() {
+        ULocale loc = new ULocale(language);
+        if (type.equals("char")) {
+            bi = (RuleBasedBreakIterator) BreakIterator.getCharacterInstance(loc);
+        } else if (type.equals("word")) {
+            bi = (RuleBasedBreakIterator) BreakIterator.getWordInstance(loc);
+        } else if (type.equals("line")) {
+            bi = (RuleBasedBreakIterator) BreakIterator.getLineInstance(loc);
+        } else {
+            bi = (RuleBasedBreakIterator) BreakIterator.getSentenceInstance(loc);
+        }
+        String unit;
+        if (language.equals("th")) {
+            unit = "ภาษาไทยเป็นภาษาที่มีระดับเสียงของคำแน่นอนหรือวรรณยุกต์เหมือนภาษาจีน ";
+        } else if (language.equals("ja")) {
+            unit = "日本語は、主に日本国内や日本人同士の間で使用されている言語である。";
+        } else {
+            unit = "The quick (\"brown\") fox can't jump 32.3 feet, right? Mr. Smith said so. ";
+        }
+        StringBuilder sb = new StringBuilder();
+        while (sb.length() < 8192) {
+            sb.append(unit);
+        }
+        text = sb.toString();
+    }
+
+    @Benchmark
+    public int nextAll() {
+        bi.setText(text);
+        int count = 0;
+        while (bi.next() != BreakIterator.DONE) {
+            ++count;
+        }
+        return count;
+    }
+
+    @Benchmark
+    public int nextAllWithRuleStatus() {
+        bi.setText(text);
+        int sum = 0;
+        while (bi.next() != BreakIterator.DONE) {
+            sum += bi.getRuleStatus();
+        }
+        return sum;
+    }
+}
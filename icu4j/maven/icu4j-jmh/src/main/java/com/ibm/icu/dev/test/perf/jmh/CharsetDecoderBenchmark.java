@@ -0,0 +1,82 @@
+// © 2019 and later: Unicode, Inc. and others.
+// License & terms of use: http://www.unicode.org/copyright.html#License
+package com.ibm.icu.dev.test.perf.jmh;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.ibm.icu.charset.CharsetProviderICU;
+
+/**
+ * Benchmarks for ICU's <code>CharsetDecoderICU</code> implementations, decoding a
+ * buffer of roughly 16K bytes into a reused <code>CharBuffer</code>.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CharsetDecoderBenchmark {
+
+    @Param({"UTF-8", "ISO-8859-1", "windows-1252", "Shift_JIS", "EUC-KR", "GB18030"})
+    public String charsetName;
+
+    CharsetDecoder decoder;
+    ByteBuffer source;
+    CharBuffer target;
+
+    @Setup
+    public void setup() throws Exception {
+        Charset cs = new CharsetProviderICU().charsetForName(charsetName);
+        decoder = cs.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        String unit = "Unicode text 0123456789 ";
+        if (charsetName.equals("Shift_JIS")) {
+            unit = unit + "日本語のテキストです。";
+        } else if (charsetName.equals("EUC-KR")) {
+            unit = unit + "한국어 텍스트입니다. ";
+        } else if (charsetName.equals("GB18030")) {
+            unit = unit + "中文文本。";
+        } else if (!charsetName.equals("UTF-8")) {
+            unit = unit + "café déjà vu ";
+        } else {
+            unit = unit + "café 日本語 한국어 ";
+        }
+        StringBuilder sb = new StringBuilder();
+        while (sb.length() < 8192) {
+            sb.append(unit);
+        }
+        byte[] bytes = cs.newEncoder().encode(CharBuffer.wrap(sb)).array();
+        source = ByteBuffer.wrap(bytes);
+        target = CharBuffer.allocate(bytes.length + 16);
+    }
+
+    @Benchmark
+    public int decode() {
+        source.rewind();
+        target.clear();
+        decoder.reset();
+        CoderResult result = decoder.decode(source, target, true);
+        decoder.flush(target);
+        return result.isError() ? -1 : target.position();
+    }
+}
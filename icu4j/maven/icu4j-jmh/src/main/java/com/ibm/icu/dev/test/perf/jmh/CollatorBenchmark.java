@@ -0,0 +1,82 @@
+// © 2019 and later: Unicode, Inc. and others.
+// License & terms of use: http://www.unicode.org/copyright.html#License
+package com.ibm.icu.dev.test.perf.jmh;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.ibm.icu.text.Collator;
+import com.ibm.icu.text.RawCollationKey;
+import com.ibm.icu.text.RuleBasedCollator;
+import com.ibm.icu.util.ULocale;
+
+/**
+ * Benchmarks for {@link RuleBasedCollator#compare} and {@link RuleBasedCollator#getRawCollationKey}.
+ * The word list mixes strings that hit the Latin fast path with strings that do not.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CollatorBenchmark {
+
+    static final String[] WORDS = {
+        "apple", "Apple", "application", "äpfel", "Äpfel", "resume", "résumé", "Résumé",
+        "coop", "co-op", "Zürich", "Zurich", "straße", "strasse", "Ångström", "angstrom",
+        "東京", "大阪", "Москва", "Αθήνα", "שלום", "مرحبا", "नमस्ते", "서울"
+    };
+
+    @Param({"en", "de", "sv", "ja"})
+    public String locale;
+
+    @Param({"TERTIARY", "PRIMARY"})
+    public String strength;
+
+    RuleBasedCollator collator;
+    RawCollationKey key;
+    int index;
+
+    @Setup
+    public void setup() {
+        collator = (RuleBasedCollator) Collator.getInstance(new ULocale(locale));
+        collator.setStrength("PRIMARY".equals(strength) ? Collator.PRIMARY : Collator.TERTIARY);
+        collator.freeze();
+        key = new RawCollationKey();
+    }
+
+    private String nextWord() {
+        String s = WORDS[index];
+        if (++index == WORDS.length) {
+            index = 0;
+        }
+        return s;
+    }
+
+    @Benchmark
+    public int compare() {
+        return collator.compare(nextWord(), nextWord());
+    }
+
+    @Benchmark
+    public RawCollationKey getRawCollationKeyReused() {
+        return collator.getRawCollationKey(nextWord(), key);
+    }
+
+    @Benchmark
+    public RawCollationKey getRawCollationKeyNew() {
+        return collator.getRawCollationKey(nextWord(), null);
+    }
+}
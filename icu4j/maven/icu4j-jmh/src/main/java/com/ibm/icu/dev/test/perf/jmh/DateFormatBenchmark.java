@@ -0,0 +1,73 @@
+// © 2019 and later: Unicode, Inc. and others.
+// License & terms of use: http://www.unicode.org/copyright.html#License
+package com.ibm.icu.dev.test.perf.jmh;
+
+import java.text.ParseException;
+import java.text.ParsePosition;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.ibm.icu.text.DateFormat;
+import com.ibm.icu.text.SimpleDateFormat;
+import com.ibm.icu.util.TimeZone;
+import com.ibm.icu.util.ULocale;
+
+/**
+ * Benchmarks for {@link SimpleDateFormat#format} and {@link SimpleDateFormat#parse}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class DateFormatBenchmark {
+
+    @Param({"en_US", "de_DE", "ja_JP"})
+    public String locale;
+
+    @Param({"FULL", "SHORT"})
+    public String style;
+
+    SimpleDateFormat format;
+    Date date;
+    String formatted;
+
+    @Setup
+    public void setup() {
+        int dfStyle = "FULL".equals(style) ? DateFormat.FULL : DateFormat.SHORT;
+        format = (SimpleDateFormat) DateFormat.getDateTimeInstance(dfStyle, dfStyle, new ULocale(locale));
+        format.setTimeZone(TimeZone.getTimeZone("America/Los_Angeles"));
+        date = new Date(1577836800000L); // 2020-01-01T00:00:00Z
+        formatted = format.format(date);
+    }
+
+    @Benchmark
+    public String formatDate() {
+        return format.format(date);
+    }
+
+    @Benchmark
+    public Date parseDate() throws ParseException {
+        return format.parse(formatted);
+    }
+
+    // Same (default, lenient) parsing as parseDate(), but via the ParsePosition overload,
+    // which reports failure without an exception.
+    @Benchmark
+    public Date parseDatePosition() {
+        return format.parse(formatted, new ParsePosition(0));
+    }
+}
@@ -0,0 +1,82 @@
+// © 2019 and later: Unicode, Inc. and others.
+// License & terms of use: http://www.unicode.org/copyright.html#License
+package com.ibm.icu.dev.test.perf.jmh;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.ibm.icu.text.Normalizer2;
+
+/**
+ * Benchmarks for {@link Normalizer2#normalize(CharSequence)} and
+ * {@link Normalizer2#isNormalized(CharSequence)} on ASCII, Latin and decomposed input.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class NormalizerBenchmark {
+
+    @Param({"nfc", "nfd", "nfkc", "nfkc_cf"})
+    public String form;
+
+    @Param({"ascii", "latin", "decomposed"})
+    public String textType;
+
+    Normalizer2 normalizer;
+    String text;
+
+    @Setup
+    public void setup() {
+        if (form.equals("nfc")) {
+            normalizer = Normalizer2.getNFCInstance();
+        } else if (form.equals("nfd")) {
+            normalizer = Normalizer2.getNFDInstance();
+        } else if (form.equals("nfkc")) {
+            normalizer = Normalizer2.getNFKCInstance();
+        } else {
+            normalizer = Normalizer2.getNFKCCasefoldInstance();
+        }
+        String unit;
+        if (textType.equals("ascii")) {
+            unit = "The quick brown fox jumps over the lazy dog. ";
+        } else if (textType.equals("latin")) {
+            unit = "Le cœur déçu mais l'âme plutôt naïve, Louÿs rêva de crapaüter. ";
+        } else {
+            unit = "Le cœur déçu mais l'âme plutôt naïve. ";
+        }
+        StringBuilder sb = new StringBuilder();
+        while (sb.length() < 4096) {
+            sb.append(unit);
+        }
+        text = sb.toString();
+    }
+
+    @Benchmark
+    public String normalize() {
+        return normalizer.normalize(text);
+    }
+
+    @Benchmark
+    public boolean isNormalized() {
+        return normalizer.isNormalized(text);
+    }
+
+    @Benchmark
+    public int spanQuickCheckYes() {
+        return normalizer.spanQuickCheckYes(text);
+    }
+}
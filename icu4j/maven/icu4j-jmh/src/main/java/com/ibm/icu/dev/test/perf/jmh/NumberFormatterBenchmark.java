@@ -0,0 +1,88 @@
+// © 2019 and later: Unicode, Inc. and others.
+// License & terms of use: http://www.unicode.org/copyright.html#License
+package com.ibm.icu.dev.test.perf.jmh;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.ibm.icu.number.FormattedNumber;
+import com.ibm.icu.number.LocalizedNumberFormatter;
+import com.ibm.icu.number.NumberFormatter;
+import com.ibm.icu.number.Precision;
+import com.ibm.icu.util.Currency;
+import com.ibm.icu.util.ULocale;
+
+/**
+ * Benchmarks for {@link LocalizedNumberFormatter#format}.
+ * Run with <code>-prof gc</code> to see the allocation rate per formatted number.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class NumberFormatterBenchmark {
+
+    @Param({"en", "de", "ar", "hi"})
+    public String locale;
+
+    LocalizedNumberFormatter simple;
+    LocalizedNumberFormatter currency;
+    LocalizedNumberFormatter compact;
+
+    double value = 1234567.891;
+    long longValue = 987654321L;
+
+    @Setup
+    public void setup() {
+        ULocale loc = new ULocale(locale);
+        simple = NumberFormatter.withLocale(loc);
+        currency = NumberFormatter.withLocale(loc).unit(Currency.getInstance("EUR"));
+        compact = NumberFormatter.withLocale(loc)
+                .notation(com.ibm.icu.number.Notation.compactShort())
+                .precision(Precision.maxSignificantDigits(3));
+    }
+
+    @Benchmark
+    public String formatDouble() {
+        return simple.format(value).toString();
+    }
+
+    @Benchmark
+    public String formatLong() {
+        return simple.format(longValue).toString();
+    }
+
+    @Benchmark
+    public String formatCurrency() {
+        return currency.format(value).toString();
+    }
+
+    @Benchmark
+    public String formatCompact() {
+        return compact.format(value).toString();
+    }
+
+    @Benchmark
+    public FormattedNumber formatDoubleKeepFields() {
+        return simple.format(value);
+    }
+
+    /** Measures the first-use cost of a freshly built formatter. */
+    @Benchmark
+    public String formatNewFormatter() {
+        return NumberFormatter.withLocale(new ULocale(locale)).format(value).toString();
+    }
+}
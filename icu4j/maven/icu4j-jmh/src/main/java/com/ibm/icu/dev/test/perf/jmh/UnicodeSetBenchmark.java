@@ -0,0 +1,72 @@
+// © 2019 and later: Unicode, Inc. and others.
+// License & terms of use: http://www.unicode.org/copyright.html#License
+package com.ibm.icu.dev.test.perf.jmh;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.ibm.icu.text.UnicodeSet;
+import com.ibm.icu.text.UnicodeSet.SpanCondition;
+
+/**
+ * Benchmarks for {@link UnicodeSet#span(CharSequence, SpanCondition)} on frozen sets.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class UnicodeSetBenchmark {
+
+    @Param({"[:L:]", "[:Han:]", "[a-zA-Z0-9]", "[[:L:][:M:]{ch}{ll}]"})
+    public String pattern;
+
+    UnicodeSet set;
+    String latinText;
+    String hanText;
+
+    @Setup
+    public void setup() {
+        set = new UnicodeSet(pattern).freeze();
+        StringBuilder latin = new StringBuilder();
+        StringBuilder han = new StringBuilder();
+        while (latin.length() < 1024) {
+            latin.append("abcdefghijklmnopqrstuvwxyzABCDEFGHIJ");
+            han.append("中文文本日本語漢字");
+        }
+        latinText = latin.toString();
+        hanText = han.toString();
+    }
+
+    @Benchmark
+    public int spanLatin() {
+        return set.span(latinText, SpanCondition.SIMPLE);
+    }
+
+    @Benchmark
+    public int spanHan() {
+        return set.span(hanText, SpanCondition.SIMPLE);
+    }
+
+    @Benchmark
+    public int spanNotContained() {
+        return set.span(latinText, SpanCondition.NOT_CONTAINED);
+    }
+
+    @Benchmark
+    public boolean containsCodePoint() {
+        return set.contains(0x4E2D);
+    }
+}
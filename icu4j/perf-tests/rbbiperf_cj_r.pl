@@ -0,0 +1,52 @@
+#!/usr/bin/perl
+#  ********************************************************************
+#  * COPYRIGHT:
+#  * © 2016 and later: Unicode, Inc. and others.
+#  * License & terms of use: http://www.unicode.org/copyright.html#License
+#  ********************************************************************
+
+use strict;
+
+use lib 'svn-icu4j/src/com/ibm/icu/dev/test/perf/perldriver';
+
+use PerfFramework4j;
+
+my $options = {
+	       "title"=>"CJK dictionary BreakIterator performance regression (ICU4J 3.6 and 3.8)",
+	       "headers"=>"ICU4J36 ICU4J38",
+	       "operationIs"=>"code point",
+	       "eventIs"=>"break",
+	       "passes"=>"10",
+	       "time"=>"5",
+	       "outputType"=>"HTML",
+	       "dataDir"=>"svn-icu4j/src/com/ibm/icu/dev/test/perf/data/collation",
+	       "outputDir"=>"svn-icu4j/results_ICU4J"
+	      };
+
+# programs
+# Test class
+my $TESTCLASS = "com.ibm.icu.dev.test.perf.RBBIPerf";
+# The cjword mode breaks only the Han and Kana text of each file into words,
+# which is done by the CJK dictionary break engine.
+my $m1 = "cjword";
+
+my $jvm1 = "java -classpath svn-icu4j_3-6/classes $TESTCLASS";
+my $jvm2 = "java -classpath svn-icu4j/classes $TESTCLASS";
+
+my $dataFiles = {
+"ja", [
+       "TestNames_Chinese.txt",
+       "TestNames_Simplified_Chinese.txt",
+       "TestNames_Japanese.txt",
+       "TestNames_Japanese_h.txt",
+       "TestNames_Japanese_k.txt",
+],
+};
+
+
+my $tests = {
+"TestNextCJWord",      ["$jvm1 testRBBINext $m1", "$jvm2 testRBBINext $m1"],
+"TestPreviousCJWord",  ["$jvm1 testRBBIPrevious $m1", "$jvm2 testRBBIPrevious $m1"],
+};
+
+runTests($options, $tests, $dataFiles);
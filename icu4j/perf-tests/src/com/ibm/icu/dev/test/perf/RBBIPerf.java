@@ -12,9 +12,12 @@
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.text.BreakIterator;
+import java.text.StringCharacterIterator;
 
 import com.ibm.icu.text.RuleBasedBreakIterator;
 import com.ibm.icu.text.UTF16;
+import com.ibm.icu.text.UnicodeSet;
+import com.ibm.icu.util.ULocale;
 
 /**
  * A class for testing UnicodeSet performance.
@@ -24,6 +27,9 @@
  */
 public class RBBIPerf extends PerfTest {
 
+    /** Maximum number of code points in each sentence of the cjword test text. */
+    private static final int SENTENCE_LENGTH = 100;
+
     String                  dataFileName;
     RuleBasedBreakIterator  bi;
     BreakIterator           jdkbi;
@@ -65,6 +71,14 @@ protected void setup(String[] args) {
                 bi  = (RuleBasedBreakIterator)com.ibm.icu.text.BreakIterator.getWordInstance();
             } else if (args[1].equals("line")) {
                 bi  = (RuleBasedBreakIterator)com.ibm.icu.text.BreakIterator.getLineInstance();
+            } else if (args[1].equals("cjword")) {
+                // Word breaking of Han and Kana text is done by the CJK dictionary break engine.
+                // Keep only that text, so that the time is spent segmenting dictionary ranges.
+                bi  = (RuleBasedBreakIterator)com.ibm.icu.text.BreakIterator.getWordInstance(ULocale.JAPANESE);
+                testString = getHanKanaSentences(testString);
+                if (testString.length() == 0) {
+                    throw new RuntimeException("cjword needs Han or Kana text, but " + dataFileName + " has none");
+                }
             } else if (args[1].equals("jdkline")) {
                 jdkbi  = BreakIterator.getLineInstance();
             }
@@ -80,6 +94,31 @@ protected void setup(String[] args) {
 
     
     
+    /**
+     * Returns the Han and Kana characters of the text, without anything else,
+     * as sentences of at most SENTENCE_LENGTH code points which end with an ideographic full stop.
+     * Each sentence is one dictionary range for the CJK break engine.
+     */
+    private static String getHanKanaSentences(String text) {
+        UnicodeSet hanKana = new UnicodeSet("[[:Han:][:Hiragana:][:Katakana:]\\u30FC]").freeze();
+        StringBuilder sb = new StringBuilder();
+        int length = 0;
+        for (int i = 0; i < text.length(); i += Character.charCount(text.codePointAt(i))) {
+            int c = text.codePointAt(i);
+            if (hanKana.contains(c)) {
+                sb.appendCodePoint(c);
+                if (++length == SENTENCE_LENGTH) {
+                    sb.append('\u3002');
+                    length = 0;
+                }
+            }
+        }
+        if (length != 0) {
+            sb.append('\u3002');
+        }
+        return sb.toString();
+    }
+
     PerfTest.Function testRBBINext() {
         return new PerfTest.Function() {
             
@@ -115,6 +154,36 @@ public long getOperationsPerIteration() {
     }
     
     
+    /**
+     * Same as testRBBINext, but with the text set as a CharacterIterator,
+     * for comparison with the direct String path used by testRBBINext.
+     */
+    PerfTest.Function testRBBINextCharacterIterator() {
+        return new PerfTest.Function() {
+            RuleBasedBreakIterator ciBI;
+            {
+                ciBI = (RuleBasedBreakIterator)bi.clone();
+                ciBI.setText(new StringCharacterIterator(testString));
+            }
+
+            public void call() {
+                int n = ciBI.first();
+                for (; n != BreakIterator.DONE; n=ciBI.next()) {
+                }
+            }
+
+            public long getOperationsPerIteration() {
+                int n;
+                int count = 0;
+                for (n=ciBI.first(); n != BreakIterator.DONE; n=ciBI.next()) {
+                    count++;
+                }
+                return count;
+            }
+        };
+    }
+
+
     PerfTest.Function testRBBIPrevious() {
         return new PerfTest.Function() {
             